@@ -0,0 +1,48 @@
+package components.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.handler.Data;
+import components.neuralnetwork.Network;
+import components.neuralnetwork.NetworkStats;
+
+/** Genauigkeitstest (NetworkStats.getCurrentAccuracy()) auf 2000 Inputs aus den Beispielbildern.
+ *
+ * @version 17. Oktober 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccuracyBenchmark {
+
+    static final int SAMPLES = 2000;
+
+    Network network;
+    Data[] dataSet;
+
+    @Setup
+    public void setup(){
+        network = Samples.network();
+        dataSet = Samples.dataSet(SAMPLES);
+        NetworkStats.setPrintAccuracy(false);
+    }
+
+    @Benchmark
+    public double getCurrentAccuracy(){
+        return NetworkStats.getCurrentAccuracy(network, dataSet).getAccuracy();
+    }
+}
@@ -0,0 +1,108 @@
+package components.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.handler.Translator;
+import components.neuralnetwork.Training;
+
+/** Suche der Grenzen einer Zeichnung auf der 784x784 Leinwand: die früheren vier Scans aus
+ * Translator.subtractEmpty() (scanYofX/scanXofY, hier als Vergleich kopiert) gegen Translator.findBorders().
+ *
+ * Die Zeichnungen sind die hochskalierten Beispielbilder, wie in der GUI mit grauem Rahmen.
+ *
+ * @version 17. Oktober 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BorderScanBenchmark {
+
+    static final int SIZE = 784;
+
+    /** Beispielbild (siehe Samples.CATEGORIES) */
+    @Param({"eiffel", "eye", "giraffe", "hourglass", "car"})
+    String sketch;
+
+    /** Seitenlänge der Zeichnung auf der Leinwand */
+    @Param({"200", "500"})
+    int drawingSize;
+
+    BufferedImage canvas;
+    int[] pixels;
+
+    @Setup
+    public void setup(){
+        BufferedImage small = Samples.image(sketch + "0.png");
+        canvas = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = canvas.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, SIZE, SIZE);
+        g.drawImage(small.getScaledInstance(drawingSize, drawingSize, Image.SCALE_FAST), (SIZE - drawingSize) / 3, (SIZE - drawingSize) / 2, null);
+        g.setColor(Color.GRAY);
+        g.drawRect(0, 0, SIZE - 1, SIZE - 1);
+        g.dispose();
+        pixels = canvas.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+    }
+
+    @Benchmark
+    public int[] fourScans(){
+        return new int[] {scanYofX(canvas, true), scanXofY(canvas, false), scanYofX(canvas, false), scanXofY(canvas, true)};
+    }
+
+    @Benchmark
+    public int[] singlePass(){
+        return Translator.findBorders(canvas);
+    }
+
+    @Benchmark
+    public int[] singlePassPixels(){
+        return Translator.findBorders(pixels, SIZE, SIZE);
+    }
+
+    /** früheres Translator.scanYofX() */
+    static int scanYofX(BufferedImage image, boolean first){
+        int y = 0;
+        for(int i = 1; i < image.getHeight() - 1; i++){
+            for(int j = 1; j < image.getWidth() - 1; j++){
+                if(Training.getGrayscale(image.getRGB(j, i)) == 1.0){
+                    y = i;
+                    if(first) return y;
+                }
+            }
+        }
+        return y;
+    }
+
+    /** früheres Translator.scanXofY() */
+    static int scanXofY(BufferedImage image, boolean first){
+        int x = 0;
+        for(int i = 1; i < image.getWidth() - 1; i++){
+            for(int j = 1; j < image.getHeight() - 1; j++){
+                if(Training.getGrayscale(image.getRGB(i, j)) == 1.0){
+                    x = i;
+                    if(first) return x;
+                }
+            }
+        }
+        return x;
+    }
+}
@@ -0,0 +1,82 @@
+package components.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.handler.Data;
+import components.handler.Translator;
+import components.neuralnetwork.Matrix;
+import components.neuralnetwork.NetworkStats;
+import components.neuralnetwork.Training;
+
+/** Umwandlung von Bildern in Inputs: Translator für die Leinwand, Training.getMatrix() für 28x28-Bilder.
+ *
+ * grayscaleFormula/grayscaleTable vergleichen die frühere Berechnung von Training.getGrayscale() (mit
+ * NetworkStats.cut() pro Pixel) mit der Tabelle über alle Pixel der Leinwand.
+ *
+ * @version 17. Oktober 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageBenchmark {
+
+    Translator translator;
+    BufferedImage canvas;
+    BufferedImage small;
+    int[] pixels;
+
+    @Setup
+    public void setup(){
+        translator = new Translator(28);
+        canvas = Samples.canvas();
+        small = Samples.images()[0];
+        pixels = canvas.getRGB(0, 0, canvas.getWidth(), canvas.getHeight(), null, 0, canvas.getWidth());
+    }
+
+    @Benchmark
+    public Data translateImage(){
+        return translator.translateImage(canvas);
+    }
+
+    @Benchmark
+    public Matrix getMatrix(){
+        return Training.getMatrix(small);
+    }
+
+    @Benchmark
+    public int grayscaleFormula(){
+        int ink = 0;
+        for(int rgb : pixels){
+            int r = (rgb >> 16) & 0xFF;
+            int g = (rgb >> 8) & 0xFF;
+            int b = (rgb & 0xFF);
+            double gray = NetworkStats.cut((r+g+b)/3.0/255.0, 3);
+            if(gray < 0.97) ink++;
+        }
+        return ink;
+    }
+
+    @Benchmark
+    public int grayscaleTable(){
+        int ink = 0;
+        for(int rgb : pixels){
+            if(Training.isInk(rgb)) ink++;
+        }
+        return ink;
+    }
+}
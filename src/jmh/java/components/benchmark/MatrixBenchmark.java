@@ -0,0 +1,76 @@
+package components.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.neuralnetwork.Matrix;
+
+/** Matrixprodukte in den Größen, die beim Raten tatsächlich vorkommen.
+ *
+ * 8x784 * 784x1: erste Schicht (weightsIH * Input), 5x8 * 8x1: zweite Schicht (weightsHO * Hidden).
+ *
+ * @version 17. Oktober 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+
+    Matrix weightsIH, input, hiddenOut;
+    Matrix weightsHO, hidden, output;
+
+    @Setup
+    public void setup(){
+        Random r = new Random(1);
+        weightsIH = random(8, 784, r);
+        input = random(784, 1, r);
+        hiddenOut = new Matrix(8, 1);
+        weightsHO = random(5, 8, r);
+        hidden = random(8, 1, r);
+        output = new Matrix(5, 1);
+    }
+
+    static Matrix random(int rows, int cols, Random r){
+        Matrix m = new Matrix(rows, cols);
+        for(int i = 1; i <= rows; i++){
+            for(int j = 1; j <= cols; j++){
+                m.setValue(i, j, r.nextGaussian());
+            }
+        }
+        return m;
+    }
+
+    @Benchmark
+    public Matrix multiply_8x784_784x1(){
+        return Matrix.multiply(weightsIH, input);
+    }
+
+    @Benchmark
+    public Matrix multiplyInto_8x784_784x1(){
+        return Matrix.multiplyInto(weightsIH, input, hiddenOut);
+    }
+
+    @Benchmark
+    public Matrix multiply_5x8_8x1(){
+        return Matrix.multiply(weightsHO, hidden);
+    }
+
+    @Benchmark
+    public Matrix multiplyInto_5x8_8x1(){
+        return Matrix.multiplyInto(weightsHO, hidden, output);
+    }
+}
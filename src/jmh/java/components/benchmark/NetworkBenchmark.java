@@ -0,0 +1,71 @@
+package components.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.handler.Data;
+import components.neuralnetwork.Activations;
+import components.neuralnetwork.Matrix;
+import components.neuralnetwork.Network;
+import components.neuralnetwork.TrainingWorkspace;
+
+/** Raten und Trainieren mit dem vortrainierten Netzwerk (PreTrained5C) auf einem Beispielbild.
+ *
+ * @version 17. Oktober 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkBenchmark {
+
+    Network network;
+    Data sample;
+    Activations act;
+    TrainingWorkspace ws;
+
+    @Setup
+    public void setup(){
+        network = Samples.network();
+        sample = Samples.dataSet(1)[0];
+        act = network.newActivations();
+        ws = network.newWorkspace();
+    }
+
+    @Benchmark
+    public Matrix feedForward(){
+        return network.feedForward(sample.getInputs());
+    }
+
+    @Benchmark
+    public Matrix feedForwardReuse(){
+        return network.feedForward(sample.getInputs(), act);
+    }
+
+    @Benchmark
+    public Matrix feedForwardSparse(){
+        return network.feedForward(sample, act);
+    }
+
+    @Benchmark
+    public void train(){
+        network.train(sample.getInputs(), sample.getOutputs());
+    }
+
+    @Benchmark
+    public void trainSparse(){
+        network.train(sample, ws);
+    }
+}
@@ -0,0 +1,84 @@
+package components.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import javax.imageio.ImageIO;
+
+import components.handler.Data;
+import components.neuralnetwork.Matrix;
+import components.neuralnetwork.Network;
+import components.neuralnetwork.PreTrained5C;
+import components.neuralnetwork.Training;
+
+/** Lädt die mitgelieferten Beispielbilder (src/jmh/resources/samples) für die Benchmarks.
+ *
+ * Die 28x28-Bilder sind einfache Strichzeichnungen der fünf Kategorien (zwei Varianten pro Kategorie),
+ * canvas.png ist ein Schnappschuss der 784x784 Leinwand aus der GUI.
+ *
+ * @version 17. Oktober 2026
+ */
+final class Samples {
+
+    /** Dateinamen der 28x28-Bilder ohne Variante, in der Reihenfolge der Outputs */
+    static final String[] CATEGORIES = {"eiffel", "eye", "giraffe", "hourglass", "car"};
+
+    /** Varianten pro Kategorie */
+    static final int VARIANTS = 2;
+
+    private Samples(){
+    }
+
+    /** Lädt ein Bild aus den Ressourcen. */
+    static BufferedImage image(String name){
+        try (InputStream in = Samples.class.getClassLoader().getResourceAsStream("samples/" + name)) {
+            if(in == null){
+                throw new IllegalStateException("Beispielbild fehlt: " + name);
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Lädt alle 28x28-Bilder. */
+    static BufferedImage[] images(){
+        BufferedImage[] out = new BufferedImage[CATEGORIES.length * VARIANTS];
+        for(int c = 0; c < CATEGORIES.length; c++){
+            for(int v = 0; v < VARIANTS; v++){
+                out[c * VARIANTS + v] = image(CATEGORIES[c] + v + ".png");
+            }
+        }
+        return out;
+    }
+
+    /** Lädt den Leinwand-Schnappschuss als ARGB-Bild, wie ihn die GUI an den Translator übergibt. */
+    static BufferedImage canvas(){
+        BufferedImage png = image("canvas.png");
+        BufferedImage argb = new BufferedImage(png.getWidth(), png.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        argb.getGraphics().drawImage(png, 0, 0, null);
+        return argb;
+    }
+
+    /** Erzeugt ein Datenset mit n Inputs, reihum aus den Beispielbildern. */
+    static Data[] dataSet(int n){
+        BufferedImage[] images = images();
+        Data[] out = new Data[n];
+        for(int i = 0; i < n; i++){
+            int k = i % images.length;
+            Matrix expected = new Matrix(CATEGORIES.length, 1);
+            expected.setValue(k / VARIANTS + 1, 1, 1.0);
+            out[i] = new Data(Training.getMatrix(images[k]), expected);
+        }
+        return out;
+    }
+
+    /** Erzeugt das vortrainierte Netzwerk mit 5 Kategorien. */
+    static Network network(){
+        Network n = new Network(28 * 28, 8, 5);
+        n.setParams(PreTrained5C.getTrainedBiasH(), PreTrained5C.getTrainedBiasO(), PreTrained5C.getTrainedWeightsIH(), PreTrained5C.getTrainedWeightsHO());
+        return n;
+    }
+}
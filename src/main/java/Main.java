@@ -2,7 +2,9 @@ import components.gui.*;
 import components.handler.*;
 import components.neuralnetwork.*;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import javafx.application.Application;
 
 public class Main {
@@ -13,18 +15,55 @@ public class Main {
 
         /** GUI setup and launch */
         Translator translator = new Translator(M);
-        Network network = new Network(M*M, 8, 5); // TODO: to be changed to actual number of categories
+        Network network = loadNetwork("model5c.bin");
 
-        Matrix biasH = PreTrained5C.getTrainedBiasH();
-        Matrix biasO = PreTrained5C.getTrainedBiasO();
-        Matrix weightsIH = PreTrained5C.getTrainedWeightsIH();
-        Matrix weightsHO = PreTrained5C.getTrainedWeightsHO();
+        /** new model files dropped into -DmodelDir=<dir> are swapped in while the game is running */
+        ModelRegistry models = new ModelRegistry(network.snapshot());
+        String modelDir = System.getProperty("modelDir");
+        if (modelDir != null) {
+            models.watch(Paths.get(modelDir));
+        }
 
-        network.setParams(biasH, biasO, weightsIH, weightsHO);
+        /** learning curve of a real training run (MetricsExporter CSV, see Training) given with -Dchart=<csv> */
+        String chart = System.getProperty("chart");
+        if (chart != null) {
+            ChartData data = ChartData.read(new File(chart));
+            if (data != null) {
+                GUI.setChart(data);
+            }
+        }
 
         GUI.setTranslator(translator);
-        GUI.setNetwork(network);
+        GUI.setModels(models);
         Application.launch(GUI.class, args);
     }
 
+    /**
+     * Loads the trained network from a binary model file (see ModelFile).
+     * A file given with -Dmodel=<path> is memory-mapped, otherwise the model resource on the classpath is used
+     * (mapped as well when it is a plain file, read into memory when it is packed in a jar).
+     * Falls back to the compiled-in PreTrained5C parameters if neither can be loaded.
+     * 
+     * @param resource name of the model resource
+     * @return trained network
+     */
+    static Network loadNetwork(String resource) {
+        String path = System.getProperty("model");
+        if (path != null) {
+            ModelFile model = ModelFile.load(new File(path));
+            if (model != null) {
+                return model.toNetwork();
+            }
+        }
+
+        ModelFile model = ModelFile.loadResource(resource);
+        if (model != null) {
+            return model.toNetwork();
+        }
+
+        Network network = new Network(28*28, 8, 5);
+        network.setParams(PreTrained5C.getTrainedBiasH(), PreTrained5C.getTrainedBiasO(), PreTrained5C.getTrainedWeightsIH(), PreTrained5C.getTrainedWeightsHO());
+        return network;
+    }
+
 }
@@ -1,21 +1,22 @@
 package components.gui;
 
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
 import components.handler.*;
-import components.neuralnetwork.Matrix;
+import components.neuralnetwork.ModelRegistry;
 import components.neuralnetwork.Network;
 import components.neuralnetwork.ChartData;
 import javafx.animation.KeyFrame;
 import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.application.Application;
-import javafx.embed.swing.SwingFXUtils;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
 import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.SubScene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -26,6 +27,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
@@ -68,7 +70,23 @@ public class GUI extends Application {
     private int maxTurns = toDrawList.getMeta().size() + 1; /** Maximale Anzahl an Versuchen */
 
     private static Translator translator;
-    private static Network network;
+    private static ModelRegistry models;
+
+    /** Lernfortschritt fuer das Diagramm im Statistikfenster */
+    private static ChartData chart = ChartData.defaults();
+
+    /** Raten im Hintergrund, damit das Zeichnen nicht blockiert wird */
+    private GuessPipeline guesser;
+
+    /** Rand um einen Strich, der mit ausgelesen wird (Strichbreite 2, eckige Enden, Kantenglaettung) */
+    private static final int DIRTY_MARGIN = 4;
+
+    /** Rechteck um alles, was seit dem letzten Auslesen gezeichnet oder radiert wurde */
+    private double dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+    private boolean dirty = false;
+
+    /** true wenn beim naechsten Auslesen die ganze Leinwand gelesen werden muss (am Anfang und nach dem Zuruecksetzen) */
+    private boolean fullSnapshot = true;
 
     boolean ignore = false; /** Flagge fuer das Blockieren der Nutzereingabe */
     boolean onlyonce = true; /** Flagge damit das Statistikfenster nur einmal geoeffnet wird*/
@@ -87,9 +105,64 @@ public class GUI extends Application {
         translator = h;
     }
 
-    /** Setter fuer Network */
+    /** Setter fuer Network (das Netzwerk wird als unveraenderlicher Schnappschuss uebernommen) */
     public static void setNetwork (Network n) {
-        network = n;
+        models = new ModelRegistry(n.snapshot());
+    }
+
+    /** Setter fuer die ModelRegistry, ueber die neue Modelle zur Laufzeit eingesetzt werden */
+    public static void setModels (ModelRegistry m) {
+        models = m;
+    }
+
+    /** Erweitert das veraenderte Rechteck um einen Punkt und ein Quadrat der Seitenlaenge size rechts unten davon */
+    private void markDirty(double x, double y, double size) {
+        if(!dirty) {
+            dirtyMinX = dirtyMaxX = x;
+            dirtyMinY = dirtyMaxY = y;
+            dirty = true;
+        }
+        dirtyMinX = Math.min(dirtyMinX, x);
+        dirtyMinY = Math.min(dirtyMinY, y);
+        dirtyMaxX = Math.max(dirtyMaxX, x + size);
+        dirtyMaxY = Math.max(dirtyMaxY, y + size);
+    }
+
+    /** Liest das veraenderte Rechteck (oder die ganze Leinwand) aus und uebergibt es zum Raten an guesser */
+    private void submitDirty(Canvas canvas, int size) {
+        int x0 = 0, y0 = 0, x1 = size, y1 = size;
+        if(!fullSnapshot) {
+            if(!dirty) {
+                return;
+            }
+            x0 = Math.max((int) Math.floor(dirtyMinX) - DIRTY_MARGIN, 0);
+            y0 = Math.max((int) Math.floor(dirtyMinY) - DIRTY_MARGIN, 0);
+            x1 = Math.min((int) Math.ceil(dirtyMaxX) + DIRTY_MARGIN, size);
+            y1 = Math.min((int) Math.ceil(dirtyMaxY) + DIRTY_MARGIN, size);
+            if(x0 >= x1 || y0 >= y1) {
+                dirty = false;
+                return;
+            }
+        }
+        guesser.submit(readPixels(canvas, x0, y0, x1 - x0, y1 - y0), x0, y0, x1 - x0, y1 - y0);
+        fullSnapshot = false;
+        dirty = false;
+    }
+
+    /** Liest ein Rechteck der Leinwand (in Koordinaten der Leinwand) als ARGB-Werte aus */
+    private static int[] readPixels(Canvas canvas, int x, int y, int w, int h) {
+        Bounds bounds = canvas.getBoundsInParent(); /** der Ausschnitt wird in Koordinaten des Elternknotens angegeben */
+        SnapshotParameters params = new SnapshotParameters();
+        params.setViewport(new Rectangle2D(bounds.getMinX() + x, bounds.getMinY() + y, w, h));
+        WritableImage image = canvas.snapshot(params, null);
+        int[] argb = new int[w * h];
+        image.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), argb, 0, w);
+        return argb;
+    }
+
+    /** Setter fuer die Diagrammdaten (z.B. aus der Metrik-Datei eines Trainingslaufs) */
+    public static void setChart (ChartData c) {
+        chart = c;
     }
 
     /** */
@@ -193,6 +266,51 @@ public class GUI extends Application {
         rightGuess.setX(primaryStage.getWidth());
         rightGuess.setY(primaryStage.getHeight());
 
+        /** Vermutungen kommen aus dem Hintergrund-Thread und werden hier auf dem JavaFX-Thread angezeigt */
+        guesser = new GuessPipeline(translator, SIZE, SIZE, models, networkGuess -> {
+            if(ignore) { /** Popup fuer einen richtigen Tipp wird schon angezeigt */
+                return;
+            }
+
+            /** Anzeige auf Aktuelle Vermutung setzen */
+            setGuessLabelText(networkGuess);
+            guess.setText("Guess: " + guessLabelText);
+
+            /** Initalisierung der Sprachausgabe */
+            Speech speech = new Speech();
+
+            /** Zaehlt wie oft das Netzwerk geraten hat */
+            numberOfGuesses++; 
+
+            /** Anzeige des Popups, wenn die Vermutung richtig war */
+            if(guessLabelText.equals(ToDrawNow)) {
+                succesfulTries++;
+                ignore = true; /** Nutzereingabe deaktivieren */
+                timeline.stop(); /** Timer anhalten */
+                Text currentGuess = new Text("It is a/an " + guessLabelText);
+                currentGuess.setFont(new Font("Arial", 30));
+                currentGuess.setFill(Color.RED);
+                rightGuess.getContent().add(currentGuess); 
+                rightGuess.show(primaryStage);
+                speech.textAsync(guessLabelText); /** blockiert nicht, bis die mp3 zu Ende ist */
+
+                /** Popup wird mit Verzögerung ausgblendet */
+                PauseTransition delay = new PauseTransition(Duration.seconds(2));
+
+                delay.setOnFinished(new EventHandler<ActionEvent>(){
+                    @Override
+                    public void handle(ActionEvent event) {
+                        rightGuess.hide();
+                        buttonNextWord.fire(); /** Wechsel zur naechsten zu malenden Sache */
+                        rightGuess.getContent().remove(currentGuess); /** Zuruecksetzen des Labels */
+                        ignore = false; /** Nutzereingabe wieder aktivieren */
+                        timeline.play(); /** Timer wieder aktivieren */
+                    }
+                });
+                delay.play(); 
+            }
+        });
+
         /** Handler fuer Input von der Maus. Erste Phase beim Druecken der linken Maustaste. */
         canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, 
             new EventHandler<MouseEvent>() {
@@ -205,10 +323,12 @@ public class GUI extends Application {
                         graphicsContext.beginPath();
                         graphicsContext.moveTo(event.getX(), event.getY());
                         graphicsContext.stroke();
+                        markDirty(event.getX(), event.getY(), 0);
                     } else if(mode.equals("Erase")) {
                         graphicsContext.beginPath();
                         graphicsContext.moveTo(event.getX(), event.getY());
                         graphicsContext.clearRect(event.getX(), event.getY(), 10, 10);
+                        markDirty(event.getX(), event.getY(), 10);
                     }
                 }
             });
@@ -227,9 +347,11 @@ public class GUI extends Application {
                         graphicsContext.closePath();
                         graphicsContext.beginPath();
                         graphicsContext.moveTo(event.getX(), event.getY());
+                        markDirty(event.getX(), event.getY(), 0);
                     } else if(mode.equals("Erase")) {
                         graphicsContext.lineTo(event.getX(), event.getY());
                         graphicsContext.clearRect(event.getX(), event.getY(), 10, 10);
+                        markDirty(event.getX(), event.getY(), 10);
                         graphicsContext.closePath();
                         graphicsContext.beginPath();
                         graphicsContext.moveTo(event.getX(), event.getY());
@@ -249,71 +371,17 @@ public class GUI extends Application {
                         graphicsContext.lineTo(event.getX(), event.getY());
                         graphicsContext.stroke();
                         graphicsContext.closePath();
+                        markDirty(event.getX(), event.getY(), 0);
                     } else if(mode.equals("Erase")) {
                         graphicsContext.lineTo(event.getX(), event.getY());
                         graphicsContext.clearRect(event.getX(), event.getY(), 10, 10);
                         graphicsContext.closePath();
+                        markDirty(event.getX(), event.getY(), 10);
                     }
 
-
-                    /** Raten des Gemalten */
-                    WritableImage writableImage = canvas.snapshot(null, null);
-
-                    /** Groeße des Bildes entspricht der Groeße des Canvas */
-                    BufferedImage bufferedImage = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
-                    
-                    /** Uebertragen des WriteableImage in ein BufferedImage */
-                    SwingFXUtils.fromFXImage(writableImage, bufferedImage); 
-
-                    /** Uebersetzen des BufferedImage in eine Matrix */
-                    Data translatedInput; 
-                    translatedInput = translator.translateImage(bufferedImage); 
-                    
-                    /** Netzwerk verarbeitet den Input und gibt eine Vermutung zurueck*/
-                    Matrix networkGuessM;
-                    String networkGuess;
-
-                    networkGuessM = network.feedForward(translatedInput.getInputs()); 
-                    networkGuess = Meta.getCertainMETA(networkGuessM.getHighestValueRow());
-
-                    /** Anzeige auf Aktuelle Vermutung setzen */
-                    setGuessLabelText(networkGuess);
-                    guess.setText("Guess: " + guessLabelText);
-
-                    /** Initalisierung der Sprachausgabe */
-                    Speech speech = new Speech();
-                    
-
-                    /** Zaehlt wie oft das Netzwerk geraten hat */
-                    numberOfGuesses++; 
-                    
-                    /** Anzeige des Popups, wenn die Vermutung richtig war */
-                    if(guessLabelText.equals(ToDrawNow)) {
-                        succesfulTries++;
-                        ignore = true; /** Nutzereingabe deaktivieren */
-                        timeline.stop(); /** Timer anhalten */
-                        Text currentGuess = new Text("It is a/an " + guessLabelText);
-                        currentGuess.setFont(new Font("Arial", 30));
-                        currentGuess.setFill(Color.RED);
-                        rightGuess.getContent().add(currentGuess); 
-                        rightGuess.show(primaryStage);
-                        speech.text(guessLabelText);
-                        
-                        /** Popup wird mit Verzögerung ausgblendet */
-                        PauseTransition delay = new PauseTransition(Duration.seconds(2));
-                        
-                        delay.setOnFinished(new EventHandler<ActionEvent>(){
-                            @Override
-                            public void handle(ActionEvent event) {
-                                rightGuess.hide();
-                                buttonNextWord.fire(); /** Wechsel zur naechsten zu malenden Sache */
-                                rightGuess.getContent().remove(currentGuess); /** Zuruecksetzen des Labels */
-                                ignore = false; /** Nutzereingabe wieder aktivieren */
-                                timeline.play(); /** Timer wieder aktivieren */
-                            }
-                        });
-                        delay.play(); 
-                    }
+                    /** nur das Rechteck um den Strich auslesen, Uebersetzen und Raten im Hintergrund.
+                     *  Das Ergebnis kommt im Callback von guesser an */
+                    submitDirty(canvas, SIZE);
                 }
    
             });  
@@ -326,11 +394,13 @@ public class GUI extends Application {
         buttonClear.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
+                guesser.cancel(); /** Vermutungen fuer die alte Zeichnung verwerfen */
                 graphicsContext.clearRect(0, 0, SIZE, SIZE);
                 graphicsContext.setStroke(Color.GREY);
                 graphicsContext.setLineWidth(2);
                 graphicsContext.strokeRect(0, 0, SIZE, SIZE);
                 graphicsContext.setStroke(Color.BLACK);
+                fullSnapshot = true; /** beim naechsten Strich die ganze Leinwand auslesen */
                 buttonPaint.fire(); /** nach dem Zuruecksetzen des Canvas Rueckkehr in den Zeichenmodus */
             }
         });
@@ -381,10 +451,10 @@ public class GUI extends Application {
         
                     StackPane graphLayout = new StackPane();
                     /** Lernprozess in Prozent */
-                    ArrayList<Double> percentData = ChartData.getPercentData();
+                    ArrayList<Double> percentData = chart.getAccuracies();
 
                     /** Anzahl der Epochen bezogen auf den Lernprozess */
-                    ArrayList<Integer> epochData = ChartData.getEpochData();
+                    ArrayList<Long> epochData = chart.getSamples();
 
                     NumberAxis xAxis = new NumberAxis();
                     xAxis.setLabel("Epochs");
@@ -437,5 +507,13 @@ public class GUI extends Application {
         primaryStage.show();
 
     }
+
+    /** Beendet den Thread zum Raten beim Schliessen der Anwendung */
+    @Override
+    public void stop() {
+        if(guesser != null) {
+            guesser.shutdown();
+        }
+    }
     
 }
\ No newline at end of file
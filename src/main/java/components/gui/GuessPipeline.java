@@ -0,0 +1,161 @@
+package components.gui;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import components.handler.Data;
+import components.handler.StrokeTranslator;
+import components.handler.Translator;
+import components.neuralnetwork.Matrix;
+import components.neuralnetwork.ModelRegistry;
+import javafx.application.Platform;
+
+/**
+ * Rät Zeichnungen im Hintergrund, damit der JavaFX-Thread beim Zeichnen nicht blockiert wird.
+ *
+ * Der JavaFX-Thread liest nach jedem Strich nur das Rechteck um den Strich aus der Leinwand aus und
+ * übergibt dessen Pixel mit submit(). Übernehmen ins Abbild der Leinwand (StrokeTranslator), Übersetzen
+ * und Raten (ModelRegistry) laufen auf einem eigenen Thread, das Ergebnis kommt über Platform.runLater()
+ * zurück. Die Ausschnitte werden alle in der Reihenfolge von submit() übernommen, geraten wird aber nur
+ * der neueste Stand: kommen mehrere Striche, bevor der Thread dazu kommt, wird nur einmal geraten.
+ *
+ * @version 17. Oktober 2026
+ */
+public class GuessPipeline {
+
+    /** Pixel eines Ausschnitts der Leinwand */
+    static final class Region {
+        final int[] pixels;
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+
+        Region(int[] pixels, int x, int y, int width, int height) {
+            this.pixels = pixels;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /** Abbild der Leinwand, wird nur auf dem Worker-Thread benutzt */
+    private final StrokeTranslator strokes;
+    private final ModelRegistry models;
+
+    /** bekommt die Vermutung auf dem JavaFX-Thread */
+    private final Consumer<String> onGuess;
+
+    /** ein Thread für Übernehmen, Übersetzen und Raten */
+    private final ExecutorService worker;
+
+    /** führt die Rückmeldung aus (JavaFX-Thread, siehe Platform.runLater()) */
+    private final Executor fx;
+
+    /** noch nicht übernommene Ausschnitte in der Reihenfolge von submit() */
+    private final Queue<Region> regions;
+
+    /** true solange ein drain() auf dem Worker-Thread ansteht */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** Generation der neuesten noch nicht gerateten Zeichnung, -1 = nichts zu raten */
+    private final AtomicLong requested = new AtomicLong(-1);
+
+    /** wird von cancel() erhöht, Ergebnisse älterer Anfragen werden verworfen */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Konstruktor
+     *
+     * @param translator übersetzt die Pixel in Inputs
+     * @param width Breite der Leinwand
+     * @param height Höhe der Leinwand
+     * @param models Modell zum Raten
+     * @param onGuess bekommt die Vermutung (wird auf dem JavaFX-Thread aufgerufen)
+     */
+    public GuessPipeline(Translator translator, int width, int height, ModelRegistry models, Consumer<String> onGuess) {
+        this(new StrokeTranslator(translator, width, height), models, onGuess, Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "guess");
+            t.setDaemon(true);
+            return t;
+        }), Platform::runLater, new ConcurrentLinkedQueue<>());
+    }
+
+    /** Konstruktor mit eigenen Threads und eigener (thread-sicherer) Warteschlange (für Tests) */
+    GuessPipeline(StrokeTranslator strokes, ModelRegistry models, Consumer<String> onGuess, ExecutorService worker, Executor fx,
+            Queue<Region> regions) {
+        this.strokes = strokes;
+        this.models = models;
+        this.onGuess = onGuess;
+        this.worker = worker;
+        this.fx = fx;
+        this.regions = regions;
+    }
+
+    /**
+     * Übergibt die Pixel eines geänderten Ausschnitts der Leinwand und rät danach die Zeichnung.
+     * Das Array gehört danach der Pipeline und darf nicht mehr verändert werden.
+     *
+     * @param pixels ARGB-Werte des Ausschnitts zeilenweise (width * height Einträge)
+     * @param x linker Rand des Ausschnitts auf der Leinwand
+     * @param y oberer Rand des Ausschnitts auf der Leinwand
+     * @param width Breite des Ausschnitts
+     * @param height Höhe des Ausschnitts
+     */
+    public void submit(int[] pixels, int x, int y, int width, int height) {
+        regions.add(new Region(pixels, x, y, width, height));
+        requested.set(generation.get());
+        if (scheduled.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    /** Verwirft die offene Vermutung und alle Ergebnisse, die noch unterwegs sind (z.B. beim Leeren der Leinwand). */
+    public void cancel() {
+        generation.incrementAndGet();
+        requested.set(-1);
+    }
+
+    /** Beendet den Thread. */
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    /**
+     * Übernimmt alle offenen Ausschnitte und rät den neuesten Stand (auf dem Worker-Thread).
+     *
+     * Die Anfrage wird vor den Ausschnitten abgeholt: ein submit() danach setzt sie neu und plant ein weiteres
+     * drain(), das dann auch seinen Ausschnitt rät. Andersherum könnte dieses drain() die Anfrage eines
+     * Ausschnitts verbrauchen, den es nicht mehr übernommen hat, und der letzte Strich würde nie geraten.
+     */
+    private void drain() {
+        scheduled.set(false);
+        long g = requested.getAndSet(-1);
+        Region r;
+        while ((r = regions.poll()) != null) {
+            strokes.update(r.pixels, r.x, r.y, r.width, r.height);
+        }
+
+        if (g < 0 || g != generation.get()) {
+            return;
+        }
+
+        Data input = strokes.translate();
+        Matrix result = models.predict(input.getInputs());
+        String guess = Meta.getCertainMETA(result.getHighestValueRow());
+
+        fx.execute(() -> {
+            if (g == generation.get()) {
+                onGuess.accept(guess);
+            }
+        });
+    }
+}
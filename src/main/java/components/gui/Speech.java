@@ -4,6 +4,8 @@ import javazoom.jl.player.Player;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.JOptionPane;
 
@@ -16,6 +18,22 @@ import javax.swing.JOptionPane;
  */
 public class Speech {
 
+    /** Thread fuer die Wiedergabe, Player.play() blockiert bis die mp3 zu Ende ist */
+    private static final ExecutorService PLAYER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "speech");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Wie text(), spielt das Wort aber im Hintergrund ab und kehrt sofort zurueck.
+     * Mehrere Woerter werden nacheinander abgespielt.
+     * 
+     * @param word String, der das Wort beschreibt, welches das neurale Netzwerk erkannt hat.
+     */
+    public void textAsync(String word){
+        PLAYER.execute(() -> text(word));
+    }
 
     /**
      * Diese Methode überprüft welches Wort erraten wurden und übergibt dieses dann an die playText Methode
@@ -1,6 +1,7 @@
 package components.handler;
 
 import components.neuralnetwork.Matrix;
+import components.neuralnetwork.SparseInput;
 
 /** Daten-Objekt.
  * 
@@ -14,6 +15,15 @@ public class Data {
     Matrix inputs;
     Matrix outputs;
 
+    /** Platzhalter in sparseInputs für Inputs, die nicht binär sind */
+    static final SparseInput NOT_SPARSE = new SparseInput(0, new int[0]);
+
+    /** Inputs als SparseInput, wird beim ersten Aufruf von getSparseInputs() erzeugt
+     * (null = noch nicht erzeugt, NOT_SPARSE = Inputs sind nicht binär).
+     * Ein einzelnes volatile-Feld, damit mehrere Trainings-Threads dasselbe Data-Objekt lesen können.
+     */
+    volatile SparseInput sparseInputs;
+
     /** Konstruktor
      * 
      * @param inputs Inputs
@@ -57,6 +67,24 @@ public class Data {
         return inputs;
     }
 
+    /** Gibt die Inputs als SparseInput zurück (nur die Indizes der gesetzten Pixel).
+     * 
+     * Wird beim ersten Aufruf aus den Inputs erzeugt. Die Inputs dürfen danach nicht mehr verändert werden.
+     * 
+     * @return Inputs, oder null wenn sie nicht nur aus 0.0 und 1.0 bestehen
+     */
+    public SparseInput getSparseInputs(){
+        SparseInput s = sparseInputs;
+        if(s == null){
+            s = SparseInput.fromMatrix(inputs);
+            if(s == null){
+                s = NOT_SPARSE;
+            }
+            sparseInputs = s;   // mehrfaches Erzeugen durch mehrere Threads ist harmlos, das Ergebnis ist gleich
+        }
+        return s == NOT_SPARSE ? null : s;
+    }
+
     /** Gibt die Outputs des Objekts zurück.
      * 
      * @return Outputs
@@ -0,0 +1,266 @@
+package components.handler;
+
+import components.neuralnetwork.Matrix;
+import components.neuralnetwork.Training;
+
+/**
+ * Übersetzt eine Zeichnung schrittweise aus den geänderten Ausschnitten der Leinwand, statt jedes Mal die ganze
+ * Leinwand auszulesen.
+ *
+ * Die GUI liest nach jedem Strich nur das Rechteck um den Strich aus der Leinwand aus und übergibt dessen Pixel
+ * mit update(). Daraus wird ein Abbild der Leinwand mit einem Bit pro Pixel gepflegt (schwarz wie
+ * Training.isInk()), dazu die Anzahl schwarzer Pixel pro Zeile und Spalte (für die Grenzen der Zeichnung).
+ * Weil die Pixel von JavaFX selbst gezeichnet werden, liefert translate() genau dasselbe wie
+ * Translator.translatePixels() auf der ganzen Leinwand, solange jede Änderung in einem übergebenen Ausschnitt
+ * liegt. Solange sich das Quadrat um die Zeichnung nicht ändert, werden nur die Cluster neu berechnet, in denen
+ * sich seit dem letzten Aufruf Pixel geändert haben.
+ * ACHTUNG: Ein Objekt darf immer nur von einem Thread gleichzeitig benutzt werden (siehe GuessPipeline).
+ *
+ * @version 17. Oktober 2026
+ */
+public class StrokeTranslator {
+
+	/** Übersetzer für die Berechnung des Quadrats um die Zeichnung */
+	private final Translator translator;
+
+	/** Seitenlänge m der mxm Matrix */
+	private final int n;
+
+	/** Größe der Leinwand */
+	private final int width, height;
+
+	/** Anzahl long pro Zeile in ink */
+	private final int words;
+
+	/** ein Bit pro Pixel, Zeile y beginnt bei ink[y * words] */
+	private final long[] ink;
+
+	/** Anzahl schwarzer Pixel pro Zeile/Spalte, ohne die äußersten Pixel (wie Translator.findBorders()) */
+	private final int[] rowCount, colCount;
+
+	/** zwischengespeicherte Cluster (1 = enthält schwarz) für das Quadrat boxX, boxY, boxSide */
+	private final boolean[] cells;
+	private int boxX, boxY, boxSide = -1;
+
+	/** Cluster, in denen sich seit dem letzten translate() Pixel geändert haben */
+	private final boolean[] dirty;
+	private int dirtyCount = 0;
+
+	/** Input von translate(), wird bei jedem Aufruf wiederverwendet */
+	private final double[] values;
+	private final Data data;
+
+	/** true wenn sich seit dem letzten translate() ein Pixel geändert hat */
+	private boolean changed = true;
+
+	/**
+	 * Konstruktor
+	 *
+	 * @param translator Übersetzer, dessen Matrixgröße und Zuschnitt übernommen werden
+	 * @param width Breite der Leinwand
+	 * @param height Höhe der Leinwand
+	 */
+	public StrokeTranslator(Translator translator, int width, int height) {
+		this.translator = translator;
+		this.n = translator.getMatrixSideLength();
+		this.width = width;
+		this.height = height;
+		this.words = (width + 63) >>> 6;
+		this.ink = new long[words * height];
+		this.rowCount = new int[height];
+		this.colCount = new int[width];
+		this.cells = new boolean[n * n];
+		this.dirty = new boolean[n * n];
+		this.values = new double[n * n];
+		this.data = new Data(new Matrix(values.length, 1, values));
+	}
+
+	/**
+	 * Übernimmt die Pixel eines Ausschnitts der Leinwand.
+	 *
+	 * @param	argb	ARGB-Werte des Ausschnitts zeilenweise (w * h Einträge)
+	 * @param	x	linker Rand des Ausschnitts auf der Leinwand
+	 * @param	y	oberer Rand des Ausschnitts auf der Leinwand
+	 * @param	w	Breite des Ausschnitts
+	 * @param	h	Höhe des Ausschnitts
+	 */
+	public void update(int[] argb, int x, int y, int w, int h) {
+		if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+			System.err.println("Ausschnitt liegt nicht auf der Leinwand.");
+			return;
+		}
+		if (argb.length < w * h) {
+			System.err.println("Pixel-Array ist kleiner als w * h.");
+			return;
+		}
+
+		for (int row = 0; row < h; row++) {
+			int from = row * w;
+			for (int col = 0; col < w; col++) {
+				if (Training.isInk(argb[from + col])) {
+					set(x + col, y + row);
+				} else {
+					unset(x + col, y + row);
+				}
+			}
+		}
+	}
+
+	/** Gibt an, ob ein Pixel schwarz ist. */
+	public boolean isInk(int x, int y) {
+		return (ink[y * words + (x >>> 6)] & (1L << x)) != 0;
+	}
+
+	/**
+	 * Übersetzt die aktuelle Zeichnung wie Translator.translatePixels().
+	 * Es wird immer dasselbe Data-Objekt zurückgegeben, es wird beim nächsten Aufruf überschrieben.
+	 *
+	 * @return Data-Objekt mit übersetzter Zeichnung als Input-parameter und leerem Output-parameter
+	 */
+	public Data translate() {
+		int[] box = translator.squareBox(top(), right(), bottom(), left(), width, height);
+		int cluster = box[2] / n;
+
+		if (box[0] != boxX || box[1] != boxY || box[2] != boxSide) {
+			boxX = box[0];
+			boxY = box[1];
+			boxSide = box[2];
+			for (int c = 0; c < cells.length; c++) {
+				cells[c] = cluster > 0 && hasInk(c / n, c % n, cluster);
+				dirty[c] = false;
+			}
+			dirtyCount = 0;
+			changed = true;
+		} else if (dirtyCount > 0) {
+			for (int c = 0; c < cells.length; c++) {
+				if (dirty[c]) {
+					cells[c] = cluster > 0 && hasInk(c / n, c % n, cluster);
+					dirty[c] = false;
+				}
+			}
+			dirtyCount = 0;
+		}
+
+		// derselbe Input wie beim letzten Mal, wenn sich kein Pixel geändert hat
+		if (changed) {
+			for (int c = 0; c < cells.length; c++) {
+				values[c] = cells[c] ? 1.0 : 0.0;
+			}
+			Training.center(values, n);
+			changed = false;
+		}
+		return data;
+	}
+
+	/** Pixel schwarz färben */
+	private void set(int x, int y) {
+		int w = y * words + (x >>> 6);
+		long bit = 1L << x;
+		if ((ink[w] & bit) != 0) {
+			return;
+		}
+		ink[w] |= bit;
+		changed = true;
+		count(x, y, 1);
+	}
+
+	/** Pixel weiß färben */
+	private void unset(int x, int y) {
+		int w = y * words + (x >>> 6);
+		long bit = 1L << x;
+		if ((ink[w] & bit) == 0) {
+			return;
+		}
+		ink[w] &= ~bit;
+		changed = true;
+		count(x, y, -1);
+	}
+
+	/** Zähler pro Zeile/Spalte anpassen und betroffene Cluster markieren */
+	private void count(int x, int y, int d) {
+		if (x > 0 && x < width - 1 && y > 0 && y < height - 1) {
+			rowCount[y] += d;
+			colCount[x] += d;
+		}
+		if (boxSide < 0) {
+			return;		// alle Cluster werden ohnehin neu berechnet
+		}
+		int cluster = boxSide / n;
+		if (cluster == 0) {
+			return;
+		}
+		int i0 = (y - boxY) * n / boxSide;
+		int j0 = (x - boxX) * n / boxSide;
+		for (int i = Math.max(i0 - 1, 0); i <= Math.min(i0 + 1, n - 1); i++) {
+			int y0 = boxY + i * boxSide / n;
+			if (y < y0 || y >= y0 + cluster) continue;
+			for (int j = Math.max(j0 - 1, 0); j <= Math.min(j0 + 1, n - 1); j++) {
+				int x0 = boxX + j * boxSide / n;
+				if (x < x0 || x >= x0 + cluster) continue;
+				int c = i * n + j;
+				if (!dirty[c]) {
+					dirty[c] = true;
+					dirtyCount++;
+				}
+			}
+		}
+	}
+
+	/** Gibt an, ob Cluster (i, j) des aktuellen Quadrats ein schwarzes Pixel enthält, Pixel außerhalb zählen als weiß. */
+	private boolean hasInk(int i, int j, int cluster) {
+		int x0 = boxX + j * boxSide / n;
+		int y0 = boxY + i * boxSide / n;
+		int xFrom = Math.max(x0, 0);
+		int xTo = Math.min(x0 + cluster, width);		// exklusiv
+		int yTo = Math.min(y0 + cluster, height);
+		if (xFrom >= xTo) {
+			return false;
+		}
+		int wFrom = xFrom >>> 6;
+		int wTo = (xTo - 1) >>> 6;
+		long maskFrom = -1L << xFrom;
+		long maskTo = -1L >>> (63 - ((xTo - 1) & 63));
+		for (int y = Math.max(y0, 0); y < yTo; y++) {
+			int row = y * words;
+			if (wFrom == wTo) {
+				if ((ink[row + wFrom] & maskFrom & maskTo) != 0) return true;
+			} else {
+				if ((ink[row + wFrom] & maskFrom) != 0) return true;
+				for (int w = wFrom + 1; w < wTo; w++) {
+					if (ink[row + w] != 0) return true;
+				}
+				if ((ink[row + wTo] & maskTo) != 0) return true;
+			}
+		}
+		return false;
+	}
+
+	/** obere Grenze der Zeichnung (wie Translator.findBorders(), 0 wenn leer) */
+	private int top() {
+		for (int y = 1; y < height - 1; y++) {
+			if (rowCount[y] > 0) return y;
+		}
+		return 0;
+	}
+
+	private int bottom() {
+		for (int y = height - 2; y > 0; y--) {
+			if (rowCount[y] > 0) return y;
+		}
+		return 0;
+	}
+
+	private int left() {
+		for (int x = 1; x < width - 1; x++) {
+			if (colCount[x] > 0) return x;
+		}
+		return 0;
+	}
+
+	private int right() {
+		for (int x = width - 2; x > 0; x--) {
+			if (colCount[x] > 0) return x;
+		}
+		return 0;
+	}
+}
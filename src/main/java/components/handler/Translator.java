@@ -4,7 +4,9 @@ import components.neuralnetwork.Training;
 import components.neuralnetwork.Matrix;
 
 import java.awt.image.BufferedImage;
-import java.lang.Double;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
 
 /**
  * Diese Klasse ist verantwortlich für das Übersetzen eines BufferedImage in ein Data-Objekt, also das Bild
@@ -41,6 +43,15 @@ public class Translator {
 		}
 	}
 
+	/**
+	 * Gibt die Seitenlänge m der mxm Matrix zurück.
+	 * 
+	 * @return Seitenlänge
+	 */
+	public int getMatrixSideLength() {
+		return this.matrixSideLength;
+	}
+
 	/**
 	 * Übersetzt ein BufferedImage in eine Matrix mit Doubles bzw. ein Data-Objekt, welches
 	 * diese Matrix als Inputmatrix enthält. Eine Position der Matrix ist = 1.0, wenn in dem entsprechenden Cluster mindestens
@@ -51,23 +62,186 @@ public class Translator {
 	 * @return	Data-Objekt mit übersetzten BufferedImage (sprich Matrix) als Input-parameter und leerem Output-parameter
 	 */
 	public Data translateImage(BufferedImage image) {
-		double[] cluster;
-		Double content;
-		Matrix mat = new Matrix(this.matrixSideLength, this.matrixSideLength);
+		double[] cells = new double[this.matrixSideLength * this.matrixSideLength];
 
 		image = subtractEmpty(image);
 
 		for (int i = 0; i < this.matrixSideLength; i++) {
 			for (int j = 0; j < this.matrixSideLength; j++) {
-				cluster = makeCluster(j * image.getWidth() / this.matrixSideLength, i * image.getHeight() / this.matrixSideLength, image);
-				content = checkForContent(cluster);
-				mat.setValue(i + 1, j + 1, content);
+				if (hasInk(image, j * image.getWidth() / this.matrixSideLength, i * image.getHeight() / this.matrixSideLength)) {
+					cells[i * this.matrixSideLength + j] = 1.0;
+				}
 			}
 		}
-		mat = Training.center(mat);
-		mat = Matrix.toSingleColumn(mat);
-		Data translatedInput = new Data(mat);
-		return translatedInput;
+		return toData(cells);
+	}
+
+	/**
+	 * Wie translateImage(), arbeitet aber direkt auf den ARGB-Werten der Leinwand (z.B. aus PixelReader.getPixels()
+	 * mit PixelFormat.getIntArgbInstance() oder dem DataBuffer eines TYPE_INT_ARGB-Bildes).
+	 * Die Grenzen der Zeichnung werden in einem einzigen Durchlauf über das Array gesucht, danach wird jedes Cluster
+	 * nur bis zum ersten schwarzen Pixel gelesen. Es entstehen kein Subimage und keine Cluster-Arrays.
+	 * Das Ergebnis ist dasselbe wie bei translateImage(). Liegt das Quadrat teilweise außerhalb des Bildes
+	 * (dort würde getSubimage() scheitern), zählen die Pixel außerhalb als weiß.
+	 * 
+	 * @param	argb	Pixel zeilenweise, argb[y * width + x]
+	 * @param	width	Breite des Bildes
+	 * @param	height	Höhe des Bildes
+	 * @return	Data-Objekt mit übersetztem Bild als Input-parameter und leerem Output-parameter
+	 */
+	public Data translatePixels(int[] argb, int width, int height) {
+		if (argb.length < width * height) {
+			System.err.println("Pixel-Array ist kleiner als width * height.");
+			return null;
+		}
+
+		int[] borders = findBorders(argb, width, height);
+		int[] box = squareBox(borders[0], borders[1], borders[2], borders[3], width, height);
+		int boxX = box[0];
+		int boxY = box[1];
+		int side = box[2];
+		int cluster = side / this.matrixSideLength;
+
+		double[] cells = new double[this.matrixSideLength * this.matrixSideLength];
+		if (cluster > 0) {
+			for (int i = 0; i < this.matrixSideLength; i++) {
+				int y0 = boxY + i * side / this.matrixSideLength;
+				for (int j = 0; j < this.matrixSideLength; j++) {
+					int x0 = boxX + j * side / this.matrixSideLength;
+					if (hasInk(argb, width, height, x0, y0, cluster)) {
+						cells[i * this.matrixSideLength + j] = 1.0;
+					}
+				}
+			}
+		}
+		return toData(cells);
+	}
+
+	/**
+	 * Zentriert die Cluster (zeilenweise, 1.0 = schwarz) wie Training.center() und gibt sie als einspaltigen Input
+	 * zurück. Das Array wird dabei verändert und ohne Kopie als Matrix benutzt.
+	 * 
+	 * @param	cells	matrixSideLength * matrixSideLength Einträge
+	 * @return	Data-Objekt mit den Clustern als Input-parameter und leerem Output-parameter
+	 */
+	Data toData(double[] cells) {
+		Training.center(cells, this.matrixSideLength);
+		return new Data(new Matrix(cells.length, 1, cells));
+	}
+
+	/**
+	 * Sucht die Grenzen der Zeichnung eines Bildes (siehe findBorders(int[], int, int)).
+	 * 
+	 * @param	image	eine schwarze Zeichnung auf weißem Grund
+	 * @return	{oben, rechts, unten, links}
+	 */
+	public static int[] findBorders(BufferedImage image) {
+		return findBorders(pixels(image), image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * Sucht alle vier Grenzen der Zeichnung in einem Durchlauf. Oben und unten wird zeilenweise bis zur ersten Zeile
+	 * mit einem schwarzen Pixel gesucht. Dazwischen wird jede Zeile nur links und rechts außerhalb der bisher gefundenen
+	 * Grenzen gelesen, jeweils bis zum ersten schwarzen Pixel. Pixel innerhalb der Zeichnung werden also nie gelesen.
+	 * Wie bei den früheren Scans (scanYofX/scanXofY) werden die äußersten Pixel (Rahmen der Leinwand) ignoriert
+	 * und nicht gefundene Grenzen sind 0.
+	 * 
+	 * @param	argb	Pixel zeilenweise, argb[y * width + x]
+	 * @param	width	Breite des Bildes
+	 * @param	height	Höhe des Bildes
+	 * @return	{oben, rechts, unten, links}
+	 */
+	public static int[] findBorders(int[] argb, int width, int height) {
+		int top = 1;
+		while (top < height - 1 && firstInk(argb, top * width, 1, width - 1) < 0) {
+			top++;
+		}
+		if (top >= height - 1) {
+			return new int[] {0, 0, 0, 0};		// nichts gezeichnet
+		}
+		int bot = height - 2;
+		while (bot > top && firstInk(argb, bot * width, 1, width - 1) < 0) {
+			bot--;
+		}
+
+		int left = width - 1;
+		int right = 0;
+		for (int y = top; y <= bot; y++) {
+			int row = y * width;
+			int x = firstInk(argb, row, 1, left);
+			if (x >= 0) {
+				left = x;
+			}
+			x = lastInk(argb, row, right + 1, width - 1);
+			if (x >= 0) {
+				right = x;
+			}
+		}
+		return new int[] {top, right, bot, left};
+	}
+
+	/** Erstes schwarzes Pixel in [from, to) der Zeile ab argb[row], -1 wenn keins. */
+	private static int firstInk(int[] argb, int row, int from, int to) {
+		for (int x = from; x < to; x++) {
+			if (Training.isInk(argb[row + x])) {
+				return x;
+			}
+		}
+		return -1;
+	}
+
+	/** Letztes schwarzes Pixel in [from, to) der Zeile ab argb[row], -1 wenn keins. */
+	private static int lastInk(int[] argb, int row, int from, int to) {
+		for (int x = to - 1; x >= from; x--) {
+			if (Training.isInk(argb[row + x])) {
+				return x;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gibt die ARGB-Werte eines Bildes zeilenweise zurück. Bei TYPE_INT_ARGB und TYPE_INT_RGB ohne Versatz wird direkt
+	 * das Array des Rasters benutzt (keine Kopie, nicht verändern!), sonst werden die Werte mit einem einzigen
+	 * getRGB()-Aufruf kopiert.
+	 * 
+	 */
+	static int[] pixels(BufferedImage image) {
+		int w = image.getWidth();
+		int h = image.getHeight();
+		Raster raster = image.getRaster();
+		if ((image.getType() == BufferedImage.TYPE_INT_ARGB || image.getType() == BufferedImage.TYPE_INT_RGB)
+				&& raster.getDataBuffer() instanceof DataBufferInt
+				&& raster.getSampleModel() instanceof SinglePixelPackedSampleModel
+				&& ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride() == w
+				&& raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0
+				&& raster.getDataBuffer().getOffset() == 0) {
+			int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+			if (data.length == w * h) {
+				return data;
+			}
+		}
+		return image.getRGB(0, 0, w, h, null, 0, w);
+	}
+
+	/**
+	 * Gibt an, ob das Cluster ab (x0, y0) mit der Seitenlänge size mindestens ein schwarzes Pixel enthält.
+	 * Bricht beim ersten gefundenen Pixel ab, Pixel außerhalb des Bildes zählen als weiß.
+	 * 
+	 */
+	private static boolean hasInk(int[] argb, int width, int height, int x0, int y0, int size) {
+		int xFrom = Math.max(x0, 0);
+		int xTo = Math.min(x0 + size, width);
+		int yTo = Math.min(y0 + size, height);
+		for (int y = Math.max(y0, 0); y < yTo; y++) {
+			int row = y * width;
+			for (int x = xFrom; x < xTo; x++) {
+				if (Training.isInk(argb[row + x])) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
 
 
@@ -83,10 +257,24 @@ public class Translator {
 	 * @return a BufferedImage with as much white space removed around drawing as possible.
 	 */
 	private BufferedImage subtractEmpty(BufferedImage image) {
-		int drawingTopBorder = scanYofX(image, true);
-		int drawingRightBorder = scanXofY(image, false);
-		int drawingBotBorder = scanYofX(image, false);
-		int drawingLeftBorder = scanXofY(image, true);
+		int[] borders = findBorders(image);		// {oben, rechts, unten, links} in einem Durchlauf
+		int[] box = squareBox(borders[0], borders[1], borders[2], borders[3], image.getWidth(), image.getHeight());
+		int minSidelength = box[2];
+
+		image = image.getSubimage(box[0], box[1], minSidelength, minSidelength);
+		this.clusterSideLength = minSidelength / this.matrixSideLength;
+		this.clusterSize = clusterSideLength * clusterSideLength;
+		return image;
+	}
+
+	/**
+	 * Berechnet aus den Grenzen der Zeichnung das quadratische Gebiet, auf das in subtractEmpty() bzw. translatePixels()
+	 * herangezoomt wird.
+	 * 
+	 * @author Jakob Hiestermann
+	 * @return {x, y, Seitenlänge} des Quadrats
+	 */
+	int[] squareBox(int drawingTopBorder, int drawingRightBorder, int drawingBotBorder, int drawingLeftBorder, int width, int height) {
 		int drawingCenterX = (drawingRightBorder + drawingLeftBorder) / 2;
 		int drawingCenterY = (drawingTopBorder + drawingBotBorder) / 2;
 
@@ -96,108 +284,38 @@ public class Translator {
 		int boxInitX = drawingCenterX - (minSidelength / 2);
 		if (boxInitX < 0) {		// überprüfen von Fällen in denen die Grenze des Originalbildes in x-Richtung überschritten werden würde
 			boxInitX = 0;
-		} else if (boxInitX + minSidelength > image.getWidth()) {
-			boxInitX -= (drawingCenterX + (minSidelength / 2) - image.getWidth()); 
+		} else if (boxInitX + minSidelength > width) {
+			boxInitX -= (drawingCenterX + (minSidelength / 2) - width); 
 		}
 
 		int boxInitY = drawingCenterY - (minSidelength / 2);
 		if (boxInitY < 0) {		// überprüfen von Fällen in denen die Grenze des Originalbildes in y-Richtung überschritten werden würde
 			boxInitY = 0;
-		} else if (boxInitY + minSidelength > image.getHeight()) {
-			boxInitY -= (drawingCenterY + (minSidelength / 2) - image.getHeight()); 
-		}
-
-		image = image.getSubimage(boxInitX, boxInitY, minSidelength, minSidelength);
-		this.clusterSideLength = minSidelength / this.matrixSideLength;
-		this.clusterSize = clusterSideLength * clusterSideLength;
-		return image;
-	}
-
-	/**
-	 * Diese Methode durchsucht ein BufferedImage nach entweder dem ersten oder letzten schwarzen Pixel von oben nach unten (reihenweise).
-	 * Gibt den korrespondierenden y-Wert zurück um die obere bzw. untere Grenzen des gemalten herausfinden zu können.
-	 * 
-	 * @author Jakob Hiestermann
-	 * @param image
-	 * @param first wenn true, wird der y-Wert des ersten gefundenen schwarzen Pixels zurückgegeben, wenn false der des letzten
-	 */
-	private int scanYofX(BufferedImage image, Boolean first) {
-		int y = 0;
-		for (int i = 1; i < image.getHeight() - 1; i++) {
-			for (int j = 1; j < image.getWidth() - 1; j++) {
-				if (Training.getGrayscale(image.getRGB(j, i)) == 1.0) {
-					y = i;
-					if(first) {
-						return y;
-					}
-				}
-			}
+		} else if (boxInitY + minSidelength > height) {
+			boxInitY -= (drawingCenterY + (minSidelength / 2) - height); 
 		}
-		return y;
-	}
 
-
-	/**
-	 * Diese Methode durchsucht ein BufferedImage nach entweder dem ersten oder letzten schwarzen Pixel von links nach rechts (zeilenweise).
-	 * Gibt den korrespondierenden x-Wert zurück um die linke bzw. rechte Grenzen des gemalten herausfinden zu können.
-	 * 
-	 * @author Jakob Hiestermann
-	 * @param image
-	 * @param first wenn true, wird der x-Wert des ersten gefundenen schwarzen Pixels zurückgegeben, wenn false der des letzten
-	 */
-	private int scanXofY(BufferedImage image, Boolean first) {
-		int x = 0;
-		for (int i = 1; i < image.getWidth() - 1; i++) {
-			for (int j = 1; j < image.getHeight() - 1; j++) {
-				if (Training.getGrayscale(image.getRGB(i, j)) == 1.0) {
-					x = i;
-					if(first) {
-						return x;
-					}
-				}
-			}
-		}
-		return x;
+		return new int[] {boxInitX, boxInitY, minSidelength};
 	}
 
-	
-
 	/**
-	 * Konstruiert ein Array/Cluster der Seitenlänge, die in clusterSideLength gespeichert ist.
+	 * Scannt ein Cluster der Seitenlänge clusterSideLength direkt im Bild und bricht beim ersten schwarzen Pixel ab.
 	 * Ein Cluster meint eine quadratische Region eines Bildes, das als Untereinheit einzeln weiter untersucht werden soll.
 	 * 
 	 * @author 	Jakob Hiestermann
+	 * @param	image	
 	 * @param	x		x-Koordinate, von der aus geclustert wird
 	 * @param	y		y-Koordinate, von der aus geclustert wird	
-	 * @param	image	
-	 * @return	Array, der Pixeldaten enthält (1.0 für schwarz, 0.0 für weiß)
+	 * @return	true wenn mindestens ein schwarzes Pixel im Cluster liegt
 	 */
-	private double[] makeCluster(int x, int y, BufferedImage image) {
-		double[] cluster = new double[this.clusterSize];
-		int rgb;
-
+	private boolean hasInk(BufferedImage image, int x, int y) {
 		for (int i = 0; i < this.clusterSideLength; i++) {
 			for (int j = 0; j < this.clusterSideLength; j++) {
-				rgb = image.getRGB(x + j, y + i);
-				cluster[i * this.clusterSideLength + j] = Training.getGrayscale(rgb);
-			}
-		}
-		return cluster;
-	}
-
-	/**
-	 * Scannt ein Array mit Double-Werten, überpruft ob mindestens einmal eine "1.0" vorkommt.
-	 * 
-	 * @author Jakob Hiestermann
-	 * @param	cluster	
-	 * @return	0.0 wenn keine "1.0" in Cluster enthalten, 1.0 wenn mindestens eine "1.0" vorkommt
-	 */
-	private double checkForContent(double[] cluster) {
-		for(int i = 0; i < cluster.length; i++) {
-			if (cluster[i] == 1.0) {
-				return 1.0;
+				if (Training.isInk(image.getRGB(x + j, y + i))) {
+					return true;
+				}
 			}
 		}
-		return 0.0;
+		return false;
 	}
 }
@@ -0,0 +1,68 @@
+package components.neuralnetwork;
+
+/** Puffer für die Aktivierungen eines Netzwerks.
+ *
+ * Nimmt die Ausgaben der Hidden-Layer und der Output-Layer bei feedForward() auf.
+ * Wird ein Objekt wiederverwendet, entstehen beim Raten keine neuen Matrizen.
+ * ACHTUNG: Ein Objekt darf immer nur von einem Thread gleichzeitig benutzt werden.
+ *
+ * @version 17. Oktober 2026
+ */
+public class Activations {
+
+    /** Ausgaben der Hidden-Layer (HIDDEN_SIZE x Batchgröße) */
+    final Matrix hidden;
+
+    /** Ausgaben der Output-Layer (OUTPUT_SIZE x Batchgröße) */
+    final Matrix output;
+
+    /** Konstruktor
+     *
+     * @param hidden Anzahl Hidden-Layer-Neuronen
+     * @param out Anzahl Outputs
+     */
+    public Activations(int hidden, int out){
+        this(hidden, out, 1);
+    }
+
+    /** Konstruktor für Puffer, die einen ganzen Batch aufnehmen (eine Spalte pro Input).
+     *
+     * @param hidden Anzahl Hidden-Layer-Neuronen
+     * @param out Anzahl Outputs
+     * @param batch Batchgröße
+     */
+    public Activations(int hidden, int out, int batch){
+        this(new Matrix(hidden, batch), new Matrix(out, batch));
+    }
+
+    /** Konstruktor für vorhandene Matrizen (z. B. Views). */
+    Activations(Matrix hidden, Matrix output){
+        this.hidden = hidden;
+        this.output = output;
+    }
+
+    /** Gibt die Batchgröße (= Anzahl Spalten) der Puffer zurück. */
+    public int getBatchSize(){
+        return hidden.getCols();
+    }
+
+    /** Gibt Puffer zurück, die nur die ersten n Spalten benutzen (ohne Kopie).
+     *
+     * @param n Anzahl Spalten
+     * @return Puffer für n Inputs
+     */
+    Activations firstCols(int n){
+        if(n == getBatchSize()){
+            return this;
+        }
+        return new Activations(hidden.view(0, 0, hidden.getRows(), n), output.view(0, 0, output.getRows(), n));
+    }
+
+    public Matrix getHidden(){
+        return hidden;
+    }
+
+    public Matrix getOutput(){
+        return output;
+    }
+}
@@ -1,23 +1,120 @@
 package components.neuralnetwork;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /** Die Klasse stellt hardgecodete Listen bereit, die zum Darstellen des Lernfortschritts
  * in einem Diagramm verwendet werden.
  * 
+ * Ein Objekt sammelt stattdessen den Fortschritt eines echten Trainingslaufs: entweder
+ * als TrainingListener während des Trainings (siehe TrainingRun.getMetrics()) oder aus
+ * der CSV-Datei eines MetricsExporter (siehe read()).
+ * 
  * @version 13. Juli 2021
  * @author Morris Tutschku
  */
-public class ChartData {
+public class ChartData implements TrainingListener {
     
     final static double[] percentData = {5.8, 8.7, 10.5, 12.6, 15.4, 15.7, 20.4, 23.5, 25.4, 28.8, 31.1, 32.6, 33.7, 37.9, 40.6, 40.6, 44.5, 44.8, 46.6, 46.5, 51.6, 52.9, 55.1, 56.1, 56.8, 58.8, 60.2, 61.6, 63.6, 64.5, 66.5, 68.0, 68.6, 69.0, 70.9, 72.6, 73.5, 74.2, 75.1, 75.7, 76.6, 76.2, 76.9, 79.1, 79.5, 81.7, 81.8, 83.7, 84.6, 85.9, 86.6, 87.8, 88.7, 89.3};
     final static int[] epochData = {1320, 1432, 1538, 1663, 1783, 1887, 2011, 2143, 2267, 2395, 2528, 2661, 2808, 2999, 3198, 3412, 3598, 3789, 3956, 4189, 4368, 4607, 4819, 5112, 5329, 5592, 5901, 6203, 6569, 6934, 7248, 7821, 8221, 8603, 9084, 9782, 10353, 11159, 11690, 12419, 13084, 13913, 14621, 15337, 16381, 17741, 19130, 21144, 23820, 26982, 30294, 37924, 45132, 50811};
 
+    /** Genauigkeiten in % und trainierte Inputs ("Epochen") eines Laufs, gleich lang */
+    final List<Double> accuracies = new ArrayList<>();
+    final List<Long> samples = new ArrayList<>();
+
     public static void main(String[] args){
         //System.out.println(getPercentData().size());
         //System.out.println(getEpochData().size());
     }
 
+    /** Erzeugt ein Objekt mit den hardgecodeten Werten.
+     * 
+     * @return Diagrammdaten
+     */
+    public static ChartData defaults(){
+        ChartData c = new ChartData();
+        for(int i = 0; i < percentData.length; i++){
+            c.add(epochData[i], percentData[i]);
+        }
+        return c;
+    }
+
+    /** Liest den Fortschritt aus der CSV-Datei eines MetricsExporter (Spalten "samples" und "accuracy").
+     * 
+     * @param csv Datei
+     * @return Diagrammdaten oder null, wenn die Datei nicht gelesen werden kann
+     */
+    public static ChartData read(File csv){
+        try (BufferedReader in = Files.newBufferedReader(csv.toPath(), StandardCharsets.UTF_8)) {
+            String header = in.readLine();
+            if(header == null){
+                System.err.println("Metrik-Datei ist leer: " + csv);
+                return null;
+            }
+            List<String> columns = Arrays.asList(header.split(","));
+            int samplesColumn = columns.indexOf("samples");
+            int accuracyColumn = columns.indexOf("accuracy");
+            if(samplesColumn < 0 || accuracyColumn < 0){
+                System.err.println("Metrik-Datei hat keine Spalten samples und accuracy: " + csv);
+                return null;
+            }
+
+            ChartData c = new ChartData();
+            String line;
+            while((line = in.readLine()) != null){
+                String[] values = line.split(",");
+                if(values.length != columns.size()){
+                    continue;    // z.B. letzte Zeile, während noch geschrieben wird
+                }
+                c.add(Long.parseLong(values[samplesColumn]), Double.parseDouble(values[accuracyColumn]));
+            }
+            return c;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Metrik-Datei kann nicht gelesen werden: " + csv);
+            return null;
+        }
+    }
+
+    /** Fügt einen Punkt hinzu, ein zweiter Punkt mit gleich vielen Inputs wird ignoriert (z.B. am Ende des Laufs).
+     * 
+     * @param samples trainierte Inputs
+     * @param accuracy Genauigkeit in %
+     */
+    synchronized void add(long samples, double accuracy){
+        if(!this.samples.isEmpty() && this.samples.get(this.samples.size() - 1) == samples){
+            return;
+        }
+        this.samples.add(samples);
+        accuracies.add(accuracy);
+    }
+
+    @Override
+    public void onProgress(TrainingMetrics m){
+        add(m.getSamples(), m.getAccuracy());
+    }
+
+    /** Liste der Genauigkeiten (Kopie, kann während des Trainings abgefragt werden).
+     * 
+     * @return Liste
+     */
+    public synchronized ArrayList<Double> getAccuracies(){
+        return new ArrayList<>(accuracies);
+    }
+
+    /** Liste der trainierten Inputs zu getAccuracies() (Kopie).
+     * 
+     * @return Liste
+     */
+    public synchronized ArrayList<Long> getSamples(){
+        return new ArrayList<>(samples);
+    }
+
     /** Liste der Genauigkeiten des Netzwerks.
      * 
      * @return Liste
@@ -0,0 +1,154 @@
+package components.neuralnetwork;
+
+/** Ergebnis eines Genauigkeitstests (siehe Evaluator).
+ *
+ * Sammelt den absoluten Fehler, die Anzahl richtiger Vermutungen (Top-1) und die
+ * Verwechslungsmatrix. Teilergebnisse verschiedener Threads werden mit merge() zusammengeführt,
+ * es gibt also keine gemeinsamen (statischen) Zähler.
+ *
+ * @version 17. Oktober 2026
+ */
+public class Evaluation {
+
+    /** absoluter Fehler (Summe aller |geraten - erwartet|) */
+    double errorAbs = 0.0;
+
+    /** Anzahl getesteter Inputs */
+    int count = 0;
+
+    /** Anzahl Inputs, bei denen der höchste Output die richtige Kategorie ist */
+    int correct = 0;
+
+    /** confusion[erwartet][geraten] = Anzahl Inputs */
+    final int[][] confusion;
+
+    /** Konstruktor
+     *
+     * @param categories Anzahl Kategorien (= Outputs)
+     */
+    public Evaluation(int categories){
+        confusion = new int[categories][categories];
+    }
+
+    /** Wertet eine Spalte der Vermutungen gegen eine Spalte der erwarteten Outputs aus.
+     *
+     * @param guess Vermutungen (OUTPUT_SIZE x B)
+     * @param gcol Spalte in guess (beginnend bei 0)
+     * @param expected erwartete Outputs (OUTPUT_SIZE x 1)
+     */
+    void add(Matrix guess, int gcol, Matrix expected){
+        int rows = guess.getRows();
+        int guessed = 0, actual = 0;
+        double maxGuess = -1.0, maxExpected = -1.0;
+
+        for(int k = 0; k < rows; k++){
+            double g = guess.data[guess.offset + k * guess.stride + gcol];
+            double e = expected.data[expected.offset + k * expected.stride];
+            errorAbs += Math.abs(g - e);
+            // wie Matrix.getHighestValueRow(): erste Reihe mit dem höchsten Wert
+            if(g > maxGuess){
+                maxGuess = g;
+                guessed = k;
+            }
+            if(e > maxExpected){
+                maxExpected = e;
+                actual = k;
+            }
+        }
+
+        count(guessed, actual);
+    }
+
+    /** Wertet die Vermutungen eines FloatModel gegen eine Spalte der erwarteten Outputs aus.
+     *
+     * @param guess Vermutungen (Länge OUTPUT_SIZE)
+     * @param expected erwartete Outputs (OUTPUT_SIZE x 1)
+     */
+    void add(float[] guess, Matrix expected){
+        int guessed = 0, actual = 0;
+        double maxGuess = -1.0, maxExpected = -1.0;
+
+        for(int k = 0; k < guess.length; k++){
+            double g = guess[k];
+            double e = expected.data[expected.offset + k * expected.stride];
+            errorAbs += Math.abs(g - e);
+            if(g > maxGuess){
+                maxGuess = g;
+                guessed = k;
+            }
+            if(e > maxExpected){
+                maxExpected = e;
+                actual = k;
+            }
+        }
+
+        count(guessed, actual);
+    }
+
+    /** Zählt eine Vermutung in Top-1 und Verwechslungsmatrix. */
+    void count(int guessed, int actual){
+        count++;
+        if(guessed == actual) correct++;
+        confusion[actual][guessed]++;
+    }
+
+    /** Addiert ein anderes Teilergebnis zu diesem.
+     *
+     * @param e Teilergebnis
+     * @return this
+     */
+    public Evaluation merge(Evaluation e){
+        errorAbs += e.errorAbs;
+        count += e.count;
+        correct += e.correct;
+        for(int i = 0; i < confusion.length; i++){
+            for(int j = 0; j < confusion.length; j++){
+                confusion[i][j] += e.confusion[i][j];
+            }
+        }
+        return this;
+    }
+
+    public double getErrorAbs(){
+        return errorAbs;
+    }
+
+    /** Gibt den relativen Fehler (= Fehler pro Input) zurück. */
+    public double getErrorRel(){
+        return count == 0 ? 0.0 : errorAbs / count;
+    }
+
+    /** Gibt die Genauigkeit wie in NetworkStats.getCurrentAccuracy() zurück: (1 - relativer Fehler) in %. */
+    public double getAccuracy(){
+        return NetworkStats.cut((1.0 - getErrorRel()) * 100.0, 1);
+    }
+
+    /** Gibt den Anteil richtiger Vermutungen in % zurück. */
+    public double getTop1Accuracy(){
+        return count == 0 ? 0.0 : NetworkStats.cut(100.0 * correct / count, 1);
+    }
+
+    public int getCount(){
+        return count;
+    }
+
+    public int getCorrect(){
+        return correct;
+    }
+
+    /** Gibt die Verwechslungsmatrix zurück: [erwartet][geraten] = Anzahl Inputs. */
+    public int[][] getConfusion(){
+        return confusion;
+    }
+
+    /** Gibt die Verwechslungsmatrix auf der Konsole aus. */
+    public void printConfusion(){
+        for(int[] row : confusion){
+            System.out.print("[ ");
+            for(int c : row){
+                System.out.print(c + " ");
+            }
+            System.out.println("]");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package components.neuralnetwork;
+
+import java.util.stream.IntStream;
+
+import components.handler.Data;
+
+/** Parallele Auswertung eines Netzwerks auf einem Datenset.
+ *
+ * Das Datenset wird in Blöcke fester Größe geteilt, die mit einem parallelen Stream über
+ * einen unveränderlichen Model-Schnappschuss geraten werden. Jeder Block sammelt sein eigenes
+ * Evaluation-Objekt, die Blöcke werden danach in fester Reihenfolge zusammengeführt.
+ * Das Ergebnis hängt also nicht von der Anzahl der Threads ab.
+ *
+ * @version 17. Oktober 2026
+ */
+public class Evaluator {
+
+    /** Anzahl Inputs pro Block */
+    public static final int CHUNK = 256;
+
+    /** Wertet ein Model auf einem Datenset aus.
+     *
+     * Binäre Inputs werden dünn besetzt geraten (siehe SparseInput), alle anderen
+     * blockweise mit einem Matrix-Matrix-Produkt.
+     *
+     * @param model Model
+     * @param dataSet Datenset mit bekannten Outputs
+     * @return Ergebnis
+     */
+    public static Evaluation evaluate(Model model, Data[] dataSet){
+        return evaluate(model, dataSet, true);
+    }
+
+    /** Wertet ein Model auf einem Datenset aus.
+     *
+     * @param model Model
+     * @param dataSet Datenset mit bekannten Outputs
+     * @param sparse false: immer blockweise mit Matrix-Matrix-Produkten raten
+     * @return Ergebnis
+     */
+    public static Evaluation evaluate(Model model, Data[] dataSet, boolean sparse){
+        return evaluate(model.getOutputSize(), dataSet, (from, to) -> sparse && isSparse(dataSet, from, to)
+            ? evaluateSparse(model, dataSet, from, to)
+            : evaluateBatch(model, dataSet, from, to));
+    }
+
+    /** Wertet ein FloatModel auf einem Datenset aus.
+     *
+     * @param model FloatModel
+     * @param dataSet Datenset mit bekannten Outputs
+     * @return Ergebnis
+     */
+    public static Evaluation evaluate(FloatModel model, Data[] dataSet){
+        return evaluate(model.getOutputSize(), dataSet, (from, to) -> evaluateFloat(model, dataSet, from, to));
+    }
+
+    /** Wertet ein QuantizedModel auf einem Datenset aus.
+     *
+     * @param model QuantizedModel
+     * @param dataSet Datenset mit bekannten Outputs
+     * @return Ergebnis
+     */
+    public static Evaluation evaluate(QuantizedModel model, Data[] dataSet){
+        return evaluate(model.getOutputSize(), dataSet, (from, to) -> evaluateQuantized(model, dataSet, from, to));
+    }
+
+    /** Wertet einen Block dataSet[from] bis dataSet[to - 1] aus. */
+    interface ChunkScorer {
+        Evaluation score(int from, int to);
+    }
+
+    /** Teilt das Datenset in Blöcke, wertet sie parallel aus und führt sie in fester Reihenfolge zusammen. */
+    static Evaluation evaluate(int categories, Data[] dataSet, ChunkScorer scorer){
+        int chunks = (dataSet.length + CHUNK - 1) / CHUNK;
+        Evaluation[] parts = new Evaluation[chunks];
+
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * CHUNK;
+            parts[c] = scorer.score(from, Math.min(from + CHUNK, dataSet.length));
+        });
+
+        Evaluation result = new Evaluation(categories);
+        for(Evaluation e : parts){
+            result.merge(e);
+        }
+        return result;
+    }
+
+    /** Wertet ein Netzwerk mit seinen aktuellen Gewichten aus.
+     *
+     * Die Gewichte werden nicht kopiert (siehe Model.view()).
+     *
+     * @param n Netzwerk (darf währenddessen nicht trainiert werden)
+     * @param dataSet Datenset mit bekannten Outputs
+     * @return Ergebnis
+     */
+    public static Evaluation evaluate(Network n, Data[] dataSet){
+        return evaluate(Model.view(n), dataSet);
+    }
+
+    /** Gibt an, ob alle Inputs von dataSet[from] bis dataSet[to - 1] binär sind. */
+    static boolean isSparse(Data[] dataSet, int from, int to){
+        for(int i = from; i < to; i++){
+            if(dataSet[i].getSparseInputs() == null) return false;
+        }
+        return true;
+    }
+
+    /** Rät jeden Input des Blocks einzeln mit SparseInput. */
+    static Evaluation evaluateSparse(Model model, Data[] dataSet, int from, int to){
+        Evaluation e = new Evaluation(model.getOutputSize());
+        Activations act = model.newActivations();
+
+        for(int i = from; i < to; i++){
+            Matrix guess = model.predict(dataSet[i].getSparseInputs(), act);
+            e.add(guess, 0, dataSet[i].getOutputs());
+        }
+        return e;
+    }
+
+    /** Rät alle Inputs des Blocks auf einmal (INPUT_SIZE x B Inputmatrix). */
+    static Evaluation evaluateBatch(Model model, Data[] dataSet, int from, int to){
+        Evaluation e = new Evaluation(model.getOutputSize());
+        int b = to - from;
+        Matrix inputs = new Matrix(model.getInputSize(), b);
+        Activations act = new Activations(model.getHiddenSize(), model.getOutputSize(), b);
+
+        for(int i = from; i < to; i++){
+            inputs.setColumn(i - from, dataSet[i].getInputs());
+        }
+        Matrix guess = model.predict(inputs, act);
+        for(int i = from; i < to; i++){
+            e.add(guess, i - from, dataSet[i].getOutputs());
+        }
+        return e;
+    }
+
+    /** Rät jeden Input des Blocks einzeln mit dem FloatModel. */
+    static Evaluation evaluateFloat(FloatModel model, Data[] dataSet, int from, int to){
+        Evaluation e = new Evaluation(model.getOutputSize());
+        float[] input = new float[model.getInputSize()];
+        float[] hidden = new float[model.getHiddenSize()];
+        float[] output = new float[model.getOutputSize()];
+
+        for(int i = from; i < to; i++){
+            SparseInput sparse = dataSet[i].getSparseInputs();
+            float[] guess = sparse != null
+                ? model.predict(sparse, hidden, output)
+                : model.predict(FloatModel.toFloatInput(dataSet[i].getInputs(), input), hidden, output);
+            e.add(guess, dataSet[i].getOutputs());
+        }
+        return e;
+    }
+
+    /** Rät jeden Input des Blocks einzeln mit dem QuantizedModel. */
+    static Evaluation evaluateQuantized(QuantizedModel model, Data[] dataSet, int from, int to){
+        Evaluation e = new Evaluation(model.getOutputSize());
+        int[] input = new int[model.getInputSize()];
+        int[] hidden = new int[model.getHiddenSize()];
+        float[] output = new float[model.getOutputSize()];
+
+        for(int i = from; i < to; i++){
+            SparseInput sparse = dataSet[i].getSparseInputs();
+            float[] guess = sparse != null
+                ? model.predict(sparse, hidden, output)
+                : model.predict(QuantizedModel.quantizeInput(dataSet[i].getInputs(), input), hidden, output);
+            e.add(guess, dataSet[i].getOutputs());
+        }
+        return e;
+    }
+}
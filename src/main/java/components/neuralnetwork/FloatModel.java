@@ -0,0 +1,224 @@
+package components.neuralnetwork;
+
+import components.handler.Data;
+
+/** Unveränderliches Modell zum Raten mit einfacher Genauigkeit (float).
+ *
+ * Die Inputs sind nur 0/1 und die Outputs liegen nach sigmoid zwischen 0 und 1, dafür reicht
+ * float völlig aus. Die Gewichte liegen zeilenweise in flachen float-Arrays, das halbiert den
+ * Speicher (und die zu lesenden Bytes) beim 8x784-Produkt der ersten Schicht.
+ * Trainiert wird weiterhin mit double (Network), danach wird mit fromModel() umgewandelt.
+ * In der Modelldatei werden die Werte mit ModelFile.save(..., true) als float gespeichert und mit
+ * ModelFile.toFloatModel() ohne Umweg über double-Matrizen wieder geladen.
+ * Skalarprodukt und sigmoid laufen über die float-Kerne in Kernels.
+ *
+ * Wie Model ist die Klasse thread-sicher, solange jeder Thread eigene Puffer verwendet.
+ *
+ * @version 17. Oktober 2026
+ */
+public final class FloatModel {
+
+    final int INPUT_SIZE;
+    final int HIDDEN_SIZE;
+    final int OUTPUT_SIZE;
+
+    /** Gewichte und bias, jeweils zeilenweise */
+    final float[] weightsIH;
+    final float[] weightsHO;
+    final float[] biasH;
+    final float[] biasO;
+
+    /** Konstruktor, die Arrays werden nicht kopiert. */
+    FloatModel(int in, int hidden, int out, float[] weightsIH, float[] weightsHO, float[] biasH, float[] biasO){
+        this.INPUT_SIZE = in;
+        this.HIDDEN_SIZE = hidden;
+        this.OUTPUT_SIZE = out;
+        this.weightsIH = weightsIH;
+        this.weightsHO = weightsHO;
+        this.biasH = biasH;
+        this.biasO = biasO;
+    }
+
+    /** Wandelt ein Model (double) in ein FloatModel um.
+     *
+     * @param m Model
+     * @return FloatModel mit auf float gerundeten Parametern
+     */
+    public static FloatModel fromModel(Model m){
+        return new FloatModel(m.INPUT_SIZE, m.HIDDEN_SIZE, m.OUTPUT_SIZE,
+            toFloat(m.weightsIH), toFloat(m.weightsHO), toFloat(m.biasH), toFloat(m.biasO));
+    }
+
+    /** Wandelt die aktuellen Parameter eines Netzwerks in ein FloatModel um.
+     *
+     * @param n Netzwerk
+     * @return FloatModel
+     */
+    public static FloatModel fromNetwork(Network n){
+        return fromModel(n.snapshot());
+    }
+
+    /** Kopiert eine Matrix zeilenweise in ein float-Array. */
+    static float[] toFloat(Matrix m){
+        float[] out = new float[m.getRows() * m.getCols()];
+        int k = 0;
+        for(int i = 0; i < m.getRows(); i++){
+            int row = m.offset + i * m.stride;
+            for(int j = 0; j < m.getCols(); j++){
+                out[k++] = (float) m.data[row + j];
+            }
+        }
+        return out;
+    }
+
+    /** Rät die Klassifikation eines Inputs.
+     *
+     * @param input Inputs in (INPUT_SIZE x 1)-Matrix
+     * @return Klassifikation ("guess") als (OUTPUT_SIZE x 1)-Matrix
+     */
+    public Matrix predict(Matrix input){
+        float[] out = predict(toFloat(input), new float[HIDDEN_SIZE], new float[OUTPUT_SIZE]);
+        Matrix guess = new Matrix(OUTPUT_SIZE, 1);
+        for(int i = 0; i < OUTPUT_SIZE; i++){
+            guess.data[i] = out[i];
+        }
+        return guess;
+    }
+
+    /** Rät die Klassifikation eines Inputs, ohne etwas zu allozieren.
+     *
+     * @param input Inputs (Länge INPUT_SIZE)
+     * @param hidden Puffer für die Hidden-Layer (Länge HIDDEN_SIZE)
+     * @param output Puffer für die Outputs (Länge OUTPUT_SIZE)
+     * @return output
+     */
+    public float[] predict(float[] input, float[] hidden, float[] output){
+        multiplyAdd(weightsIH, biasH, input, hidden, HIDDEN_SIZE, INPUT_SIZE);
+        sigmoid(hidden);
+        return forwardHidden(hidden, output);
+    }
+
+    /** Wie predict(float[], float[], float[]), aber mit einem binären, dünn besetzten Input.
+     *
+     * @param input Input der Länge INPUT_SIZE
+     * @param hidden Puffer für die Hidden-Layer (Länge HIDDEN_SIZE)
+     * @param output Puffer für die Outputs (Länge OUTPUT_SIZE)
+     * @return output
+     */
+    public float[] predict(SparseInput input, float[] hidden, float[] output){
+        int[] idx = input.indices;
+        for(int i = 0; i < HIDDEN_SIZE; i++){
+            int row = i * INPUT_SIZE;
+            float sum = biasH[i];
+            for(int k = 0; k < idx.length; k++){
+                sum += weightsIH[row + idx[k]];
+            }
+            hidden[i] = sum;
+        }
+        sigmoid(hidden);
+        return forwardHidden(hidden, output);
+    }
+
+    /** zweite Schicht: output = sigmoid(weightsHO * hidden + biasO) */
+    float[] forwardHidden(float[] hidden, float[] output){
+        multiplyAdd(weightsHO, biasO, hidden, output, OUTPUT_SIZE, HIDDEN_SIZE);
+        sigmoid(output);
+        return output;
+    }
+
+    /** dest = w * x + bias für eine zeilenweise (rows x cols)-Matrix w.
+     *
+     * @param w Matrix
+     * @param bias bias (Länge rows)
+     * @param x Vektor (Länge cols)
+     * @param dest Ergebnis (Länge rows)
+     * @param rows Anzahl Reihen
+     * @param cols Anzahl Spalten
+     */
+    static void multiplyAdd(float[] w, float[] bias, float[] x, float[] dest, int rows, int cols){
+        for(int i = 0; i < rows; i++){
+            dest[i] = Kernels.INSTANCE.dot(bias[i], w, i * cols, x, 0, cols);
+        }
+    }
+
+    /** Wendet sigmoid elementweise auf v an (in float, siehe Kernels). */
+    static void sigmoid(float[] v){
+        Kernels.INSTANCE.sigmoid(v, 0, 0.0f, v, 0, v.length);
+    }
+
+    /** Kopiert einen Spaltenvektor in ein neues float-Array. */
+    static float[] toFloatInput(Matrix input, float[] dest){
+        for(int i = 0; i < dest.length; i++){
+            dest[i] = (float) input.data[input.offset + i * input.stride];
+        }
+        return dest;
+    }
+
+    /** Ergebnis von compare() */
+    public static final class Comparison {
+
+        final Evaluation doubleEvaluation;
+        final Evaluation floatEvaluation;
+        final double maxDiff;
+
+        Comparison(Evaluation doubleEvaluation, Evaluation floatEvaluation, double maxDiff){
+            this.doubleEvaluation = doubleEvaluation;
+            this.floatEvaluation = floatEvaluation;
+            this.maxDiff = maxDiff;
+        }
+
+        public Evaluation getDoubleEvaluation(){
+            return doubleEvaluation;
+        }
+
+        public Evaluation getFloatEvaluation(){
+            return floatEvaluation;
+        }
+
+        /** Gibt Genauigkeit (double) - Genauigkeit (float) in Prozentpunkten zurück. */
+        public double getAccuracyLoss(){
+            return doubleEvaluation.getAccuracy() - floatEvaluation.getAccuracy();
+        }
+
+        /** Gibt die größte Abweichung eines einzelnen Outputs zwischen beiden Modellen zurück. */
+        public double getMaxDiff(){
+            return maxDiff;
+        }
+    }
+
+    /** Vergleicht die Genauigkeit von double- und float-Modell auf einem Validierungsset.
+     *
+     * @param m Model (double)
+     * @param f dasselbe Modell in float (z.B. fromModel(m) oder ModelFile.toFloatModel())
+     * @param dataSet Validierungsset mit bekannten Outputs
+     * @return Auswertungen beider Modelle und größte Abweichung eines Outputs
+     */
+    public static Comparison compare(Model m, FloatModel f, Data[] dataSet){
+        Evaluation ed = Evaluator.evaluate(m, dataSet);
+        Evaluation ef = Evaluator.evaluate(f, dataSet);
+
+        double maxDiff = 0.0;
+        Activations act = m.newActivations();
+        float[] hidden = new float[f.HIDDEN_SIZE], out = new float[f.OUTPUT_SIZE], in = new float[f.INPUT_SIZE];
+        for(Data d : dataSet){
+            Matrix gd = m.predict(d.getInputs(), act);
+            float[] gf = f.predict(toFloatInput(d.getInputs(), in), hidden, out);
+            for(int k = 0; k < gf.length; k++){
+                maxDiff = Math.max(maxDiff, Math.abs(gd.data[gd.offset + k * gd.stride] - gf[k]));
+            }
+        }
+        return new Comparison(ed, ef, maxDiff);
+    }
+
+    public int getInputSize(){
+        return INPUT_SIZE;
+    }
+
+    public int getHiddenSize(){
+        return HIDDEN_SIZE;
+    }
+
+    public int getOutputSize(){
+        return OUTPUT_SIZE;
+    }
+}
@@ -0,0 +1,40 @@
+package components.neuralnetwork;
+
+/** Anpassungen der Gewichte und bias eines Netzwerks (weights_delta/bias_delta).
+ *
+ * Wird benutzt, wenn die Anpassungen erst berechnet und später (z. B. nach dem Zusammenführen
+ * mehrerer Threads) angewendet werden, siehe Network.computeGradients() und Network.applyGradients().
+ *
+ * @version 17. Oktober 2026
+ */
+public class Gradients {
+
+    final Matrix weightsIH;
+    final Matrix weightsHO;
+    final Matrix biasH;
+    final Matrix biasO;
+
+    /** Konstruktor
+     *
+     * @param in Anzahl Inputs
+     * @param hidden Anzahl Hidden-Layer-Neuronen
+     * @param out Anzahl Outputs
+     */
+    public Gradients(int in, int hidden, int out){
+        weightsIH = new Matrix(hidden, in);
+        weightsHO = new Matrix(out, hidden);
+        biasH = new Matrix(hidden, 1);
+        biasO = new Matrix(out, 1);
+    }
+
+    /** Addiert andere Anpassungen auf diese: this += g.
+     *
+     * @param g Anpassungen
+     */
+    public void add(Gradients g){
+        Matrix.addInPlace(weightsIH, g.weightsIH);
+        Matrix.addInPlace(weightsHO, g.weightsHO);
+        Matrix.addInPlace(biasH, g.biasH);
+        Matrix.addInPlace(biasO, g.biasO);
+    }
+}
@@ -0,0 +1,147 @@
+package components.neuralnetwork;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import components.handler.Data;
+
+/** Asynchrones Training nach dem "Hogwild"-Prinzip.
+ *
+ * Mehrere Threads rufen gleichzeitig und ohne Locks Network.train() auf und schreiben ihre
+ * Anpassungen direkt in die gemeinsamen Gewichts-Arrays. Da die Bild-Inputs fast nur aus Nullen
+ * bestehen, passt ein Schritt nur wenige Spalten von weightsIH an (siehe SparseInput),
+ * gleichzeitige Schritte kommen sich also selten in die Quere. Gehen dabei einzelne Anpassungen
+ * verloren, lernt das Netzwerk trotzdem weiter.
+ *
+ * Ein Aufruf von train() lässt alle Threads gleichzeitig ohne Pause durch ihre Inputs laufen,
+ * TrainingRun ruft es einmal pro Abschnitt zwischen zwei Genauigkeitstests auf. Nur dort warten
+ * die Threads aufeinander, nicht nach jedem Input.
+ *
+ * ACHTUNG: Das Ergebnis ist nicht reproduzierbar, da es von der Thread-Verteilung abhängt.
+ *
+ * @version 17. Oktober 2026
+ */
+public class HogwildTrainer {
+
+    /** zu trainierendes Netzwerk */
+    final Network network;
+
+    /** Anzahl Threads */
+    final int threads;
+
+    /** Threads, die über mehrere Aufrufe von train() wiederverwendet werden */
+    final ExecutorService executor;
+
+    /** Zwischenspeicher und Zufallszahlen pro Thread */
+    final TrainingWorkspace[] workspaces;
+    final Random[] randoms;
+
+    /** trainierte Inputs pro Thread, aufsummiert über alle Aufrufe */
+    final long[] samples;
+
+    /** Wanduhrzeit (ns) aller Aufrufe von train(), vom gemeinsamen Start bis der letzte Thread fertig ist */
+    long wallNanos = 0;
+
+    /** Konstruktor
+     *
+     * @param network Netzwerk
+     * @param threads Anzahl Threads
+     * @param seed Startwert für die Auswahl der Trainingsdaten (0 = zufällig)
+     */
+    public HogwildTrainer(Network network, int threads, long seed){
+        if(threads <= 0){
+            System.err.println("Anzahl Threads muss positiv sein.");
+            threads = 1;
+        }
+
+        this.network = network;
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads);
+        workspaces = new TrainingWorkspace[threads];
+        randoms = new Random[threads];
+        samples = new long[threads];
+        for(int t = 0; t < threads; t++){
+            workspaces[t] = network.newWorkspace();
+            randoms[t] = seed == 0 ? new Random() : new Random(seed + t);
+        }
+    }
+
+    /** Jeder Thread trainiert das Netzwerk ohne Unterbrechung mit count zufälligen Inputs aus dataSet.
+     *
+     * Die Threads starten gemeinsam, der Aufruf kehrt zurück, wenn alle fertig sind.
+     *
+     * @param dataSet Datenset mit bekannten Outputs
+     * @param count Anzahl Inputs pro Thread
+     */
+    public void train(Data[] dataSet, long count){
+        CountDownLatch go = new CountDownLatch(1);
+        Future<?>[] futures = new Future<?>[threads];
+        for(int t = 0; t < threads; t++){
+            final int id = t;
+            futures[t] = executor.submit(() -> {
+                go.await();
+                run(id, dataSet, count);
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        go.countDown();
+        try {
+            for(Future<?> f : futures){
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Fehler beim Trainieren: " + e.getCause());
+        }
+        wallNanos += System.nanoTime() - start;
+    }
+
+    /** Trainingsschleife eines Threads. */
+    void run(int id, Data[] dataSet, long count){
+        TrainingWorkspace ws = workspaces[id];
+        Random r = randoms[id];
+
+        for(long i = 0; i < count; i++){
+            Data d = dataSet[r.nextInt(dataSet.length)];
+            network.train(d, ws);
+        }
+        samples[id] += count;
+    }
+
+    /** Gibt die trainierten Inputs pro Sekunde für jeden Thread zurück.
+     *
+     * Gemessen über die Wanduhrzeit aller Aufrufe von train(), das Warten auf die anderen Threads
+     * am Ende eines Aufrufs zählt also mit. Die Summe über alle Threads ist der tatsächliche Durchsatz.
+     *
+     * @return Inputs/Sekunde pro Thread
+     */
+    public double[] getSamplesPerSecond(){
+        double[] out = new double[threads];
+        for(int t = 0; t < threads; t++){
+            out[t] = wallNanos == 0 ? 0.0 : samples[t] / (wallNanos / 1e9);
+        }
+        return out;
+    }
+
+    /** Misst die Laufzeiten der Durchläufe aller Threads (siehe TrainingWorkspace.setMetrics()).
+     *
+     * @param m Ziel der Messungen, null = nicht mehr messen
+     */
+    public void setMetrics(TrainingMetrics m){
+        for(TrainingWorkspace ws : workspaces){
+            ws.setMetrics(m);
+        }
+    }
+
+    /** Beendet die Threads des Trainers. */
+    public void shutdown(){
+        executor.shutdown();
+    }
+}
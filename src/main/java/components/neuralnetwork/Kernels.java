@@ -0,0 +1,253 @@
+package components.neuralnetwork;
+
+import java.util.Random;
+
+/** Rechenkerne für die inneren Schleifen von Matrix, Network und FloatModel.
+ *
+ * Alle Kerne arbeiten auf einem zusammenhängenden Abschnitt eines double-Arrays (Array, Offset, Länge),
+ * dot und sigmoid gibt es zusätzlich für float-Arrays (FloatModel).
+ * Standardmäßig werden die skalaren Schleifen verwendet. VectorKernels liegt in einem eigenen
+ * Source Set (src/vector, nur mit gradle -Pvector gebaut). Ist die Klasse vorhanden und beim Start das
+ * Modul jdk.incubator.vector geladen (java --add-modules jdk.incubator.vector ...), werden stattdessen
+ * die SIMD-Kerne verwendet, sofern sie den Vergleich mit den skalaren Kernen bestehen (siehe verify()).
+ * Mit -Dmontagsmaler.simd=false bleibt es bei den skalaren Kernen.
+ *
+ * @version 17. Oktober 2026
+ */
+abstract class Kernels {
+
+    /** erlaubte relative Abweichung zwischen SIMD- und skalaren Kernen */
+    static final double TOLERANCE = 1e-12;
+
+    /** erlaubte relative Abweichung der float-Kerne */
+    static final double FLOAT_TOLERANCE = 1e-5;
+
+    /** aktive Kerne */
+    static final Kernels INSTANCE = select();
+
+    /** y[yo..] += a * x[xo..] */
+    abstract void axpy(double a, double[] x, int xo, double[] y, int yo, int n);
+
+    /** Gibt s + Summe von x[xo + k] * y[yo + k] zurück. */
+    abstract double dot(double s, double[] x, int xo, double[] y, int yo, int n);
+
+    /** Mikrokern für das gekachelte Matrixprodukt (siehe Matrix.multiplyAddTiled()).
+     *
+     * Für 4 Reihen r von d und alle Spalten j < nc: d[r][j] += Summe über p < kc von a[r][p] * panel[p][j],
+     * aufsummiert in der Reihenfolge von p.
+     *
+     * @param a Array von a, a[r][p] liegt bei ao + r * as + p
+     * @param panel gepackter Block von b, panel[p][j] liegt bei p * nc + j
+     * @param d Array von dest, d[r][j] liegt bei dOff + r * ds + j
+     */
+    abstract void gemm4(double[] a, int ao, int as, double[] panel, int nc, int kc, double[] d, int dOff, int ds);
+
+    /** d[do..] = a[ao..] * b[bo..] (elementar) */
+    abstract void mul(double[] a, int ao, double[] b, int bo, double[] d, int dOff, int n);
+
+    /** d[do..] = a[ao..] + b[bo..] */
+    abstract void add(double[] a, int ao, double[] b, int bo, double[] d, int dOff, int n);
+
+    /** d[do..] = sigmoid(x[xo..] + bias) */
+    abstract void sigmoid(double[] x, int xo, double bias, double[] d, int dOff, int n);
+
+    /** Gibt s + Summe von x[xo + k] * y[yo + k] zurück (float). */
+    abstract float dot(float s, float[] x, int xo, float[] y, int yo, int n);
+
+    /** d[do..] = sigmoid(x[xo..] + bias) (float), x und d dürfen dasselbe Array sein */
+    abstract void sigmoid(float[] x, int xo, float bias, float[] d, int dOff, int n);
+
+    /** Gibt den Namen der Kerne zurück (für Ausgaben). */
+    abstract String getName();
+
+    /** Wählt beim Laden der Klasse die Kerne aus. */
+    static Kernels select(){
+        Kernels scalar = new ScalarKernels();
+        if("false".equals(System.getProperty("montagsmaler.simd"))) return scalar;
+
+        Kernels vector = loadVector();
+        if(vector == null) return scalar;
+        if(!verify(vector, scalar)){
+            System.err.println("SIMD-Kerne weichen von den skalaren Kernen ab und werden nicht verwendet.");
+            return scalar;
+        }
+        return vector;
+    }
+
+    /** Lädt die SIMD-Kerne, falls vorhanden.
+     *
+     * @return VectorKernels oder null, wenn die Klasse nicht gebaut wurde oder das Modul fehlt
+     */
+    static Kernels loadVector(){
+        if(!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) return null;
+        try {
+            // per Reflection, damit ohne das Modul keine Klasse daraus geladen wird
+            return (Kernels) Class.forName("components.neuralnetwork.VectorKernels").getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;    // ohne -Pvector gebaut
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("SIMD-Kerne konnten nicht geladen werden: " + e);
+            return null;
+        }
+    }
+
+    /** Vergleicht zwei Implementierungen auf zufälligen Daten verschiedener Länge.
+     *
+     * @param test zu prüfende Kerne
+     * @param ref Referenz (skalar)
+     * @return true, wenn alle Ergebnisse innerhalb von TOLERANCE übereinstimmen
+     */
+    static boolean verify(Kernels test, Kernels ref){
+        Random r = new Random(1);
+        for(int n : new int[] {1, 3, 8, 17, 64, 785}){
+            double[] a = random(r, n + 2), b = random(r, n + 2);
+            double alpha = r.nextGaussian();
+
+            double[] y1 = random(r, n + 1), y2 = y1.clone();
+            test.axpy(alpha, a, 1, y1, 1, n);
+            ref.axpy(alpha, a, 1, y2, 1, n);
+            if(!close(y1, y2)) return false;
+
+            if(!close(test.dot(alpha, a, 2, b, 1, n), ref.dot(alpha, a, 2, b, 1, n), n)) return false;
+
+            double[] d1 = new double[n], d2 = new double[n];
+            test.mul(a, 1, b, 2, d1, 0, n);
+            ref.mul(a, 1, b, 2, d2, 0, n);
+            if(!close(d1, d2)) return false;
+
+            test.add(a, 2, b, 0, d1, 0, n);
+            ref.add(a, 2, b, 0, d2, 0, n);
+            if(!close(d1, d2)) return false;
+
+            int kc = 5;
+            double[] ga = random(r, 4 * kc + 1), panel = random(r, kc * n);
+            double[] g1 = random(r, 4 * n + 2), g2 = g1.clone();
+            test.gemm4(ga, 1, kc, panel, n, kc, g1, 2, n);
+            ref.gemm4(ga, 1, kc, panel, n, kc, g2, 2, n);
+            if(!close(g1, g2)) return false;
+
+            test.sigmoid(a, 1, alpha, d1, 0, n);
+            ref.sigmoid(a, 1, alpha, d2, 0, n);
+            if(!close(d1, d2)) return false;
+
+            float[] fa = toFloat(a), fb = toFloat(b);
+            float fs = (float) alpha;
+            if(!closeFloat(test.dot(fs, fa, 2, fb, 1, n), ref.dot(fs, fa, 2, fb, 1, n), n)) return false;
+
+            float[] f1 = new float[n], f2 = new float[n];
+            test.sigmoid(fa, 1, fs, f1, 0, n);
+            ref.sigmoid(fa, 1, fs, f2, 0, n);
+            for(int j = 0; j < n; j++){
+                if(!closeFloat(f1[j], f2[j], 1)) return false;
+            }
+        }
+        return true;
+    }
+
+    static float[] toFloat(double[] x){
+        float[] out = new float[x.length];
+        for(int i = 0; i < x.length; i++){
+            out[i] = (float) x[i];
+        }
+        return out;
+    }
+
+    static double[] random(Random r, int n){
+        double[] out = new double[n];
+        for(int i = 0; i < n; i++){
+            out[i] = r.nextGaussian() * 4.0;
+        }
+        return out;
+    }
+
+    static boolean close(double[] x, double[] y){
+        for(int i = 0; i < x.length; i++){
+            if(!close(x[i], y[i], 1)) return false;
+        }
+        return true;
+    }
+
+    /** Vergleich mit Toleranz, die mit der Anzahl der aufsummierten Werte wächst. */
+    static boolean close(double x, double y, int terms){
+        return Math.abs(x - y) <= TOLERANCE * terms * Math.max(1.0, Math.max(Math.abs(x), Math.abs(y)));
+    }
+
+    /** wie close(double, double, int) mit FLOAT_TOLERANCE */
+    static boolean closeFloat(float x, float y, int terms){
+        return Math.abs(x - y) <= FLOAT_TOLERANCE * terms * Math.max(1.0f, Math.max(Math.abs(x), Math.abs(y)));
+    }
+
+    /** Die ursprünglichen, skalaren Schleifen. */
+    static class ScalarKernels extends Kernels {
+
+        void axpy(double a, double[] x, int xo, double[] y, int yo, int n){
+            for(int j = 0; j < n; j++){
+                y[yo + j] += a * x[xo + j];
+            }
+        }
+
+        double dot(double s, double[] x, int xo, double[] y, int yo, int n){
+            for(int j = 0; j < n; j++){
+                s += x[xo + j] * y[yo + j];
+            }
+            return s;
+        }
+
+        void gemm4(double[] a, int ao, int as, double[] panel, int nc, int kc, double[] d, int dOff, int ds){
+            int d0 = dOff, d1 = dOff + ds, d2 = dOff + 2 * ds, d3 = dOff + 3 * ds;
+            // jede gepackte Reihe von b wird einmal gelesen und auf alle 4 Reihen von d verteilt
+            for(int p = 0; p < kc; p++){
+                double x0 = a[ao + p], x1 = a[ao + as + p], x2 = a[ao + 2 * as + p], x3 = a[ao + 3 * as + p];
+                int bp = p * nc;
+                for(int j = 0; j < nc; j++){
+                    double b = panel[bp + j];
+                    d[d0 + j] += x0 * b;
+                    d[d1 + j] += x1 * b;
+                    d[d2 + j] += x2 * b;
+                    d[d3 + j] += x3 * b;
+                }
+            }
+        }
+
+        void mul(double[] a, int ao, double[] b, int bo, double[] d, int dOff, int n){
+            for(int j = 0; j < n; j++){
+                d[dOff + j] = a[ao + j] * b[bo + j];
+            }
+        }
+
+        void add(double[] a, int ao, double[] b, int bo, double[] d, int dOff, int n){
+            for(int j = 0; j < n; j++){
+                d[dOff + j] = a[ao + j] + b[bo + j];
+            }
+        }
+
+        void sigmoid(double[] x, int xo, double bias, double[] d, int dOff, int n){
+            for(int j = 0; j < n; j++){
+                d[dOff + j] = Network.sigmoid(x[xo + j] + bias);
+            }
+        }
+
+        float dot(float s, float[] x, int xo, float[] y, int yo, int n){
+            for(int j = 0; j < n; j++){
+                s += x[xo + j] * y[yo + j];
+            }
+            return s;
+        }
+
+        void sigmoid(float[] x, int xo, float bias, float[] d, int dOff, int n){
+            for(int j = 0; j < n; j++){
+                d[dOff + j] = sigmoid(x[xo + j] + bias);
+            }
+        }
+
+        /** sigmoid in float: es gibt kein float-exp in Math, aber Math.exp() ist ein Intrinsic
+         * und das Ergebnis wird sofort gerundet, gerechnet wird sonst nur in float. */
+        static float sigmoid(float x){
+            return 1.0f / (1.0f + (float) Math.exp(-x));
+        }
+
+        String getName(){
+            return "skalar";
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package components.neuralnetwork;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Histogramm für Laufzeiten in Nanosekunden (nach dem Vorbild von HdrHistogram).
+ *
+ * Werte unter 128 ns werden exakt gezählt, darüber teilt jede Zweierpotenz ihren Bereich in
+ * 64 gleich breite Eimer. Der relative Fehler eines Perzentils ist damit höchstens etwa 1.6%,
+ * bei konstantem Speicher und ohne Allokationen beim Eintragen. Mehrere Threads dürfen
+ * gleichzeitig eintragen.
+ *
+ * @version 17. Oktober 2026
+ */
+public class LatencyHistogram {
+
+    /** Eimer pro Zweierpotenz = 2^SUB_BITS */
+    final static int SUB_BITS = 6;
+    final static int SUB = 1 << SUB_BITS;
+
+    /** größter unterscheidbarer Wert (2^40 ns, etwa 18 Minuten), größere Werte zählen hier */
+    final static long MAX_VALUE = (1L << 40) - 1;
+
+    /** Anzahl Werte pro Eimer */
+    final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+
+    final AtomicLong count = new AtomicLong();
+    final AtomicLong sum = new AtomicLong();
+    final AtomicLong max = new AtomicLong();
+
+    /** Trägt eine Laufzeit ein.
+     *
+     * @param nanos Laufzeit in Nanosekunden
+     */
+    public void record(long nanos){
+        long v = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts.incrementAndGet(index(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    /** Eimer eines Werts. */
+    static int index(long v){
+        if(v < 2 * SUB) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        return shift * SUB + (int) (v >>> shift);
+    }
+
+    /** größter Wert, der im selben Eimer wie idx landet */
+    static long highestValue(int idx){
+        if(idx < 2 * SUB) return idx;
+        int shift = idx / SUB - 1;
+        long lowest = (long) (idx - shift * SUB) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /** Gibt die Anzahl eingetragener Werte zurück. */
+    public long getCount(){
+        return count.get();
+    }
+
+    /** Gibt den Mittelwert in Nanosekunden zurück (0 ohne Werte). */
+    public double getMean(){
+        long c = count.get();
+        return c == 0 ? 0.0 : (double) sum.get() / c;
+    }
+
+    /** Gibt den größten Wert in Nanosekunden zurück. */
+    public long getMax(){
+        return max.get();
+    }
+
+    /** Gibt ein Perzentil in Nanosekunden zurück.
+     *
+     * @param percentile Perzentil zwischen 0 und 100 (z.B. 50 = Median, 99)
+     * @return Wert, unter dem mindestens percentile% der Werte liegen (0 ohne Werte)
+     */
+    public long getPercentile(double percentile){
+        if(percentile < 0 || percentile > 100){
+            System.err.println("Perzentil muss zwischen 0 und 100 liegen.");
+            return 0;
+        }
+        long c = count.get();
+        if(c == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * c));
+        long seen = 0;
+        for(int i = 0; i < counts.length(); i++){
+            seen += counts.get(i);
+            if(seen >= target){
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /** Setzt das Histogramm zurück. */
+    public void reset(){
+        for(int i = 0; i < counts.length(); i++){
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
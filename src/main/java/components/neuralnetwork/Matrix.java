@@ -14,7 +14,14 @@ public class Matrix {
     int rows;
     int cols;
 
-    double data[][];
+    /** Matrixeinträge zeilenweise (row-major) in einem zusammenhängenden Array */
+    double[] data;
+
+    /** Index des Eintrags [0, 0] in data */
+    int offset;
+
+    /** Abstand zweier Reihen in data (bei Views ggf. größer als cols) */
+    int stride;
 
 
     /** Konstruktor
@@ -33,26 +40,46 @@ public class Matrix {
 
         this.rows = rows;
         this.cols = cols;
-        data = new double[rows][cols];
-
-        for(int i = 0; i < rows; i++){
-            for(int j = 0; j < cols; j++){
-                data[i][j] = 0.0;
-            }
-        }
-
+        this.stride = cols;
+        data = new double[rows * cols];
     }
 
     /** Konstruktor
      * 
-     * Matrix wird durch eine 2D-Array initialisiert.
+     * Matrix wird durch eine 2D-Array initialisiert. Die Werte werden in den
+     * internen Speicher kopiert.
      * 
      * @param data Datenarray
      */
     public Matrix(double[][] data){
-        rows = data.length;
-        cols = data[0].length;
+        this(data.length, data[0].length);
+        setData(data);
+    }
+
+    /** Konstruktor
+     * 
+     * Matrix wird direkt auf einem zeilenweise (row-major) belegten Array aufgesetzt.
+     * Das Array wird nicht kopiert.
+     * 
+     * @param rows Anzahl Reihen
+     * @param cols Anzahl Spalten
+     * @param data Datenarray der Länge rows * cols
+     * @throws IllegalArgumentException wenn data nicht rows * cols Einträge hat
+     */
+    public Matrix(int rows, int cols, double[] data){
+        this(data, 0, cols, rows, cols);
+        if(rows < 0 || cols < 0 || data.length != rows * cols){
+            throw new IllegalArgumentException("double[] data hat die falsche Länge (" + data.length + " statt " + rows + " * " + cols + ").");
+        }
+    }
+
+    /** Konstruktor für Views, die sich den Speicher mit einer anderen Matrix teilen. */
+    Matrix(double[] data, int offset, int stride, int rows, int cols){
         this.data = data;
+        this.offset = offset;
+        this.stride = stride;
+        this.rows = rows;
+        this.cols = cols;
     }
 
     // Getter/Setter
@@ -65,10 +92,43 @@ public class Matrix {
         return cols;
     }
 
+    /** Gibt die Matrixeinträge als 2D-Array zurück.
+     * 
+     * ACHTUNG: Langsamer Kompatibilitätspfad! Das Array ist eine Kopie,
+     * Änderungen daran wirken sich nicht auf die Matrix aus.
+     * 
+     * @return Kopie der Einträge
+     */
     public double[][] getData(){
+        double[][] out = new double[rows][cols];
+        for(int i = 0; i < rows; i++){
+            System.arraycopy(data, offset + i * stride, out[i], 0, cols);
+        }
+        return out;
+    }
+
+    /** Gibt das interne, zeilenweise belegte Array zurück (ohne Kopie).
+     * 
+     * Bei Views beginnt die Matrix an getOffset() und Reihen liegen getStride() auseinander.
+     * 
+     * @return internes Array
+     */
+    public double[] getArray(){
         return data;
     }
 
+    public int getOffset(){
+        return offset;
+    }
+
+    public int getStride(){
+        return stride;
+    }
+
+    /** Gibt an, ob die Einträge lückenlos ab getOffset() im internen Array liegen. */
+    public boolean isContiguous(){
+        return stride == cols || rows <= 1;
+    }
     
     /** Setzt die Matrixeinträge auf bestimmte Werte.
      * 
@@ -81,13 +141,14 @@ public class Matrix {
         }
 
         for(int i = 0; i < rows; i++){
-            for(int j = 0; j < cols; j++){
-                this.data[i][j] = data[i][j];
-            }
+            System.arraycopy(data[i], 0, this.data, offset + i * stride, cols);
         }
     }
 
     /** Ändert den Wert der Matrix an Stelle [row, col].
+     * 
+     * Positionen beginnen hier bei 1. Reihe oder Spalte 0 ist wie bisher ein
+     * ArrayIndexOutOfBoundsException (und schreibt nicht in die Reihe davor).
      * 
      * @param row Reihe
      * @param col Spalte
@@ -98,8 +159,11 @@ public class Matrix {
             System.err.println("Ungültige Position.");
             return;
         }
+        if(row == 0 || col == 0){
+            throw new ArrayIndexOutOfBoundsException("Position [" + row + ", " + col + "], setValue() beginnt bei 1.");
+        }
 
-        data[row-1][col-1] = value;
+        data[offset + (row-1) * stride + col-1] = value;
     }
     
     /** Überprüft ob die übergeben Positionen (row, col) in der Größe der Matrix liegen
@@ -112,11 +176,33 @@ public class Matrix {
         if(row < 0 || col < 0 || row > getRows() || col > getCols()){
             System.err.println("Ungültige Position.");
             return 0.0;
+        } else if(row == getRows() || col == getCols()){
+            throw new ArrayIndexOutOfBoundsException("Position [" + row + ", " + col + "], getValue() beginnt bei 0.");
         } else {
-            return this.data[row][col];
+            return this.data[offset + row * stride + col];
         }
     }
 
+    /** Gibt einen rechteckigen Ausschnitt der Matrix zurück, ohne Daten zu kopieren.
+     * 
+     * Änderungen am Ausschnitt wirken sich auf diese Matrix aus (und umgekehrt).
+     * Positionen beginnen hier wie bei getValue() bei 0.
+     * 
+     * @param row erste Reihe
+     * @param col erste Spalte
+     * @param rows Anzahl Reihen
+     * @param cols Anzahl Spalten
+     * @return View auf den Ausschnitt
+     */
+    public Matrix view(int row, int col, int rows, int cols){
+        if(row < 0 || col < 0 || rows < 0 || cols < 0 || row + rows > this.rows || col + cols > this.cols){
+            System.err.println("Ungültiger Ausschnitt.");
+            return new Matrix(0,0);
+        }
+
+        return new Matrix(data, offset + row * stride + col, stride, rows, cols);
+    }
+
     /**
      * Scannt die Matrix nach dem höchsten enthaltenen Wert ab.
      * Gibt den Reihenindex der ersten vorkommenden Instanz des höchsten Wertes zurück.
@@ -128,10 +214,11 @@ public class Matrix {
         double currentMax = -1.0;
         int row = 0;
         for (int i = 0; i < getRows(); i++) {
+            int base = offset + i * stride;
             for (int j = 0; j < getCols(); j++) {
-                if (this.data[i][j] > currentMax) {
+                if (this.data[base + j] > currentMax) {
                     row = i;
-                    currentMax = this.data[i][j];
+                    currentMax = this.data[base + j];
                 }
             }
         }
@@ -159,7 +246,7 @@ public class Matrix {
      * @return der höchste Wert in der Matrix
      */
     public double getHighestValue() {
-        return this.data[getHighestValueRow()][getHighestValueCol()];
+        return getValue(getHighestValueRow(), getHighestValueCol());
     }
 
 
@@ -169,7 +256,7 @@ public class Matrix {
         for(int i = 0; i < rows; i++){
             System.out.print("[ ");
             for(int j = 0; j < cols; j++){
-                System.out.print(data[i][j] + " ");
+                System.out.print(data[offset + i * stride + j] + " ");
             }
             System.out.println("]");
         }
@@ -180,12 +267,74 @@ public class Matrix {
         Random r = new Random();
         for(int i = 0; i < rows; i++){
             for(int j = 0; j < cols; j++){
-                data[i][j] = r.nextDouble() * 2.0 - 1.0;
+                data[offset + i * stride + j] = r.nextDouble() * 2.0 - 1.0;
+            }
+        }
+    }
+
+    /** Setzt alle Einträge der Matrix auf einen Wert.
+     * 
+     * @param value Wert
+     */
+    public void fill(double value){
+        for(int i = 0; i < rows; i++){
+            int base = offset + i * stride;
+            for(int j = 0; j < cols; j++){
+                data[base + j] = value;
             }
         }
     }
 
+    /** Kopiert die Einträge einer gleich großen Matrix in diese Matrix.
+     * 
+     * @param m Quelle
+     */
+    public void copyFrom(Matrix m){
+        if(!sameSize(this, m, "Kopieren")) return;
+
+        for(int i = 0; i < rows; i++){
+            System.arraycopy(m.data, m.offset + i * m.stride, data, offset + i * stride, cols);
+        }
+    }
+
+    /** Kopiert einen Spaltenvektor in eine Spalte dieser Matrix.
+     * 
+     * @param col Spalte (beginnend bei 0)
+     * @param column Spaltenvektor (getRows() x 1)
+     */
+    public void setColumn(int col, Matrix column){
+        if(col < 0 || col >= cols || column.getRows() != rows || column.getCols() != 1){
+            System.err.println("Spalte passt nicht in die Matrix.");
+            return;
+        }
+
+        for(int i = 0; i < rows; i++){
+            data[offset + i * stride + col] = column.data[column.offset + i * column.stride];
+        }
+    }
+
+    /** Überprüft, ob zwei Matrizen die gleiche Größe haben, und meldet sonst einen Fehler.
+     * 
+     * @param a Matrix 1
+     * @param b Matrix 2
+     * @param op Name der Operation (für die Fehlermeldung)
+     * @return true wenn gleich groß
+     */
+    static boolean sameSize(Matrix a, Matrix b, String op){
+        if(a.getRows() != b.getRows() || a.getCols() != b.getCols()){
+            System.err.println(op + " nicht möglich. (Beide Matrizen müssen die gleiche Größe haben)");
+            return false;
+        }
+        return true;
+    }
+
     // Rechenoperationen
+    //
+    // Jede Operation gibt es in drei Varianten:
+    //  - op(a, b)            erzeugt eine neue Ergebnismatrix
+    //  - opInto(a, b, dest)  schreibt das Ergebnis in eine vorhandene Matrix dest und gibt dest zurück
+    //  - opInPlace(a, b)     überschreibt a mit dem Ergebnis (wo sinnvoll)
+    // Die Into- und InPlace-Varianten allozieren nichts und sind für wiederverwendete Puffer gedacht.
 
     /** Multipliziert zwei Matrizen.
      * 
@@ -199,20 +348,295 @@ public class Matrix {
             return new Matrix(0,0);
         }
 
-        Matrix m = new Matrix(a.getRows(), b.getCols());
+        return multiplyInto(a, b, new Matrix(a.getRows(), b.getCols()));
+    }
 
-        for(int i = 0; i < m.getRows(); i++){
-            for(int j = 0; j < m.getCols(); j++){
-                double value = 0.0;
-                for(int k = 0; k < b.getRows(); k++){
-                    value += a.getData()[i][k] * b.getData()[k][j];
+    /** Multipliziert zwei Matrizen und schreibt das Ergebnis in dest.
+     * 
+     * dest darf weder a noch b sein (bzw. sich den Speicher mit ihnen teilen).
+     * 
+     * @param a Matrix 1
+     * @param b Matrix 2
+     * @param dest Ergebnismatrix (a.getRows() x b.getCols())
+     * @return dest = Matrix 1 * Matrix 2
+     */
+    public static Matrix multiplyInto(Matrix a, Matrix b, Matrix dest){
+        dest.fill(0.0);
+        return multiplyAddInto(a, b, dest);
+    }
+
+    /** Multipliziert zwei Matrizen und addiert das Ergebnis auf dest: dest += a * b.
+     * 
+     * Spart z. B. beim Anpassen der Gewichte die Zwischenmatrix für weights_delta.
+     * dest darf weder a noch b sein (bzw. sich den Speicher mit ihnen teilen).
+     * 
+     * @param a Matrix 1
+     * @param b Matrix 2
+     * @param dest Matrix, auf die addiert wird (a.getRows() x b.getCols())
+     * @return dest
+     */
+    public static Matrix multiplyAddInto(Matrix a, Matrix b, Matrix dest){
+        if(a.getCols() != b.getRows()){
+            System.err.println("Multiplikation nicht möglich. (Spalten a != Reihen b)");
+            return dest;
+        }
+        if(dest.getRows() != a.getRows() || dest.getCols() != b.getCols()){
+            System.err.println("Zielmatrix hat die falsche Größe.");
+            return dest;
+        }
+
+        double[] ad = a.data, bd = b.data, md = dest.data;
+        int n = dest.getCols();
+        int inner = a.getCols();
+        Kernels kernels = Kernels.INSTANCE;
+
+        // Matrix * Spaltenvektor: Skalarprodukt jeder Reihe von a mit b
+        if(n == 1 && (b.stride == 1 || inner == 1)){
+            for(int i = 0; i < dest.getRows(); i++){
+                int mi = dest.offset + i * dest.stride;
+                md[mi] = kernels.dot(md[mi], ad, a.offset + i * a.stride, bd, b.offset, inner);
+            }
+            return dest;
+        }
+
+        if(dest.getRows() >= TILE_ROWS && (long) inner * n >= TILE_MIN){
+            return multiplyAddTiled(a, b, dest);
+        }
+
+        // i-k-j-Reihenfolge: die innerste Schleife läuft zeilenweise durch b und dest
+        for(int i = 0; i < dest.getRows(); i++){
+            int mi = dest.offset + i * dest.stride;
+            int ai = a.offset + i * a.stride;
+            for(int k = 0; k < inner; k++){
+                kernels.axpy(ad[ai + k], bd, b.offset + k * b.stride, md, mi, n);
+            }
+        }
+
+        return dest;
+    }
+
+    /** Reihen von b pro Block beim gekachelten Produkt */
+    static final int KC = 128;
+
+    /** Spalten von b pro Block beim gekachelten Produkt */
+    static final int NC = 256;
+
+    /** Reihen von dest, die der Mikrokern gleichzeitig berechnet (siehe Kernels.gemm4()) */
+    static final int TILE_ROWS = 4;
+
+    /** ab dieser Größe von b (Reihen * Spalten) wird gekachelt */
+    static final long TILE_MIN = 16384;
+
+    /** Puffer für einen gepackten Block von b, pro Thread */
+    static final ThreadLocal<double[]> PANEL = ThreadLocal.withInitial(() -> new double[KC * NC]);
+
+    /** dest += a * b, in Blöcken von KC x NC.
+     * 
+     * Jeder Block von b wird zusammenhängend in einen Puffer kopiert ("gepackt"), damit er im Cache
+     * bleibt, während alle Reihen von a daran vorbeilaufen. Der Mikrokern hält dabei je 4 Reihen von
+     * dest in Registern. Jeder Eintrag von dest wird weiterhin in der Reihenfolge von k aufsummiert,
+     * das Ergebnis ist also dasselbe wie in der einfachen Schleife.
+     */
+    static Matrix multiplyAddTiled(Matrix a, Matrix b, Matrix dest){
+        double[] panel = PANEL.get();
+        Kernels kernels = Kernels.INSTANCE;
+        int m = dest.getRows(), n = dest.getCols(), inner = a.getCols();
+
+        for(int jj = 0; jj < n; jj += NC){
+            int nc = Math.min(NC, n - jj);
+            for(int kk = 0; kk < inner; kk += KC){
+                int kc = Math.min(KC, inner - kk);
+
+                // Block von b packen: kc Reihen mit je nc Einträgen hintereinander
+                for(int p = 0; p < kc; p++){
+                    System.arraycopy(b.data, b.offset + (kk + p) * b.stride + jj, panel, p * nc, nc);
                 }
 
-                m.setValue(i+1, j+1, value);
+                int i = 0;
+                for(; i + TILE_ROWS <= m; i += TILE_ROWS){
+                    kernels.gemm4(a.data, a.offset + i * a.stride + kk, a.stride, panel, nc, kc,
+                        dest.data, dest.offset + i * dest.stride + jj, dest.stride);
+                }
+                for(; i < m; i++){
+                    int ai = a.offset + i * a.stride + kk;
+                    int mi = dest.offset + i * dest.stride + jj;
+                    for(int p = 0; p < kc; p++){
+                        kernels.axpy(a.data[ai + p], panel, p * nc, dest.data, mi, nc);
+                    }
+                }
             }
         }
 
-        return m;
+        return dest;
+    }
+
+    /** Multipliziert das Transponierte von a mit b und addiert das Ergebnis auf dest: dest += a_transponiert * b.
+     * 
+     * a wird dabei nicht transponiert (kein Zwischenspeicher nötig).
+     * dest darf weder a noch b sein (bzw. sich den Speicher mit ihnen teilen).
+     * 
+     * @param a Matrix 1 (k x m)
+     * @param b Matrix 2 (k x n)
+     * @param dest Matrix, auf die addiert wird (m x n)
+     * @return dest
+     */
+    public static Matrix multiplyTransposeAAddInto(Matrix a, Matrix b, Matrix dest){
+        if(a.getRows() != b.getRows()){
+            System.err.println("Multiplikation nicht möglich. (Reihen a != Reihen b)");
+            return dest;
+        }
+        if(dest.getRows() != a.getCols() || dest.getCols() != b.getCols()){
+            System.err.println("Zielmatrix hat die falsche Größe.");
+            return dest;
+        }
+
+        Kernels kernels = Kernels.INSTANCE;
+        int n = dest.getCols();
+        // p-i-j-Reihenfolge: Reihe p von a verteilt sich mit Reihe p von b auf alle Reihen von dest
+        for(int p = 0; p < a.getRows(); p++){
+            int ap = a.offset + p * a.stride;
+            int bp = b.offset + p * b.stride;
+            for(int i = 0; i < dest.getRows(); i++){
+                kernels.axpy(a.data[ap + i], b.data, bp, dest.data, dest.offset + i * dest.stride, n);
+            }
+        }
+
+        return dest;
+    }
+
+    /** Multipliziert a mit dem Transponierten von b und addiert das Ergebnis auf dest: dest += a * b_transponiert.
+     * 
+     * Jeder Eintrag von dest ist das Skalarprodukt einer Reihe von a mit einer Reihe von b,
+     * beide liegen zusammenhängend im Speicher. b wird nicht transponiert.
+     * dest darf weder a noch b sein (bzw. sich den Speicher mit ihnen teilen).
+     * 
+     * @param a Matrix 1 (m x k)
+     * @param b Matrix 2 (n x k)
+     * @param dest Matrix, auf die addiert wird (m x n)
+     * @return dest
+     */
+    public static Matrix multiplyTransposeBAddInto(Matrix a, Matrix b, Matrix dest){
+        if(a.getCols() != b.getCols()){
+            System.err.println("Multiplikation nicht möglich. (Spalten a != Spalten b)");
+            return dest;
+        }
+        if(dest.getRows() != a.getRows() || dest.getCols() != b.getRows()){
+            System.err.println("Zielmatrix hat die falsche Größe.");
+            return dest;
+        }
+
+        Kernels kernels = Kernels.INSTANCE;
+        int inner = a.getCols();
+        // j außen: Reihe j von b bleibt für alle Reihen von a im Cache
+        for(int j = 0; j < dest.getCols(); j++){
+            int bj = b.offset + j * b.stride;
+            for(int i = 0; i < dest.getRows(); i++){
+                int mij = dest.offset + i * dest.stride + j;
+                dest.data[mij] = kernels.dot(dest.data[mij], a.data, a.offset + i * a.stride, b.data, bj, inner);
+            }
+        }
+
+        return dest;
+    }
+
+    /** Wie multiplyTransposeBAddInto(), überschreibt dest aber: dest = a * b_transponiert.
+     * 
+     * @param a Matrix 1 (m x k)
+     * @param b Matrix 2 (n x k)
+     * @param dest Ergebnismatrix (m x n)
+     * @return dest
+     */
+    public static Matrix multiplyTransposeBInto(Matrix a, Matrix b, Matrix dest){
+        dest.fill(0.0);
+        return multiplyTransposeBAddInto(a, b, dest);
+    }
+
+    /** Addiert das Produkt einer Spalte a und einer Reihe b auf dest: dest += a * b.
+     * 
+     * b darf auch als Spalte übergeben werden und wird dann als Reihe gelesen (ohne zu transponieren).
+     * Spalten von dest, deren Eintrag in b 0 ist, werden weder gelesen noch geschrieben.
+     * Bei den (meist leeren) Bild-Inputs wird so nur ein kleiner Teil der Gewichte angefasst.
+     * 
+     * @param a Spalte (m x 1)
+     * @param b Reihe (1 x n) oder Spalte (n x 1)
+     * @param dest Matrix, auf die addiert wird (m x n)
+     * @return dest
+     */
+    public static Matrix addOuterProduct(Matrix a, Matrix b, Matrix dest){
+        boolean row = b.getRows() == 1;
+        int n = row ? b.getCols() : b.getRows();
+        if(a.getCols() != 1 || (!row && b.getCols() != 1) || dest.getRows() != a.getRows() || dest.getCols() != n){
+            System.err.println("Zielmatrix hat die falsche Größe.");
+            return dest;
+        }
+
+        int step = row ? 1 : b.stride;
+        for(int j = 0; j < n; j++){
+            double bj = b.data[b.offset + j * step];
+            if(bj == 0.0) continue;
+            for(int i = 0; i < a.getRows(); i++){
+                dest.data[dest.offset + i * dest.stride + j] += a.data[a.offset + i * a.stride] * bj;
+            }
+        }
+
+        return dest;
+    }
+
+    /** Multipliziert eine Matrix mit einem binären, dünn besetzten Input: dest = a * x.
+     * 
+     * Da jeder Eintrag von x 0 oder 1 ist, werden nur die Spalten von a zu gesetzten Einträgen
+     * aufsummiert, ohne eine einzige Multiplikation.
+     * 
+     * @param a Matrix (m x n)
+     * @param x Input der Länge n
+     * @param dest Ergebnisspalte (m x 1)
+     * @return dest
+     */
+    public static Matrix multiplyInto(Matrix a, SparseInput x, Matrix dest){
+        if(a.getCols() != x.getSize() || dest.getRows() != a.getRows() || dest.getCols() != 1){
+            System.err.println("Multiplikation nicht möglich. (Spalten a != Länge x)");
+            return dest;
+        }
+
+        int[] idx = x.indices;
+        for(int i = 0; i < a.getRows(); i++){
+            int ai = a.offset + i * a.stride;
+            double sum = 0.0;
+            for(int k = 0; k < idx.length; k++){
+                sum += a.data[ai + idx[k]];
+            }
+            dest.data[dest.offset + i * dest.stride] = sum;
+        }
+
+        return dest;
+    }
+
+    /** Addiert das Produkt einer Spalte a und eines binären, dünn besetzten Inputs x (als Reihe) auf dest:
+     * dest += a * x_transponiert.
+     * 
+     * Es werden nur die Spalten von dest zu gesetzten Einträgen von x angepasst (jeweils + a).
+     * 
+     * @param a Spalte (m x 1)
+     * @param x Input der Länge n
+     * @param dest Matrix, auf die addiert wird (m x n)
+     * @return dest
+     */
+    public static Matrix addOuterProduct(Matrix a, SparseInput x, Matrix dest){
+        if(a.getCols() != 1 || dest.getRows() != a.getRows() || dest.getCols() != x.getSize()){
+            System.err.println("Zielmatrix hat die falsche Größe.");
+            return dest;
+        }
+
+        int[] idx = x.indices;
+        for(int i = 0; i < a.getRows(); i++){
+            int di = dest.offset + i * dest.stride;
+            double ai = a.data[a.offset + i * a.stride];
+            for(int k = 0; k < idx.length; k++){
+                dest.data[di + idx[k]] += ai;
+            }
+        }
+
+        return dest;
     }
 
     /** Multipliziert zwei Matrizen elementar: (a,b) * (c,d) = (a*c,b*d).
@@ -222,21 +646,43 @@ public class Matrix {
      * @return Matrix 1 * Matrix 2 (elementar)
      */
     public static Matrix multiplyElement(Matrix a, Matrix b){
-        if(a.getRows() != b.getRows() || a.getCols() != b.getCols()){
-            System.err.println("Multiplikation nicht möglich. (Beide Matrizen müssen die gleiche Größe haben)");
-            return new Matrix(0,0);
-        }
+        if(!sameSize(a, b, "Multiplikation")) return new Matrix(0,0);
 
-        Matrix m = new Matrix(a.getRows(), b.getCols());
+        return multiplyElementInto(a, b, new Matrix(a.getRows(), b.getCols()));
+    }
 
-        for(int i = 0; i < m.getRows(); i++){
-            for(int j = 0; j < m.getCols(); j++){
-                
-                m.setValue(i+1, j+1, a.getData()[i][j] * b.getData()[i][j]);
-            }
+    /** Multipliziert zwei Matrizen elementar und schreibt das Ergebnis in dest.
+     * 
+     * dest darf auch a oder b sein.
+     * 
+     * @param a Matrix 1
+     * @param b Matrix 2
+     * @param dest Ergebnismatrix
+     * @return dest = Matrix 1 * Matrix 2 (elementar)
+     */
+    public static Matrix multiplyElementInto(Matrix a, Matrix b, Matrix dest){
+        if(!sameSize(a, b, "Multiplikation") || !sameSize(a, dest, "Multiplikation")) return dest;
+
+        if(a.isContiguous() && b.isContiguous() && dest.isContiguous()){
+            Kernels.INSTANCE.mul(a.data, a.offset, b.data, b.offset, dest.data, dest.offset, dest.rows * dest.cols);
+            return dest;
         }
 
-        return m;
+        for(int i = 0; i < dest.getRows(); i++){
+            Kernels.INSTANCE.mul(a.data, a.offset + i * a.stride, b.data, b.offset + i * b.stride, dest.data, dest.offset + i * dest.stride, dest.getCols());
+        }
+
+        return dest;
+    }
+
+    /** Multipliziert a elementar mit b und überschreibt a: a = a * b (elementar).
+     * 
+     * @param a Matrix 1 (wird überschrieben)
+     * @param b Matrix 2
+     * @return a
+     */
+    public static Matrix multiplyElementInPlace(Matrix a, Matrix b){
+        return multiplyElementInto(a, b, a);
     }
 
     /**
@@ -248,39 +694,85 @@ public class Matrix {
      * @return Matrix, welche sich aus der Addition von m1 und m2 zusammensetzt
      */
     public static Matrix add(Matrix m1, Matrix m2){
-        double m1Data[][] = m1.getData();
-        double m2Data[][] = m2.getData();
-        
-        if((m1.getRows() != m2.getRows()) || (m1.getCols() != m2.getCols())){
-            System.err.println("Matrizen haben nicht die gleiche Größe.");
-        }
-            
-        int sizeCols = m1.getCols();
-        int sizeRows = m1.getRows();
+        return addInto(m1, m2, new Matrix(m1.getRows(), m1.getCols()));
+    }
 
+    /** Addiert zwei Matrizen und schreibt das Ergebnis in dest.
+     * 
+     * dest darf auch m1 oder m2 sein.
+     * 
+     * @param m1 Summand 1
+     * @param m2 Summand 2
+     * @param dest Ergebnismatrix
+     * @return dest = m1 + m2
+     */
+    public static Matrix addInto(Matrix m1, Matrix m2, Matrix dest){
+        if(!sameSize(m1, m2, "Addition") || !sameSize(m1, dest, "Addition")) return dest;
 
-        double addedData[][] = new double[sizeRows][sizeCols];
+        if(m1.isContiguous() && m2.isContiguous() && dest.isContiguous()){
+            Kernels.INSTANCE.add(m1.data, m1.offset, m2.data, m2.offset, dest.data, dest.offset, dest.rows * dest.cols);
+            return dest;
+        }
 
-        for(int i = 0; i < sizeRows; i++){
-            for(int j = 0; j < sizeCols; j++){
-                addedData[i][j] = m1Data[i][j] + m2Data[i][j]; 
-            }
+        for(int i = 0; i < m1.getRows(); i++){
+            Kernels.INSTANCE.add(m1.data, m1.offset + i * m1.stride, m2.data, m2.offset + i * m2.stride, dest.data, dest.offset + i * dest.stride, m1.getCols());
         }
 
-        Matrix addMatrix = new Matrix(addedData);
-        return addMatrix;
+        return dest;
     }
 
-    /** Subtrahiert Matrix m2 von m1.
+    /** Addiert m2 auf m1: m1 += m2.
      * 
-     * Hier wird nur das Negative der Matrix m2 zu m1 addiert: m1 - m2 = m1 + (-1) * m2.
+     * @param m1 Matrix (wird überschrieben)
+     * @param m2 Summand
+     * @return m1
+     */
+    public static Matrix addInPlace(Matrix m1, Matrix m2){
+        return addInto(m1, m2, m1);
+    }
+
+    /** Subtrahiert Matrix m2 von m1.
      * 
      * @param m1 Minuend
      * @param m2 Subtrahend
      * @return m1 - m2
      */
     public static Matrix subtract(Matrix m1, Matrix m2){
-        return Matrix.add(m1, Matrix.scale(m2, -1));
+        return subtractInto(m1, m2, new Matrix(m1.getRows(), m1.getCols()));
+    }
+
+    /** Subtrahiert Matrix m2 von m1 und schreibt das Ergebnis in dest.
+     * 
+     * dest darf auch m1 oder m2 sein.
+     * 
+     * @param m1 Minuend
+     * @param m2 Subtrahend
+     * @param dest Ergebnismatrix
+     * @return dest = m1 - m2
+     */
+    public static Matrix subtractInto(Matrix m1, Matrix m2, Matrix dest){
+        if(!sameSize(m1, m2, "Subtraktion") || !sameSize(m1, dest, "Subtraktion")) return dest;
+
+        for(int i = 0; i < m1.getRows(); i++){
+            int i1 = m1.offset + i * m1.stride;
+            int i2 = m2.offset + i * m2.stride;
+            int io = dest.offset + i * dest.stride;
+            for(int j = 0; j < m1.getCols(); j++){
+                dest.data[io + j] = m1.data[i1 + j] - m2.data[i2 + j]; 
+            }
+        }
+
+        return dest;
+    }
+
+    /** Subtrahiert m2 von m1: m1 -= m2.
+     * 
+     * @param m1 Matrix (wird überschrieben)
+     * @param m2 Subtrahend
+     * @return m1
+     */
+    public static Matrix subtractInPlace(Matrix m1, Matrix m2){
+        return subtractInto(m1, m2, m1);
     }
 
     /** Multipliziert jeden Eintrag einer Matrix mit einem Faktor.
@@ -290,15 +782,87 @@ public class Matrix {
      * @return skalierte Matrix
      */
     public static Matrix scale(Matrix m, double factor){
-        Matrix out = new Matrix(m.getRows(), m.getCols());
+        return scaleInto(m, factor, new Matrix(m.getRows(), m.getCols()));
+    }
+
+    /** Multipliziert jeden Eintrag einer Matrix mit einem Faktor und schreibt das Ergebnis in dest.
+     * 
+     * dest darf auch m sein.
+     * 
+     * @param m Matrix
+     * @param factor Skalierfaktor
+     * @param dest Ergebnismatrix
+     * @return dest = factor * m
+     */
+    public static Matrix scaleInto(Matrix m, double factor, Matrix dest){
+        if(!sameSize(m, dest, "Skalieren")) return dest;
 
         for(int i = 0; i < m.getRows(); i++){
+            int mi = m.offset + i * m.stride;
+            int oi = dest.offset + i * dest.stride;
             for(int j = 0; j < m.getCols(); j++){
-                out.setValue(i+1, j+1, m.getData()[i][j] * factor);
+                dest.data[oi + j] = m.data[mi + j] * factor;
             }
         }
 
-        return out;
+        return dest;
+    }
+
+    /** Multipliziert jeden Eintrag einer Matrix mit einem Faktor: m *= factor.
+     * 
+     * @param m Matrix (wird überschrieben)
+     * @param factor Skalierfaktor
+     * @return m
+     */
+    public static Matrix scaleInPlace(Matrix m, double factor){
+        return scaleInto(m, factor, m);
+    }
+
+    /** Addiert das Vielfache einer Matrix auf eine andere: y += alpha * x.
+     * 
+     * Fasst scale() und add() in einem Durchlauf ohne Zwischenmatrix zusammen.
+     * 
+     * @param alpha Faktor
+     * @param x Matrix
+     * @param y Matrix, auf die addiert wird (wird überschrieben)
+     * @return y
+     */
+    public static Matrix axpy(double alpha, Matrix x, Matrix y){
+        if(!sameSize(x, y, "Addition")) return y;
+
+        for(int i = 0; i < x.getRows(); i++){
+            int xi = x.offset + i * x.stride;
+            int yi = y.offset + i * y.stride;
+            for(int j = 0; j < x.getCols(); j++){
+                y.data[yi + j] += alpha * x.data[xi + j];
+            }
+        }
+
+        return y;
+    }
+
+    /** Summiert jede Reihe einer Matrix auf und schreibt die Summen in dest.
+     * 
+     * @param m Matrix
+     * @param dest Ergebnisspalte (m.getRows() x 1)
+     * @return dest
+     */
+    public static Matrix rowSumInto(Matrix m, Matrix dest){
+        if(dest.getRows() != m.getRows() || dest.getCols() != 1){
+            System.err.println("Zielmatrix hat die falsche Größe.");
+            return dest;
+        }
+
+        for(int i = 0; i < m.getRows(); i++){
+            int mi = m.offset + i * m.stride;
+            double sum = 0.0;
+            for(int j = 0; j < m.getCols(); j++){
+                sum += m.data[mi + j];
+            }
+            dest.data[dest.offset + i * dest.stride] = sum;
+        }
+
+        return dest;
     }
 
     /** Transponiert eine Matrix.
@@ -307,32 +871,45 @@ public class Matrix {
      * @return transponierte Matrix
      */
     public static Matrix transpose(Matrix m){
-        Matrix out = new Matrix(m.getCols(), m.getRows()); 
+        return transposeInto(m, new Matrix(m.getCols(), m.getRows()));
+    }
+
+    /** Transponiert eine Matrix und schreibt das Ergebnis in dest.
+     * 
+     * dest darf nicht m sein (bzw. sich den Speicher mit m teilen).
+     * 
+     * @param m Matrix
+     * @param dest Ergebnismatrix (m.getCols() x m.getRows())
+     * @return dest = m transponiert
+     */
+    public static Matrix transposeInto(Matrix m, Matrix dest){
+        if(dest.getRows() != m.getCols() || dest.getCols() != m.getRows()){
+            System.err.println("Zielmatrix hat die falsche Größe.");
+            return dest;
+        }
         
         for(int i = 0; i < m.getRows(); i++){
+            int mi = m.offset + i * m.stride;
             for(int j = 0; j < m.getCols(); j++){
-                out.setValue(j+1, i+1, m.getData()[i][j]);
+                dest.data[dest.offset + j * dest.stride + i] = m.data[mi + j];
             }
         }
 
-        return out;
+        return dest;
     }
 
     /** Konvertiert eine n x n Matrix in eine n^2 x 1 Matrix.
+     * 
+     * Die Reihen werden nacheinander in die Spalte geschrieben.
      * 
      * @param in Eingabematrix
      * @return konvertierte Matrix
      */
     public static Matrix toSingleColumn(Matrix in){
         Matrix m = new Matrix(in.getRows() * in.getCols(), 1);
-        int counter = 0;
         
-        for(int x = 0; x < in.getCols(); x++){
-            for(int y = 0; y < in.getRows(); y++){
-                counter++;
-                m.setValue(counter, 1, in.getData()[x][y]);
-            }
-            
+        for(int x = 0; x < in.getRows(); x++){
+            System.arraycopy(in.data, in.offset + x * in.stride, m.data, x * in.getCols(), in.getCols());
         }
         
         return m;
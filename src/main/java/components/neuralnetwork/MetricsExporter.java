@@ -0,0 +1,123 @@
+package components.neuralnetwork;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/** Schreibt den Fortschritt eines Trainingslaufs zeilenweise als CSV oder JSON Lines.
+ *
+ * Pro Genauigkeitstest und am Ende des Laufs wird eine Zeile geschrieben und sofort
+ * geflusht, damit ein Diagramm oder Dashboard die Datei während des Trainings mitlesen kann.
+ * Latenzen sind in Mikrosekunden, Allokationsrate in Bytes/Sekunde, GC-Zeit in ms.
+ *
+ * @version 17. Oktober 2026
+ */
+public class MetricsExporter implements TrainingListener {
+
+    /** Ausgabeformat */
+    public enum Format { CSV, JSON }
+
+    /** Spalten der CSV-Ausgabe und Schlüssel der JSON-Ausgabe */
+    final static String[] COLUMNS = {
+        "seconds", "samples", "steps", "samplesPerSecond", "trainingSamplesPerSecond",
+        "accuracy", "top1Accuracy", "errorAbs", "estimatedAccuracy",
+        "forwardP50Us", "forwardP99Us", "backwardP50Us", "backwardP99Us",
+        "evalSeconds", "allocBytesPerSecond", "gcMillis", "finished"
+    };
+
+    final Writer out;
+    final Format format;
+    boolean headerWritten = false;
+
+    /** Konstruktor
+     *
+     * @param out Ziel (wird nicht geschlossen, siehe close())
+     * @param format CSV oder JSON
+     */
+    public MetricsExporter(Writer out, Format format){
+        this.out = out;
+        this.format = format;
+    }
+
+    /** Öffnet eine Datei als Ziel (wird überschrieben).
+     *
+     * @param file Datei
+     * @param format CSV oder JSON
+     * @return Exporter oder null, wenn die Datei nicht geöffnet werden kann
+     */
+    public static MetricsExporter open(File file, Format format){
+        try {
+            Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+            return new MetricsExporter(w, format);
+        } catch (IOException e) {
+            System.err.println("Metrik-Datei kann nicht geöffnet werden: " + file);
+            return null;
+        }
+    }
+
+    @Override
+    public void onProgress(TrainingMetrics m){
+        write(m, false);
+    }
+
+    @Override
+    public void onFinish(TrainingMetrics m){
+        write(m, true);
+    }
+
+    /** Schließt das Ziel. */
+    public void close(){
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Metrik-Datei kann nicht geschlossen werden.");
+        }
+    }
+
+    /** Schreibt eine Zeile. */
+    synchronized void write(TrainingMetrics m, boolean finished){
+        Object[] values = values(m, finished);
+        StringBuilder sb = new StringBuilder();
+        if(format == Format.CSV){
+            if(!headerWritten){
+                sb.append(String.join(",", COLUMNS)).append('\n');
+                headerWritten = true;
+            }
+            for(int i = 0; i < values.length; i++){
+                if(i > 0) sb.append(',');
+                sb.append(values[i]);
+            }
+        } else {
+            sb.append('{');
+            for(int i = 0; i < values.length; i++){
+                if(i > 0) sb.append(',');
+                sb.append('"').append(COLUMNS[i]).append("\":").append(values[i]);
+            }
+            sb.append('}');
+        }
+        sb.append('\n');
+
+        try {
+            out.write(sb.toString());
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Metriken können nicht geschrieben werden: " + e.getMessage());
+        }
+    }
+
+    /** Werte einer Zeile in der Reihenfolge von COLUMNS */
+    static Object[] values(TrainingMetrics m, boolean finished){
+        LatencyHistogram f = m.getForwardLatency();
+        LatencyHistogram b = m.getBackwardLatency();
+        return new Object[] {
+            m.getElapsedSeconds(), m.getSamples(), m.getSteps(), m.getSamplesPerSecond(), m.getTrainingSamplesPerSecond(),
+            m.getAccuracy(), m.getTop1Accuracy(), m.getErrorAbs(), m.getEstimatedAccuracy(),
+            f.getPercentile(50) / 1e3, f.getPercentile(99) / 1e3, b.getPercentile(50) / 1e3, b.getPercentile(99) / 1e3,
+            m.getEvalSeconds(), m.getAllocationRate(), m.getGcMillis(), finished
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package components.neuralnetwork;
+
+/** Unveränderlicher Schnappschuss der Parameter eines Netzwerks zum Raten.
+ *
+ * Die Gewichte und bias werden beim Erzeugen kopiert und danach nie wieder verändert.
+ * predict() speichert keine Zwischenergebnisse im Objekt und darf deshalb von beliebig
+ * vielen Threads gleichzeitig aufgerufen werden, ohne die Gewichte pro Thread zu duplizieren.
+ *
+ * @version 17. Oktober 2026
+ */
+public final class Model {
+
+    /** Anzahl Inputs */
+    final int INPUT_SIZE;
+
+    /** Anzahl Neuronen in der Hidden-Layer */
+    final int HIDDEN_SIZE;
+
+    /** Anzahl Outputs (= Anzahl mögl. Klassifikationen) */
+    final int OUTPUT_SIZE;
+
+    final Matrix weightsIH;
+    final Matrix weightsHO;
+    final Matrix biasH;
+    final Matrix biasO;
+
+    /** Konstruktor
+     *
+     * Die übergebenen Matrizen werden kopiert.
+     *
+     * @param biasH HL-bias-Matrix
+     * @param biasO Output-bias-Matrix
+     * @param weightsIH HL-Gewichtsmatrix
+     * @param weightsHO Output-Gewichtsmatrix
+     */
+    public Model(Matrix biasH, Matrix biasO, Matrix weightsIH, Matrix weightsHO){
+        this.INPUT_SIZE = weightsIH.getCols();
+        this.HIDDEN_SIZE = weightsIH.getRows();
+        this.OUTPUT_SIZE = weightsHO.getRows();
+        this.biasH = copy(biasH);
+        this.biasO = copy(biasO);
+        this.weightsIH = copy(weightsIH);
+        this.weightsHO = copy(weightsHO);
+    }
+
+    /** Konstruktor ohne Kopie, siehe view(). */
+    private Model(Matrix biasH, Matrix biasO, Matrix weightsIH, Matrix weightsHO, boolean copy){
+        this.INPUT_SIZE = weightsIH.getCols();
+        this.HIDDEN_SIZE = weightsIH.getRows();
+        this.OUTPUT_SIZE = weightsHO.getRows();
+        this.biasH = copy ? copy(biasH) : biasH;
+        this.biasO = copy ? copy(biasO) : biasO;
+        this.weightsIH = copy ? copy(weightsIH) : weightsIH;
+        this.weightsHO = copy ? copy(weightsHO) : weightsHO;
+    }
+
+    /** Model direkt auf den aktuellen Gewichten eines Netzwerks, ohne sie zu kopieren.
+     *
+     * Nur gültig, solange das Netzwerk nicht trainiert wird (z.B. für einen Genauigkeitstest
+     * zwischen zwei Trainingsschritten, siehe Evaluator.evaluate(Network, Data[])).
+     *
+     * @param n Netzwerk
+     * @return Model, das sich die Gewichte mit n teilt
+     */
+    static Model view(Network n){
+        return new Model(n.biasH, n.biasO, n.weightsIH, n.weightsHO, false);
+    }
+
+    /** Kopiert eine Matrix in neuen Speicher. */
+    static Matrix copy(Matrix m){
+        Matrix out = new Matrix(m.getRows(), m.getCols());
+        out.copyFrom(m);
+        return out;
+    }
+
+    /** Rät die Klassifikation eines Inputs.
+     *
+     * Thread-sicher. Pro Aufruf werden nur die kleinen Aktivierungspuffer erzeugt.
+     *
+     * @param input Inputs in (INPUT_SIZE x 1)-Matrix
+     * @return Klassifikation ("guess")
+     */
+    public Matrix predict(Matrix input){
+        return predict(input, newActivations());
+    }
+
+    /** Rät die Klassifikation eines Inputs, ohne etwas zu allozieren.
+     *
+     * Thread-sicher, solange jeder Thread eigene Puffer verwendet.
+     *
+     * @param input Inputs in (INPUT_SIZE x 1)-Matrix
+     * @param act Puffer für die Aktivierungen (siehe newActivations())
+     * @return Klassifikation ("guess"), entspricht act.getOutput()
+     */
+    public Matrix predict(Matrix input, Activations act){
+        return Network.forward(weightsIH, biasH, weightsHO, biasO, input, act);
+    }
+
+    /** Wie predict(Matrix, Activations), aber mit einem binären, dünn besetzten Input.
+     *
+     * @param input Input der Länge INPUT_SIZE
+     * @param act Puffer für die Aktivierungen (siehe newActivations())
+     * @return Klassifikation ("guess"), entspricht act.getOutput()
+     */
+    public Matrix predict(SparseInput input, Activations act){
+        return Network.forward(weightsIH, biasH, weightsHO, biasO, input, act);
+    }
+
+    /** Erzeugt Puffer für die Aktivierungen, passend zur Architektur.
+     *
+     * @return Puffer für predict(Matrix, Activations)
+     */
+    public Activations newActivations(){
+        return new Activations(HIDDEN_SIZE, OUTPUT_SIZE);
+    }
+
+    public int getInputSize(){
+        return INPUT_SIZE;
+    }
+
+    public int getHiddenSize(){
+        return HIDDEN_SIZE;
+    }
+
+    public int getOutputSize(){
+        return OUTPUT_SIZE;
+    }
+
+    // Getter geben Kopien zurück, damit der Schnappschuss unveränderlich bleibt
+
+    public Matrix getWeightsIH(){
+        return copy(weightsIH);
+    }
+
+    public Matrix getWeightsHO(){
+        return copy(weightsHO);
+    }
+
+    public Matrix getBiasH(){
+        return copy(biasH);
+    }
+
+    public Matrix getBiasO(){
+        return copy(biasO);
+    }
+}
@@ -0,0 +1,493 @@
+package components.neuralnetwork;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/** Binäres Dateiformat für die Parameter eines trainierten Netzwerks.
+ *
+ * Ersetzt den generierten setValue()-Code (siehe PreTrained, PreTrained5C): ein neues Modell
+ * muss nicht mehr kompiliert werden, und beim Laden werden die Gewichte blockweise aus dem
+ * Puffer gelesen statt über tausende einzelne Methodenaufrufe.
+ *
+ * Aufbau (alles little-endian):
+ *   4 Byte   MAGIC "MMNN"
+ *   int      VERSION
+ *   int      Bytes pro Wert (8 = double, 4 = float, 1 = int8, siehe QuantizedModel)
+ *   int      INPUT_SIZE, HIDDEN_SIZE, OUTPUT_SIZE
+ *   int      Anzahl Kategorien, danach pro Kategorie: int Länge + UTF-8-Bytes
+ *   Werte    biasH, biasO, weightsIH, weightsHO (jeweils zeilenweise)
+ *
+ * Bei int8 stehen statt der Werte: float hiddenMax, float biasH, biasO, float scaleIH, scaleHO
+ * und danach die int8-Gewichte weightsIH, weightsHO (jeweils zeilenweise).
+ *
+ * @version 17. Oktober 2026
+ */
+public class ModelFile {
+
+    /** Kennung am Dateianfang */
+    static final byte[] MAGIC = {'M', 'M', 'N', 'N'};
+
+    /** aktuelle Version des Formats */
+    static final int VERSION = 1;
+
+    /** Länge des Headers bis einschließlich der Anzahl Kategorien in Byte */
+    static final int HEADER_SIZE = 4 + 4 * 6;
+
+    final int INPUT_SIZE;
+    final int HIDDEN_SIZE;
+    final int OUTPUT_SIZE;
+
+    /** Namen der Kategorien, in der Reihenfolge der Outputs */
+    final String[] categories;
+
+    final Matrix biasH;
+    final Matrix biasO;
+    final Matrix weightsIH;
+    final Matrix weightsHO;
+
+    /** quantisiertes Modell aus einer int8-Datei, sonst null */
+    final QuantizedModel quantized;
+
+    /** Konstruktor
+     *
+     * @param categories Namen der Kategorien
+     * @param biasH HL-bias-Matrix
+     * @param biasO Output-bias-Matrix
+     * @param weightsIH HL-Gewichtsmatrix
+     * @param weightsHO Output-Gewichtsmatrix
+     */
+    ModelFile(String[] categories, Matrix biasH, Matrix biasO, Matrix weightsIH, Matrix weightsHO){
+        this.INPUT_SIZE = weightsIH.getCols();
+        this.HIDDEN_SIZE = weightsIH.getRows();
+        this.OUTPUT_SIZE = weightsHO.getRows();
+        this.categories = categories;
+        this.biasH = biasH;
+        this.biasO = biasO;
+        this.weightsIH = weightsIH;
+        this.weightsHO = weightsHO;
+        this.quantized = null;
+    }
+
+    /** Konstruktor für ein quantisiertes Modell, die Matrizen enthalten die dequantisierten Werte.
+     *
+     * @param categories Namen der Kategorien
+     * @param q quantisiertes Modell
+     */
+    ModelFile(String[] categories, QuantizedModel q){
+        this.INPUT_SIZE = q.INPUT_SIZE;
+        this.HIDDEN_SIZE = q.HIDDEN_SIZE;
+        this.OUTPUT_SIZE = q.OUTPUT_SIZE;
+        this.categories = categories;
+        this.biasH = QuantizedModel.toMatrix(q.biasH);
+        this.biasO = QuantizedModel.toMatrix(q.biasO);
+        this.weightsIH = QuantizedModel.dequantize(q.weightsIH, q.scaleIH, q.HIDDEN_SIZE, q.INPUT_SIZE);
+        this.weightsHO = QuantizedModel.dequantize(q.weightsHO, q.scaleHO, q.OUTPUT_SIZE, q.HIDDEN_SIZE);
+        this.quantized = q;
+    }
+
+    /** Speichert die Parameter eines Netzwerks in einer Datei.
+     *
+     * Geschrieben wird zuerst in eine temporäre Datei im selben Verzeichnis, die dann in einem Schritt
+     * umbenannt wird. Wer die Datei liest oder das Verzeichnis überwacht (siehe ModelRegistry),
+     * sieht also nie eine halb geschriebene Datei.
+     *
+     * @param n Netzwerk
+     * @param categories Namen der Kategorien (Länge = Anzahl Outputs)
+     * @param file Zieldatei
+     * @param useFloat Werte als float statt double speichern (halbe Dateigröße)
+     * @return true, wenn die Datei geschrieben wurde
+     */
+    public static boolean save(Network n, String[] categories, File file, boolean useFloat){
+        if(categories.length != n.getWeightsHO().getRows()){
+            System.err.println("Anzahl Kategorien stimmt nicht mit den Outputs überein.");
+            return false;
+        }
+
+        ByteBuffer buf = encode(new ModelFile(categories, n.getBiasH(), n.getBiasO(), n.getWeightsIH(), n.getWeightsHO()), useFloat);
+        return write(buf, file);
+    }
+
+    /** Speichert ein quantisiertes Modell in einer Datei (ca. 8x kleiner als mit double).
+     *
+     * Geschrieben wird wie bei save(Network, ...) über eine temporäre Datei.
+     *
+     * @param q quantisiertes Modell
+     * @param categories Namen der Kategorien (Länge = Anzahl Outputs)
+     * @param file Zieldatei
+     * @return true, wenn die Datei geschrieben wurde
+     */
+    public static boolean save(QuantizedModel q, String[] categories, File file){
+        if(categories.length != q.OUTPUT_SIZE){
+            System.err.println("Anzahl Kategorien stimmt nicht mit den Outputs überein.");
+            return false;
+        }
+        return write(encode(categories, q), file);
+    }
+
+    /** Schreibt einen Puffer über eine temporäre Datei und atomares Umbenennen in eine Datei.
+     *
+     * @param buf Inhalt (von position bis limit)
+     * @param file Zieldatei
+     * @return true, wenn die Datei geschrieben wurde
+     */
+    static boolean write(ByteBuffer buf, File file){
+        Path target = file.toPath().toAbsolutePath();
+        Path tmp = null;
+        try {
+            // Endung .tmp, damit ModelRegistry die halb geschriebene Datei ignoriert
+            tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                out.write(buf.array(), buf.position(), buf.remaining());
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Datei konnte nicht beschrieben werden: " + file);
+            if(tmp != null){
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // bleibt als .tmp liegen
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /** Lädt eine Modelldatei.
+     *
+     * Die Datei wird mit FileChannel.map() in den Speicher abgebildet und jede Matrix mit einem
+     * einzigen Block-get() aus dem gemappten Puffer gelesen. Mehrere Prozesse teilen sich so
+     * die Seiten der Datei im Cache des Betriebssystems. Die Datei darf währenddessen nicht
+     * gekürzt werden; für Dateien, die sich jederzeit ändern können, siehe loadCopy().
+     *
+     * @param file Datei
+     * @return Modell, oder null bei einem Fehler
+     */
+    public static ModelFile load(File file){
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            System.err.println("Modelldatei konnte nicht gelesen werden: " + file);
+            return null;
+        }
+    }
+
+    /** Lädt eine Modelldatei über eine Kopie im Speicher statt sie zu mappen.
+     *
+     * Für Dateien, die von anderen Prozessen geschrieben werden (siehe ModelRegistry): wird eine
+     * gemappte Datei gekürzt, bricht der Zugriff auf den Puffer mit einem Fehler ab, eine Kopie
+     * ist dagegen höchstens unvollständig und wird von decode() abgelehnt.
+     *
+     * @param file Datei
+     * @return Modell, oder null bei einem Fehler
+     */
+    public static ModelFile loadCopy(File file){
+        try {
+            return decode(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+        } catch (IOException e) {
+            System.err.println("Modelldatei konnte nicht gelesen werden: " + file);
+            return null;
+        }
+    }
+
+    /** Lädt ein Modell aus einer Ressource im Klassenpfad.
+     *
+     * Liegt die Ressource als Datei vor (z.B. build/resources beim Start aus der IDE oder mit gradle run),
+     * wird sie wie mit load(File) gemappt. Aus einem JAR lässt sich nichts mappen, dann wird der Inhalt
+     * wie bei load(InputStream) gelesen.
+     *
+     * @param name Name der Ressource
+     * @return Modell, oder null, wenn die Ressource fehlt oder ungültig ist
+     */
+    public static ModelFile loadResource(String name){
+        URL url = ModelFile.class.getClassLoader().getResource(name);
+        if(url == null){
+            System.err.println("Modelldatei nicht gefunden: " + name);
+            return null;
+        }
+        if("file".equals(url.getProtocol())){
+            try {
+                return load(new File(url.toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // kein gültiger Dateipfad, dann über den Stream
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return load(in);
+        } catch (IOException e) {
+            System.err.println("Modelldatei konnte nicht gelesen werden: " + name);
+            return null;
+        }
+    }
+
+    /** Lädt ein Modell aus einem Stream (z.B. einer Ressource).
+     *
+     * @param in Stream, wird nicht geschlossen
+     * @return Modell, oder null bei einem ungültigen Inhalt
+     * @throws IOException wenn der Stream nicht gelesen werden kann
+     */
+    public static ModelFile load(InputStream in) throws IOException {
+        return decode(ByteBuffer.wrap(in.readAllBytes()));
+    }
+
+    /** Schreibt ein Modell in einen neuen Puffer. */
+    static ByteBuffer encode(ModelFile m, boolean useFloat){
+        int values = m.HIDDEN_SIZE + m.OUTPUT_SIZE + m.HIDDEN_SIZE * m.INPUT_SIZE + m.OUTPUT_SIZE * m.HIDDEN_SIZE;
+        int bytes = useFloat ? 4 : 8;
+        ByteBuffer buf = header(m.categories, bytes, m.INPUT_SIZE, m.HIDDEN_SIZE, m.OUTPUT_SIZE, (long) values * bytes);
+
+        for(Matrix mat : new Matrix[] {m.biasH, m.biasO, m.weightsIH, m.weightsHO}){
+            for(int i = 0; i < mat.getRows(); i++){
+                int row = mat.offset + i * mat.stride;
+                for(int j = 0; j < mat.getCols(); j++){
+                    if(useFloat){
+                        buf.putFloat((float) mat.data[row + j]);
+                    } else {
+                        buf.putDouble(mat.data[row + j]);
+                    }
+                }
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /** Schreibt ein quantisiertes Modell in einen neuen Puffer. */
+    static ByteBuffer encode(String[] categories, QuantizedModel q){
+        ByteBuffer buf = header(categories, 1, q.INPUT_SIZE, q.HIDDEN_SIZE, q.OUTPUT_SIZE,
+            quantizedSize(q.INPUT_SIZE, q.HIDDEN_SIZE, q.OUTPUT_SIZE));
+        buf.putFloat(q.hiddenMax);
+        for(float[] values : new float[][] {q.biasH, q.biasO, q.scaleIH, q.scaleHO}){
+            buf.asFloatBuffer().put(values);
+            buf.position(buf.position() + 4 * values.length);
+        }
+        buf.put(q.weightsIH);
+        buf.put(q.weightsHO);
+        buf.flip();
+        return buf;
+    }
+
+    /** Länge der Werte einer int8-Datei in Byte */
+    static long quantizedSize(int in, int hidden, int out){
+        return 4 + 4L * 2 * (hidden + out) + (long) hidden * in + (long) out * hidden;
+    }
+
+    /** Erzeugt einen Puffer, der genau Header und Werte fasst, und schreibt den Header hinein. */
+    static ByteBuffer header(String[] categories, int bytes, int in, int hidden, int out, long valueBytes){
+        byte[][] names = new byte[categories.length][];
+        int size = HEADER_SIZE;
+        for(int i = 0; i < names.length; i++){
+            names[i] = categories[i].getBytes(StandardCharsets.UTF_8);
+            size += 4 + names[i].length;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(size + valueBytes)).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(MAGIC);
+        buf.putInt(VERSION);
+        buf.putInt(bytes);
+        buf.putInt(in);
+        buf.putInt(hidden);
+        buf.putInt(out);
+        buf.putInt(names.length);
+        for(byte[] name : names){
+            buf.putInt(name.length);
+            buf.put(name);
+        }
+        return buf;
+    }
+
+    /** Liest ein Modell ab der aktuellen Position eines Puffers.
+     *
+     * @param buf Puffer mit dem Inhalt einer Modelldatei
+     * @return Modell, oder null bei einem Fehler
+     */
+    static ModelFile decode(ByteBuffer buf){
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        if(buf.remaining() < HEADER_SIZE){
+            System.err.println("Modelldatei ist zu kurz.");
+            return null;
+        }
+
+        byte[] magic = new byte[MAGIC.length];
+        buf.get(magic);
+        if(!Arrays.equals(magic, MAGIC)){
+            System.err.println("Keine Modelldatei.");
+            return null;
+        }
+        int version = buf.getInt();
+        if(version != VERSION){
+            System.err.println("Version " + version + " der Modelldatei wird nicht unterstützt.");
+            return null;
+        }
+        int bytes = buf.getInt();
+        if(bytes != 1 && bytes != 4 && bytes != 8){
+            System.err.println("Ungültige Wertgröße in der Modelldatei: " + bytes);
+            return null;
+        }
+
+        int in = buf.getInt(), hidden = buf.getInt(), out = buf.getInt();
+        int count = buf.getInt();
+        if(in <= 0 || hidden <= 0 || out <= 0 || count != out){
+            System.err.println("Ungültige Architektur in der Modelldatei.");
+            return null;
+        }
+        if(count > buf.remaining() / 4){
+            System.err.println("Modelldatei ist zu kurz.");
+            return null;
+        }
+
+        String[] categories = new String[count];
+        for(int i = 0; i < count; i++){
+            if(buf.remaining() < 4){
+                System.err.println("Modelldatei ist zu kurz.");
+                return null;
+            }
+            int length = buf.getInt();
+            if(length < 0 || length > buf.remaining()){
+                System.err.println("Modelldatei ist beschädigt.");
+                return null;
+            }
+            byte[] name = new byte[length];
+            buf.get(name);
+            categories[i] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        long values = (long) hidden + out + (long) hidden * in + (long) out * hidden;
+        if(buf.remaining() != (bytes == 1 ? quantizedSize(in, hidden, out) : values * bytes)){
+            System.err.println("Modelldatei hat die falsche Länge.");
+            return null;
+        }
+
+        if(bytes == 1){
+            return new ModelFile(categories, readQuantized(buf, in, hidden, out));
+        }
+
+        Matrix biasH = read(buf, hidden, 1, bytes);
+        Matrix biasO = read(buf, out, 1, bytes);
+        Matrix weightsIH = read(buf, hidden, in, bytes);
+        Matrix weightsHO = read(buf, out, hidden, bytes);
+        return new ModelFile(categories, biasH, biasO, weightsIH, weightsHO);
+    }
+
+    /** Liest die Werte einer int8-Datei (siehe Aufbau oben). */
+    static QuantizedModel readQuantized(ByteBuffer buf, int in, int hidden, int out){
+        float hiddenMax = buf.getFloat();
+        float[] biasH = readFloats(buf, hidden);
+        float[] biasO = readFloats(buf, out);
+        float[] scaleIH = readFloats(buf, hidden);
+        float[] scaleHO = readFloats(buf, out);
+        byte[] weightsIH = new byte[hidden * in];
+        byte[] weightsHO = new byte[out * hidden];
+        buf.get(weightsIH);
+        buf.get(weightsHO);
+        return new QuantizedModel(in, hidden, out, weightsIH, scaleIH, weightsHO, scaleHO, biasH, biasO, hiddenMax);
+    }
+
+    static float[] readFloats(ByteBuffer buf, int length){
+        float[] f = new float[length];
+        buf.asFloatBuffer().get(f);
+        buf.position(buf.position() + 4 * length);
+        return f;
+    }
+
+    /** Liest eine Matrix mit einem einzigen Block-get() aus dem Puffer. */
+    static Matrix read(ByteBuffer buf, int rows, int cols, int bytes){
+        double[] data = new double[rows * cols];
+        if(bytes == 8){
+            buf.asDoubleBuffer().get(data);
+        } else {
+            float[] f = new float[data.length];
+            buf.asFloatBuffer().get(f);
+            for(int i = 0; i < f.length; i++){
+                data[i] = f[i];
+            }
+        }
+        buf.position(buf.position() + data.length * bytes);
+        return new Matrix(rows, cols, data);
+    }
+
+    /** Erzeugt ein neues Netzwerk mit der Architektur und den Parametern des Modells.
+     *
+     * @return Netzwerk
+     */
+    public Network toNetwork(){
+        Network n = new Network(INPUT_SIZE, HIDDEN_SIZE, OUTPUT_SIZE);
+        n.setParams(biasH, biasO, weightsIH, weightsHO);
+        return n;
+    }
+
+    /** Überträgt die Parameter in ein bestehendes Netzwerk gleicher Architektur.
+     *
+     * Die Matrizen werden nicht kopiert (siehe Network.setParams()).
+     *
+     * @param n Netzwerk
+     */
+    public void applyTo(Network n){
+        n.setParams(biasH, biasO, weightsIH, weightsHO);
+    }
+
+    /** Erzeugt einen unveränderlichen Schnappschuss zum Raten.
+     *
+     * @return Model
+     */
+    public Model toModel(){
+        return new Model(biasH, biasO, weightsIH, weightsHO);
+    }
+
+    /** Erzeugt ein Modell zum Raten mit einfacher Genauigkeit.
+     *
+     * Wurde die Datei mit float-Werten gespeichert, sind die Parameter genau dieselben.
+     *
+     * @return FloatModel
+     */
+    public FloatModel toFloatModel(){
+        return new FloatModel(INPUT_SIZE, HIDDEN_SIZE, OUTPUT_SIZE, FloatModel.toFloat(weightsIH),
+            FloatModel.toFloat(weightsHO), FloatModel.toFloat(biasH), FloatModel.toFloat(biasO));
+    }
+
+    /** Gibt das quantisierte Modell einer int8-Datei zurück.
+     *
+     * Andere Dateien enthalten keine Kalibrierung der Hidden-Layer, dafür QuantizedModel.quantize() verwenden.
+     *
+     * @return QuantizedModel, oder null, wenn die Datei nicht mit int8-Werten gespeichert wurde
+     */
+    public QuantizedModel toQuantizedModel(){
+        return quantized;
+    }
+
+    /** Gibt die Namen der Kategorien in der Reihenfolge der Outputs zurück. */
+    public String[] getCategories(){
+        return categories.clone();
+    }
+
+    public int getInputSize(){
+        return INPUT_SIZE;
+    }
+
+    public int getHiddenSize(){
+        return HIDDEN_SIZE;
+    }
+
+    public int getOutputSize(){
+        return OUTPUT_SIZE;
+    }
+}
@@ -0,0 +1,174 @@
+package components.neuralnetwork;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Hält das aktuell verwendete Modell und tauscht es zur Laufzeit atomar aus.
+ *
+ * Network.setParams() ersetzt die vier Matrizen nacheinander, ein gleichzeitiges feedForward()
+ * kann also alte und neue Gewichte mischen. Hier liegt stattdessen ein unveränderliches Model
+ * hinter einer AtomicReference: wer get() aufruft, rät mit genau einem vollständigen Modell zu Ende,
+ * auch wenn währenddessen ein neues eingesetzt wird.
+ *
+ * Optional wird ein Verzeichnis überwacht (watch()). Sobald dort eine Modelldatei (*.bin, siehe
+ * ModelFile) erstellt oder geändert wird, wird sie geladen und eingesetzt. Neue Dateien sollten
+ * am besten unter anderem Namen geschrieben und dann umbenannt werden (wie ModelFile.save());
+ * eine halb geschriebene Datei wird abgelehnt und beim nächsten Änderungsereignis erneut versucht.
+ *
+ * @version 17. Oktober 2026
+ */
+public class ModelRegistry {
+
+    /** Endung der Modelldateien */
+    static final String SUFFIX = ".bin";
+
+    /** aktuelles Modell */
+    final AtomicReference<Model> current;
+
+    /** überwacht das Modellverzeichnis, null wenn watch() nicht aufgerufen wurde */
+    WatchService watcher;
+
+    /** Anzahl eingesetzter Modelle seit dem Start */
+    final AtomicInteger swaps = new AtomicInteger();
+
+    /** Konstruktor
+     *
+     * @param initial Modell, das zu Beginn verwendet wird
+     */
+    public ModelRegistry(Model initial){
+        current = new AtomicReference<>(initial);
+    }
+
+    /** Gibt das aktuelle Modell zurück.
+     *
+     * Das Modell ändert sich nie; für mehrere zusammengehörige Vermutungen sollte
+     * die Referenz einmal geholt und dann wiederverwendet werden.
+     *
+     * @return Modell
+     */
+    public Model get(){
+        return current.get();
+    }
+
+    /** Rät die Klassifikation eines Inputs mit dem aktuellen Modell.
+     *
+     * @param input Inputs in (INPUT_SIZE x 1)-Matrix
+     * @return Klassifikation ("guess")
+     */
+    public Matrix predict(Matrix input){
+        return current.get().predict(input);
+    }
+
+    /** Setzt ein neues Modell ein.
+     *
+     * Inputs und Outputs müssen zum bisherigen Modell passen, die Hidden-Layer darf sich ändern.
+     *
+     * @param model neues Modell
+     * @return true, wenn das Modell eingesetzt wurde
+     */
+    public boolean swap(Model model){
+        Model old = current.get();
+        if(model.getInputSize() != old.getInputSize() || model.getOutputSize() != old.getOutputSize()){
+            System.err.println("Neues Modell passt nicht: " + model.getInputSize() + " Inputs, " + model.getOutputSize() + " Outputs.");
+            return false;
+        }
+
+        current.set(model);
+        swaps.incrementAndGet();
+        return true;
+    }
+
+    /** Lädt eine Modelldatei und setzt sie ein.
+     *
+     * @param file Modelldatei
+     * @return true, wenn das Modell eingesetzt wurde
+     */
+    public boolean reload(File file){
+        // Kopie statt mmap: die Datei kann während des Ladens noch geschrieben oder gekürzt werden
+        ModelFile model = ModelFile.loadCopy(file);
+        if(model == null){
+            return false;
+        }
+        if(!swap(model.toModel())){
+            return false;
+        }
+
+        System.out.println("Neues Modell geladen: " + file);
+        return true;
+    }
+
+    /** Überwacht ein Verzeichnis in einem eigenen (Daemon-)Thread und setzt neue Modelldateien ein.
+     *
+     * @param dir Modellverzeichnis
+     * @return true, wenn die Überwachung gestartet wurde
+     */
+    public synchronized boolean watch(Path dir){
+        if(watcher != null){
+            System.err.println("Es wird bereits ein Verzeichnis überwacht.");
+            return false;
+        }
+
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("Verzeichnis kann nicht überwacht werden: " + dir);
+            watcher = null;
+            return false;
+        }
+
+        WatchService w = watcher;
+        Thread t = new Thread(() -> run(w, dir), "ModelRegistry-watch");
+        t.setDaemon(true);
+        t.start();
+        return true;
+    }
+
+    /** Schleife des Überwachungs-Threads, endet mit close(). */
+    void run(WatchService w, Path dir){
+        try {
+            while(true){
+                WatchKey key = w.take();
+                for(WatchEvent<?> event : key.pollEvents()){
+                    if(event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                    Path file = dir.resolve((Path) event.context());
+                    if(!file.toString().endsWith(SUFFIX)) continue;
+                    try {
+                        reload(file.toFile());
+                    } catch (RuntimeException e) {
+                        // eine kaputte Datei darf die Überwachung nicht beenden
+                        System.err.println("Modelldatei konnte nicht geladen werden: " + file + " (" + e + ")");
+                    }
+                }
+                if(!key.reset()) break;    // Verzeichnis existiert nicht mehr
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() wurde aufgerufen
+        }
+    }
+
+    /** Beendet die Überwachung des Modellverzeichnisses. */
+    public synchronized void close(){
+        if(watcher == null) return;
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            System.err.println("Überwachung konnte nicht beendet werden.");
+        }
+        watcher = null;
+    }
+
+    /** Gibt die Anzahl eingesetzter Modelle seit dem Start zurück. */
+    public int getSwaps(){
+        return swaps.get();
+    }
+}
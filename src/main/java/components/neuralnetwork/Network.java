@@ -1,5 +1,7 @@
 package components.neuralnetwork;
 
+import java.io.File;
+
 import components.handler.Data;
 
 /** Neuronales Netzwerk.
@@ -34,8 +36,11 @@ public class Network {
     /** Matrix für bias der Output-Layer-Neuronen */
     Matrix biasO;
 
-    /** globale Matrizen zum Trainieren */
-    Matrix MI, MH, MO;
+    /** Zwischenspeicher für train() */
+    TrainingWorkspace workspace;
+
+    /** Zwischenspeicher für trainBatch() */
+    TrainingWorkspace batchWorkspace;
 
     /** Lernrate des Netzwerks (0,1) */
     final static double LR = 0.1;
@@ -114,14 +119,36 @@ public class Network {
         Matrix output = new Matrix(m.getRows(), m.getCols());
 
         for(int i = 0; i < m.getRows(); i++){
-            for(int j = 0; j < m.getCols(); j++){
-                output.setValue(i+1, j+1, sigmoid(m.getData()[i][j])); 
-            }
+            Kernels.INSTANCE.sigmoid(m.data, m.offset + i * m.stride, 0.0, output.data, i * output.stride, m.getCols());
         }
 
         return output;
     }
 
+    /** Addiert bias und wendet die Aktivierungsfunktion in einem Durchlauf an: dest = sigmoid(m + bias).
+     * 
+     * bias ist eine Spalte und wird auf jede Spalte von m addiert.
+     * dest darf auch m sein. Es wird nichts alloziert.
+     * 
+     * @param m Matrix
+     * @param bias bias-Spalte (m.getRows() x 1)
+     * @param dest Ergebnismatrix (gleiche Größe wie m)
+     * @return dest
+     */
+    public static Matrix sigmoidAddInto(Matrix m, Matrix bias, Matrix dest){
+        if(bias.getRows() != m.getRows() || bias.getCols() != 1 || !Matrix.sameSize(m, dest, "Aktivierung")){
+            System.err.println("bias passt nicht zur Matrix.");
+            return dest;
+        }
+
+        for(int i = 0; i < m.getRows(); i++){
+            double b = bias.data[bias.offset + i * bias.stride];
+            Kernels.INSTANCE.sigmoid(m.data, m.offset + i * m.stride, b, dest.data, dest.offset + i * dest.stride, m.getCols());
+        }
+
+        return dest;
+    }
+
     /** Ableitung der Sigmoidfunktion.
      * 
      * Benötigt zum Berechnen des Gradienten des Fehlers.
@@ -141,47 +168,167 @@ public class Network {
      * @return Output (Matrix mit Ableitung von sigmoid(x))
      */
     public static Matrix sigmoid_dx(Matrix m){
-        Matrix output = new Matrix(m.getRows(), m.getCols());
+        return sigmoid_dxInto(m, new Matrix(m.getRows(), m.getCols()));
+    }
+
+    /** Ableitung der Sigmoidfunktion auf einer gesamten Matrix, Ergebnis wird in dest geschrieben.
+     * 
+     * @param m Input
+     * @param dest Ergebnismatrix (darf auch m sein)
+     * @return dest
+     */
+    public static Matrix sigmoid_dxInto(Matrix m, Matrix dest){
+        if(!Matrix.sameSize(m, dest, "Ableitung")) return dest;
 
         for(int i = 0; i < m.getRows(); i++){
+            int mi = m.offset + i * m.stride;
+            int oi = dest.offset + i * dest.stride;
             for(int j = 0; j < m.getCols(); j++){
-                output.setValue(i+1, j+1, sigmoid_dx(m.getData()[i][j])); 
+                dest.data[oi + j] = sigmoid_dx(m.data[mi + j]); 
             }
         }
 
-        return output;
+        return dest;
     }
 
     /** Funktion zum Verarbeiten einer Inputmatrix (= Pixel der Leinwand).
      * 
      * Die Inputs werden vorwärts durch das Netzwerk "gefüttert".
+     * Es werden keine Zwischenergebnisse im Netzwerk gespeichert, siehe predict().
      * 
      * @param input Inputs für das Netzwerk in (INPUT_SIZE x 1)-Matrix
      * @return Klassifikation ("guess") des Netzwerks
      */
     public Matrix feedForward(Matrix input){
-        if(input.getRows() != INPUT_SIZE || input.getCols() != 1){
-            System.err.println("Ungültiger Input. (Muss " + INPUT_SIZE + "x1 Matrix sein)");
+        return feedForward(input, newActivations());
+    }
+
+    /** Wie feedForward(Matrix), schreibt die Aktivierungen aber in vorhandene Puffer.
+     * 
+     * Wird act wiederverwendet, erzeugt das Raten keine neuen Matrizen. Die zurückgegebene
+     * Matrix ist act.getOutput() und wird beim nächsten Aufruf mit act überschrieben.
+     * 
+     * @param input Inputs für das Netzwerk in (INPUT_SIZE x 1)-Matrix
+     * @param act Puffer für die Aktivierungen (siehe newActivations())
+     * @return Klassifikation ("guess") des Netzwerks
+     */
+    public Matrix feedForward(Matrix input, Activations act){
+        return forward(weightsIH, biasH, weightsHO, biasO, input, act);
+    }
+
+    /** Rät die Klassifikation eines Inputs.
+     * 
+     * Hält keinen veränderlichen Zustand im Netzwerk und darf daher von mehreren Threads
+     * gleichzeitig aufgerufen werden, solange das Netzwerk nicht parallel trainiert wird.
+     * Für einen unveränderlichen Schnappschuss der Gewichte siehe snapshot().
+     * 
+     * @param input Inputs für das Netzwerk in (INPUT_SIZE x 1)-Matrix
+     * @return Klassifikation ("guess") des Netzwerks
+     */
+    public Matrix predict(Matrix input){
+        return feedForward(input);
+    }
+
+    /** Vorwärtsdurchlauf mit gegebenen Parametern, schreibt in die Puffer act.
+     * 
+     * input darf auch mehrere Inputs als Spalten enthalten (INPUT_SIZE x B), dann werden
+     * alle mit Matrix-Matrix-Produkten auf einmal berechnet. act muss mindestens B Spalten haben.
+     * 
+     * @return Klassifikation, entspricht act.getOutput()
+     */
+    static Matrix forward(Matrix weightsIH, Matrix biasH, Matrix weightsHO, Matrix biasO, Matrix input, Activations act){
+        if(input.getRows() != weightsIH.getCols() || input.getCols() > act.getBatchSize()){
+            System.err.println("Ungültiger Input. (Muss " + weightsIH.getCols() + "x" + act.getBatchSize() + " Matrix sein)");
             return new Matrix(0,0);
         }
+        act = act.firstCols(input.getCols());
         
         // Inputs -> Hidden-Layer
-        Matrix h = Matrix.multiply(weightsIH, input);
-        h = Matrix.add(h, biasH);
-        h = Network.sigmoid(h);
+        Matrix h = Matrix.multiplyInto(weightsIH, input, act.hidden);
+        return forwardHidden(h, biasH, weightsHO, biasO, act);
+    }
 
-        // Hidden-Layer -> Output
-        Matrix o = Matrix.multiply(weightsHO, h);
-        o = Matrix.add(o, biasO);
-        o = Network.sigmoid(o);
+    /** Wie forward(), aber mit einem binären, dünn besetzten Input (ohne Multiplikationen in der ersten Schicht).
+     * 
+     * @return Klassifikation, entspricht act.getOutput()
+     */
+    static Matrix forward(Matrix weightsIH, Matrix biasH, Matrix weightsHO, Matrix biasO, SparseInput input, Activations act){
+        if(input.getSize() != weightsIH.getCols()){
+            System.err.println("Ungültiger Input. (Muss Länge " + weightsIH.getCols() + " haben)");
+            return new Matrix(0,0);
+        }
+        act = act.firstCols(1);
+
+        // Inputs -> Hidden-Layer
+        Matrix h = Matrix.multiplyInto(weightsIH, input, act.hidden);
+        return forwardHidden(h, biasH, weightsHO, biasO, act);
+    }
 
-        MI = input;
-        MH = h;
-        MO = o;
+    /** Restlicher Vorwärtsdurchlauf, nachdem h = weightsIH * input berechnet wurde. */
+    private static Matrix forwardHidden(Matrix h, Matrix biasH, Matrix weightsHO, Matrix biasO, Activations act){
+        sigmoidAddInto(h, biasH, h);
+
+        // Hidden-Layer -> Output
+        Matrix o = Matrix.multiplyInto(weightsHO, h, act.output);
+        sigmoidAddInto(o, biasO, o);
 
         return o;
     }
 
+    /** Wie feedForward(Matrix, Activations), aber mit einem binären, dünn besetzten Input.
+     * 
+     * @param input Input der Länge INPUT_SIZE
+     * @param act Puffer für die Aktivierungen (siehe newActivations())
+     * @return Klassifikation ("guess") des Netzwerks
+     */
+    public Matrix feedForward(SparseInput input, Activations act){
+        return forward(weightsIH, biasH, weightsHO, biasO, input, act);
+    }
+
+    /** Verarbeitet die Inputs eines Data-Objekts, dünn besetzt wenn möglich (siehe Data.getSparseInputs()).
+     * 
+     * @param d Daten
+     * @param act Puffer für die Aktivierungen (siehe newActivations())
+     * @return Klassifikation ("guess") des Netzwerks
+     */
+    public Matrix feedForward(Data d, Activations act){
+        SparseInput sparse = d.getSparseInputs();
+        return sparse != null ? feedForward(sparse, act) : feedForward(d.getInputs(), act);
+    }
+
+    /** Erzeugt einen unveränderlichen Schnappschuss der aktuellen Gewichte und bias.
+     * 
+     * @return Schnappschuss, der von beliebig vielen Threads zum Raten benutzt werden kann
+     */
+    public Model snapshot(){
+        return new Model(biasH, biasO, weightsIH, weightsHO);
+    }
+
+    /** Erzeugt Zwischenspeicher für train(), passend zur Architektur des Netzwerks.
+     * 
+     * @return Zwischenspeicher
+     */
+    public TrainingWorkspace newWorkspace(){
+        return newWorkspace(1);
+    }
+
+    /** Erzeugt Zwischenspeicher für trainBatch() mit bis zu batch Inputs pro Schritt.
+     * 
+     * @param batch maximale Batchgröße
+     * @return Zwischenspeicher
+     */
+    public TrainingWorkspace newWorkspace(int batch){
+        return new TrainingWorkspace(INPUT_SIZE, HIDDEN_SIZE, OUTPUT_SIZE, batch);
+    }
+
+    /** Erzeugt Puffer für die Aktivierungen, passend zur Architektur des Netzwerks.
+     * 
+     * @return Puffer für feedForward(Matrix, Activations)
+     */
+    public Activations newActivations(){
+        return new Activations(HIDDEN_SIZE, OUTPUT_SIZE);
+    }
+
     /** Trainiert das Netzwerk mittels supervised learning.
      * 
      * Inputs mit bekannten (= gewünschten) Outputs werden dem Netzwerk übergeben und
@@ -191,10 +338,194 @@ public class Network {
      * @param outputs Outputs
      */
     public void train(Matrix inputs, Matrix outputs){
-        Matrix guess = feedForward(inputs);
-        Matrix errorO = Matrix.subtract(outputs, guess); // Fehler der Outputs
-        Matrix weightsHO_t = Matrix.transpose(weightsHO);
-        Matrix errorH = Matrix.multiply(weightsHO_t, errorO); // Fehler der Hidden-Layer-Neuronen
+        if(workspace == null){
+            workspace = newWorkspace();
+        }
+        train(inputs, outputs, workspace);
+    }
+
+    /** Wie train(Matrix, Matrix), benutzt aber den übergebenen Zwischenspeicher.
+     * 
+     * @param inputs Inputs
+     * @param outputs Outputs
+     * @param ws Zwischenspeicher (siehe newWorkspace())
+     */
+    public void train(Matrix inputs, Matrix outputs, TrainingWorkspace ws){
+        trainBatch(inputs, outputs, ws);
+    }
+
+    /** Wie train(Matrix, Matrix, TrainingWorkspace), aber mit einem binären, dünn besetzten Input.
+     * 
+     * Die erste Schicht wird ohne Multiplikationen berechnet und von weightsIH werden nur
+     * die Spalten der gesetzten Pixel angepasst.
+     * 
+     * @param inputs Input der Länge INPUT_SIZE
+     * @param outputs Outputs
+     * @param ws Zwischenspeicher (siehe newWorkspace())
+     */
+    public void train(SparseInput inputs, Matrix outputs, TrainingWorkspace ws){
+        if(outputs.getCols() != 1){
+            System.err.println("Ungültiger Output. (Muss " + OUTPUT_SIZE + "x1 Matrix sein)");
+            return;
+        }
+
+        Activations act = ws.act.firstCols(1);
+        long start = ws.metrics != null ? System.nanoTime() : 0;
+        feedForward(inputs, act);
+        if(ws.metrics != null) ws.forwardDone(start);
+        backwardLayers(act, outputs, 1, ws, LR);
+
+        Matrix.multiplyTransposeBAddInto(TrainingWorkspace.cols(ws.gradientHO, 1), act.hidden, weightsHO);
+        Matrix.addInPlace(biasO, ws.biasDeltaO);
+        Matrix.addOuterProduct(TrainingWorkspace.cols(ws.gradientIH, 1), inputs, weightsIH);
+        Matrix.addInPlace(biasH, ws.biasDeltaH);
+        if(ws.metrics != null) ws.backwardDone();
+    }
+
+    /** Trainiert das Netzwerk mit einem Data-Objekt, dünn besetzt wenn möglich (siehe Data.getSparseInputs()).
+     * 
+     * @param d Daten mit bekannten Outputs
+     * @param ws Zwischenspeicher (siehe newWorkspace())
+     */
+    public void train(Data d, TrainingWorkspace ws){
+        SparseInput sparse = d.getSparseInputs();
+        if(sparse != null){
+            train(sparse, d.getOutputs(), ws);
+        } else {
+            train(d.getInputs(), d.getOutputs(), ws);
+        }
+    }
+
+    /** Trainiert das Netzwerk mit einem Mini-Batch.
+     * 
+     * Vorwärts- und Rückwärtsdurchlauf werden für den ganzen Batch mit Matrix-Matrix-Produkten
+     * berechnet. Die Gewichte werden einmal pro Batch um den gemittelten Gradienten angepasst.
+     * 
+     * @param batch Daten mit bekannten Outputs
+     */
+    public void trainBatch(Data[] batch){
+        if(batchWorkspace == null || batchWorkspace.getBatchSize() < batch.length){
+            batchWorkspace = newWorkspace(batch.length);
+        }
+        trainBatch(batch, batchWorkspace);
+    }
+
+    /** Wie trainBatch(Data[]), benutzt aber den übergebenen Zwischenspeicher.
+     * 
+     * @param batch Daten mit bekannten Outputs (höchstens ws.getBatchSize() viele)
+     * @param ws Zwischenspeicher (siehe newWorkspace(int))
+     */
+    public void trainBatch(Data[] batch, TrainingWorkspace ws){
+        if(batch.length == 0) return;
+        if(batch.length > ws.getBatchSize()){
+            System.err.println("Batch ist größer als der Zwischenspeicher.");
+            return;
+        }
+        if(ws.getBatchSize() == 1){
+            trainBatch(batch[0].getInputs(), batch[0].getOutputs(), ws);
+            return;
+        }
+
+        ws.pack(batch, 0, batch.length);
+        trainBatch(TrainingWorkspace.cols(ws.inputs, batch.length), TrainingWorkspace.cols(ws.outputs, batch.length), ws);
+    }
+
+    /** Trainiert das Netzwerk mit einem Mini-Batch, der als Matrizen vorliegt.
+     * 
+     * @param inputs Inputs, eine Spalte pro Input (INPUT_SIZE x B)
+     * @param outputs erwartete Outputs, eine Spalte pro Input (OUTPUT_SIZE x B)
+     * @param ws Zwischenspeicher mit Batchgröße von mindestens B (siehe newWorkspace(int))
+     */
+    public void trainBatch(Matrix inputs, Matrix outputs, TrainingWorkspace ws){
+        int b = inputs.getCols();
+        if(!backward(inputs, outputs, ws, LR / b)) return;
+
+        // neue Gewichte = alte Gewichte + weights_delta (= gradient * output_transponiert)
+        Matrix.multiplyTransposeBAddInto(TrainingWorkspace.cols(ws.gradientHO, b), TrainingWorkspace.cols(ws.act.hidden, b), weightsHO);
+        Matrix.addInPlace(biasO, ws.biasDeltaO);
+        if(b == 1){
+            // nur die Spalten der gesetzten Pixel anpassen (siehe HogwildTrainer)
+            Matrix.addOuterProduct(TrainingWorkspace.cols(ws.gradientIH, 1), inputs, weightsIH);
+        } else {
+            Matrix.multiplyTransposeBAddInto(TrainingWorkspace.cols(ws.gradientIH, b), inputs, weightsIH);
+        }
+        Matrix.addInPlace(biasH, ws.biasDeltaH);
+        if(ws.metrics != null) ws.backwardDone();
+    }
+
+    /** Berechnet die Anpassungen der Gewichte für einen Mini-Batch, ohne sie anzuwenden.
+     * 
+     * Die Anpassungen werden mit LR / batchTotal skaliert. Damit können mehrere Teile eines Batches
+     * getrennt (z. B. parallel) berechnet, in g aufsummiert und mit applyGradients() angewendet werden.
+     * 
+     * @param inputs Inputs, eine Spalte pro Input (INPUT_SIZE x B)
+     * @param outputs erwartete Outputs, eine Spalte pro Input (OUTPUT_SIZE x B)
+     * @param batchTotal Größe des gesamten Batches, über den gemittelt wird
+     * @param ws Zwischenspeicher mit Batchgröße von mindestens B
+     * @param g Ziel für die Anpassungen (wird überschrieben)
+     */
+    public void computeGradients(Matrix inputs, Matrix outputs, int batchTotal, TrainingWorkspace ws, Gradients g){
+        int b = inputs.getCols();
+        if(!backward(inputs, outputs, ws, LR / batchTotal)) return;
+
+        Matrix.multiplyTransposeBInto(TrainingWorkspace.cols(ws.gradientHO, b), TrainingWorkspace.cols(ws.act.hidden, b), g.weightsHO);
+        g.biasO.copyFrom(ws.biasDeltaO);
+        Matrix.multiplyTransposeBInto(TrainingWorkspace.cols(ws.gradientIH, b), inputs, g.weightsIH);
+        g.biasH.copyFrom(ws.biasDeltaH);
+        if(ws.metrics != null) ws.backwardDone();
+    }
+
+    /** Addiert berechnete Anpassungen auf die Gewichte und bias.
+     * 
+     * @param g Anpassungen (siehe computeGradients())
+     */
+    public void applyGradients(Gradients g){
+        Matrix.addInPlace(weightsHO, g.weightsHO);
+        Matrix.addInPlace(biasO, g.biasO);
+        Matrix.addInPlace(weightsIH, g.weightsIH);
+        Matrix.addInPlace(biasH, g.biasH);
+    }
+
+    /** Erzeugt Puffer für Anpassungen der Gewichte, passend zur Architektur des Netzwerks.
+     * 
+     * @return Puffer für computeGradients()
+     */
+    public Gradients newGradients(){
+        return new Gradients(INPUT_SIZE, HIDDEN_SIZE, OUTPUT_SIZE);
+    }
+
+    /** Vorwärts- und Rückwärtsdurchlauf für einen Batch.
+     * 
+     * Danach enthält ws die skalierten Gradienten (gradientHO, gradientIH), deren Summen über den
+     * Batch (biasDeltaO, biasDeltaH) und in ws.act die Outputs der Schichten. Beim Anwenden werden
+     * sie mit multiplyTransposeBAddInto() verrechnet, ohne etwas zu transponieren.
+     * 
+     * @return false wenn der Batch nicht zum Zwischenspeicher passt
+     */
+    private boolean backward(Matrix inputs, Matrix outputs, TrainingWorkspace ws, double rate){
+        int b = inputs.getCols();
+        if(outputs.getCols() != b || b > ws.getBatchSize()){
+            System.err.println("Batch passt nicht zum Zwischenspeicher.");
+            return false;
+        }
+
+        Activations act = ws.act.firstCols(b);
+        long start = ws.metrics != null ? System.nanoTime() : 0;
+        feedForward(inputs, act);
+        if(ws.metrics != null) ws.forwardDone(start);
+        backwardLayers(act, outputs, b, ws, rate);
+
+        return true;
+    }
+
+    /** Rückwärtsdurchlauf nach feedForward() in act. */
+    private void backwardLayers(Activations act, Matrix outputs, int b, TrainingWorkspace ws, double rate){
+        ws.lastBatch = b;
+        Matrix guess = act.output;
+        Matrix errorO = Matrix.subtractInto(outputs, guess, TrainingWorkspace.cols(ws.errorO, b)); // Fehler der Outputs
+        Matrix errorH = TrainingWorkspace.cols(ws.errorH, b);
+        errorH.fill(0.0);
+        Matrix.multiplyTransposeAAddInto(weightsHO, errorO, errorH);    // Fehler der Hidden-Layer-Neuronen = weightsHO_transponiert * errorO
 
         // Im Folgenden werden die Gewichte der einzelnen Schichten angepasst. Hierfür wird das
         // Gradientenverfahren benutzt, um den Fehler zu minimieren.
@@ -202,33 +533,24 @@ public class Network {
         //        bias_delta    = LR * error * sigmoid_dx
         // weights_delta/bias_delta sind die neuen Gewichte/bias und werden zu den alten addiert:
         // -> neue weights/bias = alte weights/bias + weights_delta/bias_delta
+        // Bei einem Batch wird LR durch die Batchgröße geteilt, die Produkte mit den transponierten
+        // Outputs summieren dann automatisch über alle Inputs -> gemittelter Gradient.
 
         // Um ein neuronales Netzwerk zu erklären, bedarf es mehr als ein paar Kommentare im Code.
         // Im Internet gibt es reichlich Infos dazu.
 
-        // Gewichte und bias zwischen Output und Hidden-Layer anpassen
-        Matrix gradientHO = sigmoid_dx(MO);                         // weights_delta = sigmoid_dx...
-        gradientHO = Matrix.multiplyElement(gradientHO, errorO);    // ... * error 
-        gradientHO = Matrix.scale(gradientHO, LR);                  // ... * LR
-
-        Matrix ho_t = Matrix.transpose(MH);
-        
-        Matrix weightsHO_delta = Matrix.multiply(gradientHO, ho_t); // ... * output_transponiert
-
-        weightsHO = Matrix.add(weightsHO, weightsHO_delta);         // neue Gewichte = alte Gewichte + weights_delta
-        biasO = Matrix.add(biasO, gradientHO); // Gradient = bias_delta
-
-        // Gewichte und bias zwischen Hidden-Layer und Inputs anpassen
-        Matrix gradientIH = sigmoid_dx(MH);                         // weights_delta wird analog zu oben gerechnet
-        gradientIH = Matrix.multiplyElement(gradientIH, errorH);
-        gradientIH = Matrix.scale(gradientIH, LR);
-
-        Matrix ih_t = Matrix.transpose(MI);
-
-        Matrix weightsIH_delta = Matrix.multiply(gradientIH, ih_t);
-
-        weightsIH = Matrix.add(weightsIH, weightsIH_delta);
-        biasH = Matrix.add(biasH, gradientIH);
+        // Gradient zwischen Output und Hidden-Layer
+        Matrix gradientHO = sigmoid_dxInto(act.output, TrainingWorkspace.cols(ws.gradientHO, b)); // weights_delta = sigmoid_dx...
+        Matrix.multiplyElementInPlace(gradientHO, errorO);          // ... * error 
+        Matrix.scaleInPlace(gradientHO, rate);                      // ... * LR
+        // (... * output_transponiert folgt beim Anwenden)
+        Matrix.rowSumInto(gradientHO, ws.biasDeltaO);               // Gradient = bias_delta
+
+        // Gradient zwischen Hidden-Layer und Inputs (analog zu oben)
+        Matrix gradientIH = sigmoid_dxInto(act.hidden, TrainingWorkspace.cols(ws.gradientIH, b));
+        Matrix.multiplyElementInPlace(gradientIH, errorH);
+        Matrix.scaleInPlace(gradientIH, rate);
+        Matrix.rowSumInto(gradientIH, ws.biasDeltaH);
     }
 
     /** Diese Methode wandelt zuerst die übergebenen Matrizen in ein Data-Array um
@@ -254,11 +576,11 @@ public class Network {
             data[i] = new Data(helpInput, helpOutput);
         }
 
-        NetworkStats.getCurrentAccuracy(net, data);
+        Evaluation e = NetworkStats.getCurrentAccuracy(net, data);
 
-        while(accuracy > NetworkStats.accuracy){
+        while(accuracy > e.getAccuracy()){
             train(input, output);
-            NetworkStats.getCurrentAccuracy(net, data);
+            e = NetworkStats.getCurrentAccuracy(net, data);
         }
     }
 
@@ -280,7 +602,31 @@ public class Network {
         return biasO;
     }
 
+    /** Lädt die bias- und Gewichtsmatrizen aus einer Modelldatei (siehe ModelFile).
+     * 
+     * Die Datei wird gemappt statt geparst, die Architektur muss mit diesem Netzwerk übereinstimmen.
+     * 
+     * @param file Modelldatei
+     * @return true, wenn die Parameter übernommen wurden
+     */
+    public boolean loadParams(File file){
+        ModelFile model = ModelFile.load(file);
+        if(model == null){
+            return false;
+        }
+        if(model.getInputSize() != INPUT_SIZE || model.getHiddenSize() != HIDDEN_SIZE || model.getOutputSize() != OUTPUT_SIZE){
+            System.err.println("Architektur der Modelldatei passt nicht zum Netzwerk.");
+            return false;
+        }
+
+        model.applyTo(this);
+        return true;
+    }
+
     /** Legt spezifische bias- und Gewichtsmatrizen fest.
+     * 
+     * Die Matrizen werden nicht kopiert; train() verändert sie direkt.
+     * Die Matrizen werden nacheinander ersetzt: soll parallel geraten werden, besser ModelRegistry verwenden.
      * 
      * @param biasH HL-bias-Matrix
      * @param biasO Output-bias-Matrix
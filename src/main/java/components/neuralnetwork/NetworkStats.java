@@ -1,7 +1,6 @@
 package components.neuralnetwork;
 
 import components.handler.Data;
-import java.util.Random;
 
 
 /** Klasse für Statistiken und zum Testen eines Netzwerks.
@@ -20,42 +19,8 @@ public class NetworkStats {
     static boolean printGTS = true;
     static boolean printGAS = true;
 
-    /** Outputs optional weiter eindämmen */
+    /** Outputs optional weiter eindämmen (Fortschritt nur bei jeder skip-ten Änderung ausgeben) */
     final static int skip = 80;
-    static int skipCounter = 0;
-
-    /** Maß, ob Netzwerk "schnell genug" lernt */
-    final static int NO_RESULT = 500000;
-
-    /** wenn counter bis zu NO_RESULT hochzählt, lernt das Netzwerk nicht schnell genug */
-    static int noResultCounter = 0;
-
-    /** true wenn Netzwerk stecken bleibt */
-    static boolean noResult = false;
-
-    /** zur Berechnung der Abbruch-Wahrscheinlichkeit (= Feststecken eines Netzwerks) */
-    static double maxQuotient = 0.0;
-
-    /** absoluter Fehler eines Netzwerks bei bestimmtem Datenset */
-    static double errorAbs = 0.0;
-
-    /** relativer Fehler eines Netzwerks (= Fehler pro Output) */
-    static double errorRel = 0.0;
-
-    /** Genauigkeit eines Netzwerks */
-    public static double accuracy = 0.0;
-
-    /** Startzeit für getTrainingStats() */
-    static long start = 0;
-
-    /** Endzeit */
-    static long finish = 0;
-
-    /** Sekunden, bis Netzwerk bestimmte Genauigkeit erreicht */
-    public static double diff = 0.0;
-
-    /** Epochen pro Sekunde, die das Netzwerk erreicht (kein genaues Maß!) */
-    public static int eps = 0;
 
     /** Schneidet Nachkommastellen einer Kommazahl ab.
      * 
@@ -73,52 +38,32 @@ public class NetworkStats {
         return tmp/Math.pow(10.0, length);
     }
 
-    /** Setzt Fehlerwerte auf 0. */
-    public static void resetError(){
-        errorAbs = 0.0;
-        errorRel = 0.0;
-        accuracy = 0.0;
-    }
-
-    /** Setzt Trainingstats auf 0. */
-    public static void resetTrainingStats(){
-        start = 0;
-        finish = 0;
-        diff = 0.0;
-        eps = 0;
-        noResultCounter = 0;
-        noResult = false;
-        maxQuotient = 0.0;
+    /** Schaltet die Konsolenausgabe von getCurrentAccuracy() an oder aus (z.B. für Benchmarks).
+     * 
+     * @param print Genauigkeit auf Konsole ausgeben
+     */
+    public static void setPrintAccuracy(boolean print){
+        printGCA = print;
     }
 
     /** Berechnet die durchschnittliche Genauigkeit eines Netzwerks.
      * 
      * @param n Netzwerk
      * @param dataSet Datenset mit bekannten Outputs
-     * @param print Genauigkeit auf Konsole ausgeben
+     * @return Ergebnis des Tests (Fehler, Genauigkeit, Verwechslungsmatrix)
      */
-    public static void getCurrentAccuracy(Network n, Data[] dataSet){
-        resetError();
-        int length = dataSet.length;
-
-        for(int j = 0; j < length; j++){
-            Matrix guess = n.feedForward(dataSet[j].getInputs());
-            Matrix output = dataSet[j].getOutputs();
-            Matrix diff = Matrix.subtract(guess, output);
-            for(int k = 0; k < diff.getData().length; k++){
-                errorAbs += Math.abs(diff.getData()[k][0]);
-            }
-        }
-        
-        errorRel = errorAbs / dataSet.length;
-        accuracy = cut((1.0 - errorRel) * 100.0, 1);    // Achtung: wird bei hohen errorRel-Werten unsinnig lol
+    public static Evaluation getCurrentAccuracy(Network n, Data[] dataSet){
+        // parallel auf einem Schnappschuss der Gewichte, siehe Evaluator
+        Evaluation e = Evaluator.evaluate(n, dataSet);
 
         if(printGCA){
             System.out.println("-> Genauigkeitstest (" + dataSet.length + " Tests durchgeführt):");
-            System.out.println("     - absoluter Fehler: " + errorAbs);
-            System.out.println("     - relativer Fehler pro Output: " + errorRel);
-            System.out.println("     - Genauigkeit: " + accuracy + "%");
+            System.out.println("     - absoluter Fehler: " + e.getErrorAbs());
+            System.out.println("     - relativer Fehler pro Output: " + e.getErrorRel());
+            System.out.println("     - Genauigkeit: " + e.getAccuracy() + "%");    // Achtung: wird bei hohen errorRel-Werten unsinnig lol
+            System.out.println("     - richtig geraten: " + e.getCorrect() + " (" + e.getTop1Accuracy() + "%)");
         }
+        return e;
     }
 
     /** Gibt Statistiken zum Lernprozess eines Netzwerks an.
@@ -126,62 +71,68 @@ public class NetworkStats {
      * @param n Netzwerk (sollte untrainiert sein)
      * @param dataSet Datenset mit bekannten Outputs
      * @param accuracy gewünschte Genauigkeit
+     * @return der Lauf mit Standard-Einstellungen (Ergebnis und Metriken)
      */
-    public static void getTrainingStats(Network n, Data[] dataSet, double accuracy){
+    public static TrainingRun getTrainingStats(Network n, Data[] dataSet, double accuracy){
+        TrainingRun run = new TrainingRun();
+        getTrainingStats(n, dataSet, accuracy, run);
+        return run;
+    }
+
+    /** Wie getTrainingStats(Network, Data[], double), aber mit den Einstellungen des übergebenen Laufs.
+     * 
+     * Über run.getMetrics().addListener() kann der Fortschritt z.B. mit einem MetricsExporter
+     * mitgeschrieben oder in ChartData gesammelt werden.
+     * 
+     * @param n Netzwerk (sollte untrainiert sein)
+     * @param dataSet Datenset mit bekannten Outputs
+     * @param accuracy gewünschte Genauigkeit
+     * @param run Einstellungen, danach Ergebnis und Metriken dieses Laufs
+     */
+    public static void getTrainingStats(Network n, Data[] dataSet, double accuracy, TrainingRun run){
         if(accuracy <= 0){
             System.err.println("Genauigkeit muss positiv sein.");
             return;
         }
-        
-        resetTrainingStats();
-        printGCA = false;
-        int counter = 0;
-        double oldAcc = 0.0;
-
-        if(printGTS) System.out.println("-> Training-Statistik:");
-        getCurrentAccuracy(n, dataSet);
-        start = System.currentTimeMillis();
-
-        while(NetworkStats.accuracy < accuracy){
-            Random r = new Random();
-            int rc = r.nextInt(dataSet.length);
-            oldAcc = NetworkStats.accuracy;
-            n.train(dataSet[rc].getInputs(), dataSet[rc].getOutputs());
-            getCurrentAccuracy(n, dataSet);
-            counter++;
-            
-            if(!String.valueOf(oldAcc).equals(String.valueOf(NetworkStats.accuracy)) && !skip()){  // Jaja, nicht schön
-                if(printGTS){
-                    System.out.println("     " + NetworkStats.accuracy + "% Genauigkeit nach " + counter + " Epochen");
-                    noResultCounter = 0;
-                }
-            } else {
-                noResultCounter++;
-                double currentQuotient = Double.valueOf(noResultCounter) / Double.valueOf(NO_RESULT);
-                if(currentQuotient > maxQuotient) maxQuotient = cut(currentQuotient, 3);
-                if(noResultCounter >= NO_RESULT){
-                    if(printGTS){
-                        System.err.println("[!] Das Netzwerk steckt fest oder lernt nicht schnell genug.");
-                        System.err.println("[!] Entweder NetworkStats.NO_RESULT hochschrauben, oder Netzwerkarchitektur ändern.");
-                    
-                        // TODO: Feststecken eines Netzwerks besser erkennen
-                    }
-                    noResult = true;
-                    break;
-                }
-            }
+
+        TrainingMetrics metrics = run.getMetrics();
+        Progress progress = printGTS ? new Progress() : null;
+        if(progress != null){
+            System.out.println("-> Training-Statistik:");
+            metrics.addListener(progress);
         }
 
-        // Achtung: Vergangene Zeit darf nur mit anderen Zeiten von getTrainingStats() verglichen werden, sonst kein sinnvolles Maß für Effizienz.
-        finish = System.currentTimeMillis();
-        diff = (finish - start)/1000.0;
-        eps = (int) cut((double) counter/(diff), 2);
-        if(printGTS){
-            System.out.println("\n     " + NetworkStats.accuracy + "% Genauigkeit nach " + counter + " Epochen");
-            System.out.println("     (" +  diff + " Sekunden, " + eps + " Epochen/Sekunde)");
+        run.train(n, dataSet, accuracy);
+
+        if(progress != null){
+            metrics.removeListener(progress);
+        }
+        if(!printGTS){
+            return;
         }
+        if(run.isNoResult()){
+            System.err.println("[!] Das Netzwerk steckt fest oder lernt nicht schnell genug.");
+            System.err.println("[!] Entweder TrainingRun.stallSteps() hochschrauben, oder Netzwerkarchitektur ändern.");
 
-        printGCA = true;
+            // TODO: Feststecken eines Netzwerks besser erkennen
+        }
+        double[] hogwild = run.getHogwildSamplesPerSecond();
+        if(hogwild != null){
+            double total = 0.0;
+            System.out.println("     Hogwild (" + hogwild.length + " Threads):");
+            for(int t = 0; t < hogwild.length; t++){
+                System.out.println("       - Thread " + t + ": " + (int) hogwild[t] + " Inputs/Sekunde");
+                total += hogwild[t];
+            }
+            System.out.println("       - gesamt: " + (int) total + " Inputs/Sekunde");
+        }
+
+        // Achtung: Vergangene Zeit darf nur mit anderen Zeiten von getTrainingStats() verglichen werden, sonst kein sinnvolles Maß für Effizienz.
+        double diff = cut(metrics.getElapsedSeconds(), 3);
+        int eps = (int) metrics.getSamplesPerSecond();
+        System.out.println("\n     " + run.getAccuracy() + "% Genauigkeit nach " + metrics.getSamples() + " Epochen");
+        System.out.println("     (" +  diff + " Sekunden, " + eps + " Epochen/Sekunde)");
+        printMetrics(metrics);
     }
 
     /** Findet das Netzwerk mit der (fast) effizientesten Architektur.
@@ -191,6 +142,17 @@ public class NetworkStats {
      * @param acc gewünschte Genauigkeit
      */
     public static void getArchStats(Data[] dataSet, int maxNeurons, double acc){
+        getArchStats(dataSet, maxNeurons, acc, new TrainingRun());
+    }
+
+    /** Wie getArchStats(Data[], int, double), jede Architektur wird aber mit den Einstellungen von settings trainiert.
+     * 
+     * @param dataSet Datenset mit bekannten Outputs
+     * @param maxNeurons maximale Anzahl an Hidden-Layer-Neuronen
+     * @param acc gewünschte Genauigkeit
+     * @param settings Vorlage für die Trainingsläufe (siehe TrainingRun.copySettings())
+     */
+    public static void getArchStats(Data[] dataSet, int maxNeurons, double acc, TrainingRun settings){
         if(dataSet[0].getOutputs() == null){
             System.err.println("Datenset muss bekannte Outputs enthalten.");
             return;
@@ -206,22 +168,22 @@ public class NetworkStats {
         double bestTime = Double.MAX_VALUE;
         int bestNeuronCount = 0;
         String bestStats = "";
-        printGTS = false;
-
-
 
         if(printGAS) System.out.println("-> Architektur-Statistik:"); 
 
         for(int hidden = 2; hidden <= maxNeurons; hidden++){
             Network n = new Network(inputSize, hidden, outputSize);
-            getTrainingStats(n, dataSet, acc);
+            TrainingRun run = settings.copySettings();
+            run.train(n, dataSet, acc);
+            double diff = cut(run.getMetrics().getElapsedSeconds(), 3);
+            int eps = (int) run.getMetrics().getSamplesPerSecond();
             if(printGAS){
                 String arch = "(" + inputSize + "," + hidden + "," + outputSize + ")";
                 System.out.print("     - " + arch + ": ");
-                if(noResult){
-                    System.out.println("zu langsam (Abbruch nach " + NO_RESULT + " Trainings ohne Verbesserung)");
+                if(run.isNoResult()){
+                    System.out.println("zu langsam (Abbruch nach " + run.getStallSteps() + " Trainings ohne Verbesserung)");
                 } else {
-                    String stats = acc + "% Genauigkeit in " + diff + " Sekunden mit " + eps + " Epochen/Sekunde, Abbruchniveau: " + cut(maxQuotient * 100.0, 1) + "%";
+                    String stats = acc + "% Genauigkeit in " + diff + " Sekunden mit " + eps + " Epochen/Sekunde, Abbruchniveau: " + cut(run.getMaxQuotient() * 100.0, 1) + "%";
                     System.out.println(stats);
                     if(diff < bestTime){
                         bestTime = diff;
@@ -236,18 +198,50 @@ public class NetworkStats {
             System.out.println("\n     Das schnellste Netzwerk hatte " + bestNeuronCount + " Hidden-Layer-Neuronen:");
             System.out.println("     " + bestStats);
         }
+    }
 
-        printGTS = true;
+    /** Gibt Latenzen, Testzeit, Allokationsrate und GC-Zeit eines Laufs auf der Konsole aus.
+     * 
+     * @param m Metriken des Laufs
+     */
+    public static void printMetrics(TrainingMetrics m){
+        LatencyHistogram f = m.getForwardLatency();
+        LatencyHistogram b = m.getBackwardLatency();
+        System.out.println("     Vorwärtsdurchlauf: " + cut(f.getPercentile(50) / 1e3, 1) + " µs Median, " + cut(f.getPercentile(99) / 1e3, 1) + " µs p99");
+        System.out.println("     Rückwärtsdurchlauf: " + cut(b.getPercentile(50) / 1e3, 1) + " µs Median, " + cut(b.getPercentile(99) / 1e3, 1) + " µs p99");
+        System.out.println("     Genauigkeitstests: " + cut(m.getEvalSeconds(), 3) + " Sekunden (" + m.getEvaluations() + " Tests)");
+        if(m.getAllocatedBytes() >= 0){
+            System.out.println("     Allokationen: " + cut(m.getAllocationRate() / (1 << 20), 1) + " MB/Sekunde");
+        }
+        if(m.getGcMillis() >= 0){
+            System.out.println("     Garbage Collection: " + m.getGcMillis() + " ms");
+        }
     }
 
-    /** Gibt an, wie wenig getTrainingStats() ausgeben soll (alle skipCounter Mal statt jedes mal) */
-    public static boolean skip(){
-        if(skipCounter < skip){
-            skipCounter++;
-            return true;
-        } else {
+    /** Gibt den Fortschritt eines Laufs von getTrainingStats() auf der Konsole aus,
+     * bei jeder skip-ten Änderung der Genauigkeit. */
+    private static class Progress implements TrainingListener {
+
+        double lastAccuracy = Double.NaN;
+        int skipCounter = 0;
+
+        @Override
+        public void onProgress(TrainingMetrics m){
+            if(m.getAccuracy() == lastAccuracy){
+                return;
+            }
+            lastAccuracy = m.getAccuracy();
+            if(skipCounter < skip){
+                skipCounter++;
+                return;
+            }
             skipCounter = 0;
-            return false;
+            String estimate = m.getEstimatedAccuracy() >= 0 ? " (geschätzt beim Trainieren: " + m.getEstimatedAccuracy() + "%)" : "";
+            System.out.println("     " + m.getAccuracy() + "% Genauigkeit nach " + m.getSamples() + " Epochen" + estimate);
+        }
+
+        @Override
+        public void onFinish(TrainingMetrics m){
         }
     }
 }
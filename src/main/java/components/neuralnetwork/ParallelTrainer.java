@@ -0,0 +1,200 @@
+package components.neuralnetwork;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import components.handler.Data;
+
+/** Trainiert ein Netzwerk datenparallel auf mehreren Kernen.
+ *
+ * Jeder Mini-Batch wird in gleich große Teile (Shards) zerlegt. Jeder Teil wird in einem
+ * ForkJoinPool mit eigenem Zwischenspeicher berechnet und schreibt seine Anpassungen in
+ * einen eigenen Gradients-Puffer. Danach werden die Puffer in fester Reihenfolge
+ * zusammengeführt und einmal pro Schritt auf das Netzwerk angewendet.
+ *
+ * Das Ergebnis entspricht Network.trainBatch() mit demselben Batch bis auf Rundungsfehler
+ * (die Summen werden nur in anderer Reihenfolge gebildet) und hängt nicht von der
+ * Thread-Verteilung ab.
+ *
+ * @version 17. Oktober 2026
+ */
+public class ParallelTrainer {
+
+    /** zu trainierendes Netzwerk */
+    final Network network;
+
+    /** Threads für die Shards */
+    final ForkJoinPool pool;
+
+    /** maximale Batchgröße */
+    final int batchSize;
+
+    /** Anzahl der Teile, in die ein Batch zerlegt wird */
+    final int shards;
+
+    /** Zwischenspeicher pro Shard */
+    final TrainingWorkspace[] workspaces;
+
+    /** Anpassungen pro Shard */
+    final Gradients[] gradients;
+
+    /** Anzahl Inputs der Shards im aktuellen Schritt */
+    final int[] shardSizes;
+
+    /** Ziel für die Laufzeiten der Schritte, null = nicht messen (siehe setMetrics()) */
+    TrainingMetrics metrics = null;
+
+    /** Konstruktor, benutzt alle verfügbaren Kerne.
+     *
+     * @param network Netzwerk
+     * @param batchSize maximale Batchgröße
+     */
+    public ParallelTrainer(Network network, int batchSize){
+        this(network, batchSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Konstruktor
+     *
+     * @param network Netzwerk
+     * @param batchSize maximale Batchgröße
+     * @param threads Anzahl Threads
+     */
+    public ParallelTrainer(Network network, int batchSize, int threads){
+        if(batchSize <= 0 || threads <= 0){
+            System.err.println("Batchgröße und Anzahl Threads müssen positiv sein.");
+            batchSize = Math.max(batchSize, 1);
+            threads = Math.max(threads, 1);
+        }
+
+        this.network = network;
+        this.batchSize = batchSize;
+        this.shards = Math.min(threads, batchSize);
+        this.pool = new ForkJoinPool(shards);
+
+        int shardCapacity = (batchSize + shards - 1) / shards;
+        workspaces = new TrainingWorkspace[shards];
+        gradients = new Gradients[shards];
+        shardSizes = new int[shards];
+        for(int i = 0; i < shards; i++){
+            workspaces[i] = network.newWorkspace(shardCapacity);
+            workspaces[i].shard = true;
+            gradients[i] = network.newGradients();
+        }
+    }
+
+    /** Trainiert das Netzwerk mit einem Mini-Batch (ein Schritt).
+     *
+     * @param batch Daten mit bekannten Outputs (höchstens batchSize viele)
+     */
+    public void trainBatch(Data[] batch){
+        if(batch.length == 0) return;
+        if(batch.length > batchSize){
+            System.err.println("Batch ist größer als die maximale Batchgröße.");
+            return;
+        }
+
+        long start = metrics != null ? System.nanoTime() : 0;
+        pool.invoke(new ShardTask(batch, 0, shards));
+
+        // in fester Reihenfolge zusammenführen, damit das Ergebnis reproduzierbar ist
+        Gradients sum = null;
+        for(int i = 0; i < shards; i++){
+            if(shardSizes[i] == 0) continue;
+            if(sum == null){
+                sum = gradients[i];
+            } else {
+                sum.add(gradients[i]);
+            }
+        }
+        network.applyGradients(sum);
+        if(metrics != null) record(start);
+    }
+
+    /** Misst einen Schritt: Vorwärtsdurchlauf bis der langsamste Shard damit fertig war, der Rest als Rückwärtsdurchlauf. */
+    void record(long start){
+        long forwardDone = start;
+        for(int i = 0; i < shards; i++){
+            if(shardSizes[i] > 0) forwardDone = Math.max(forwardDone, workspaces[i].forwardDone);
+        }
+        metrics.recordForward(forwardDone - start);
+        metrics.recordBackward(System.nanoTime() - forwardDone);
+    }
+
+    /** Gibt den absoluten Fehler des letzten Schritts zurück (siehe TrainingWorkspace.getErrorAbs()).
+     *
+     * @return absoluter Fehler über alle Inputs des letzten Batches
+     */
+    public double getErrorAbs(){
+        double sum = 0.0;
+        for(int i = 0; i < shards; i++){
+            if(shardSizes[i] > 0) sum += workspaces[i].getErrorAbs();
+        }
+        return sum;
+    }
+
+    /** Misst die Laufzeiten von Vorwärts- und Rückwärtsdurchlauf, ein Wert pro Schritt über alle Shards
+     * (Fork, Zusammenführen und Anwenden eingeschlossen, siehe TrainingWorkspace.setMetrics()).
+     *
+     * @param m Ziel der Messungen, null = nicht mehr messen
+     */
+    public void setMetrics(TrainingMetrics m){
+        metrics = m;
+        for(TrainingWorkspace ws : workspaces){
+            ws.setMetrics(m);
+        }
+    }
+
+    /** Beendet die Threads des Trainers. */
+    public void shutdown(){
+        pool.shutdown();
+    }
+
+    public int getShards(){
+        return shards;
+    }
+
+    /** Berechnet Shard s: Inputs [from, to) des Batches. */
+    void computeShard(Data[] batch, int s){
+        int from = (int) ((long) batch.length * s / shards);
+        int to = (int) ((long) batch.length * (s + 1) / shards);
+        shardSizes[s] = to - from;
+        if(from == to) return;
+
+        TrainingWorkspace ws = workspaces[s];
+        Matrix inputs, outputs;
+        if(ws.getBatchSize() == 1){
+            inputs = batch[from].getInputs();
+            outputs = batch[from].getOutputs();
+        } else {
+            ws.pack(batch, from, to);
+            inputs = TrainingWorkspace.cols(ws.inputs, to - from);
+            outputs = TrainingWorkspace.cols(ws.outputs, to - from);
+        }
+        network.computeGradients(inputs, outputs, batch.length, ws, gradients[s]);
+    }
+
+    /** Teilt die Shards rekursiv auf die Threads des Pools auf. */
+    class ShardTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        final Data[] batch;
+        final int lo, hi;
+
+        ShardTask(Data[] batch, int lo, int hi){
+            this.batch = batch;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute(){
+            if(hi - lo == 1){
+                computeShard(batch, lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ShardTask(batch, lo, mid), new ShardTask(batch, mid, hi));
+        }
+    }
+}
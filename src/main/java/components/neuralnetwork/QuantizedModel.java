@@ -0,0 +1,302 @@
+package components.neuralnetwork;
+
+import components.handler.Data;
+
+/** Unveränderliches, auf 8 Bit quantisiertes Modell zum Raten.
+ *
+ * Nach dem Training werden beide Gewichtsmatrizen zeilenweise auf int8 skaliert:
+ * q = round(w / scale) mit scale = max|w| / 127 der jeweiligen Reihe. Die bias bleiben float.
+ *
+ * Erste Schicht: Da die Inputs aus Translator binär sind, werden für einen SparseInput nur die
+ * passenden int8-Gewichte als int aufsummiert und am Ende einmal mit scale multipliziert.
+ * Zweite Schicht: Die Aktivierungen der Hidden-Layer werden auf 0..255 quantisiert (Skala aus
+ * calibrate()), das Produkt mit den int8-Gewichten wird ebenfalls als int aufsummiert.
+ *
+ * Das Modell ist 8x kleiner als mit double und 4x kleiner als mit float (siehe FloatModel).
+ * Gespeichert und geladen wird es mit ModelFile.save(QuantizedModel, ...) und ModelFile.toQuantizedModel().
+ * Thread-sicher, solange jeder Thread eigene Puffer verwendet.
+ *
+ * @version 17. Oktober 2026
+ */
+public final class QuantizedModel {
+
+    /** größter Betrag eines int8-Gewichts */
+    static final int QMAX = 127;
+
+    /** größter Wert einer quantisierten Aktivierung (uint8) */
+    static final int AMAX = 255;
+
+    final int INPUT_SIZE;
+    final int HIDDEN_SIZE;
+    final int OUTPUT_SIZE;
+
+    /** quantisierte Gewichte, jeweils zeilenweise */
+    final byte[] weightsIH;
+    final byte[] weightsHO;
+
+    /** Skala pro Reihe: w = scale * q */
+    final float[] scaleIH;
+    final float[] scaleHO;
+
+    final float[] biasH;
+    final float[] biasO;
+
+    /** größte Aktivierung der Hidden-Layer, entspricht AMAX nach der Quantisierung */
+    final float hiddenMax;
+
+    /** Konstruktor, die Arrays werden nicht kopiert. */
+    QuantizedModel(int in, int hidden, int out, byte[] weightsIH, float[] scaleIH, byte[] weightsHO, float[] scaleHO, float[] biasH, float[] biasO, float hiddenMax){
+        this.INPUT_SIZE = in;
+        this.HIDDEN_SIZE = hidden;
+        this.OUTPUT_SIZE = out;
+        this.weightsIH = weightsIH;
+        this.scaleIH = scaleIH;
+        this.weightsHO = weightsHO;
+        this.scaleHO = scaleHO;
+        this.biasH = biasH;
+        this.biasO = biasO;
+        this.hiddenMax = hiddenMax;
+    }
+
+    /** Quantisiert ein Model.
+     *
+     * @param m Model (double)
+     * @param calibration Daten zum Kalibrieren der Hidden-Aktivierungen, oder null (dann wird
+     *        das Maximum von sigmoid, 1.0, angenommen)
+     * @return QuantizedModel
+     */
+    public static QuantizedModel quantize(Model m, Data[] calibration){
+        float[] scaleIH = new float[m.HIDDEN_SIZE];
+        float[] scaleHO = new float[m.OUTPUT_SIZE];
+        byte[] weightsIH = quantize(m.weightsIH, scaleIH);
+        byte[] weightsHO = quantize(m.weightsHO, scaleHO);
+
+        float hiddenMax = calibration == null || calibration.length == 0 ? 1.0f : calibrate(m, calibration);
+        return new QuantizedModel(m.INPUT_SIZE, m.HIDDEN_SIZE, m.OUTPUT_SIZE, weightsIH, scaleIH, weightsHO, scaleHO,
+            FloatModel.toFloat(m.biasH), FloatModel.toFloat(m.biasO), hiddenMax);
+    }
+
+    /** Quantisiert die aktuellen Parameter eines Netzwerks.
+     *
+     * @param n Netzwerk
+     * @param calibration Daten zum Kalibrieren, oder null
+     * @return QuantizedModel
+     */
+    public static QuantizedModel quantize(Network n, Data[] calibration){
+        return quantize(n.snapshot(), calibration);
+    }
+
+    /** Quantisiert eine Matrix zeilenweise auf int8.
+     *
+     * @param w Matrix
+     * @param scale Ausgabe: Skala pro Reihe (Länge w.getRows())
+     * @return quantisierte Werte, zeilenweise
+     */
+    static byte[] quantize(Matrix w, float[] scale){
+        int rows = w.getRows(), cols = w.getCols();
+        byte[] q = new byte[rows * cols];
+
+        for(int i = 0; i < rows; i++){
+            int row = w.offset + i * w.stride;
+            double max = 0.0;
+            for(int j = 0; j < cols; j++){
+                max = Math.max(max, Math.abs(w.data[row + j]));
+            }
+            double s = max == 0.0 ? 1.0 : max / QMAX;
+            scale[i] = (float) s;
+            for(int j = 0; j < cols; j++){
+                q[i * cols + j] = (byte) Math.max(-QMAX, Math.min(QMAX, Math.round(w.data[row + j] / s)));
+            }
+        }
+        return q;
+    }
+
+    /** Bestimmt die größte Aktivierung der Hidden-Layer auf den Kalibrierungsdaten. */
+    static float calibrate(Model m, Data[] calibration){
+        Activations act = m.newActivations();
+        double max = 0.0;
+        for(Data d : calibration){
+            m.predict(d.getInputs(), act);
+            Matrix h = act.getHidden();
+            for(int i = 0; i < m.HIDDEN_SIZE; i++){
+                max = Math.max(max, h.data[h.offset + i * h.stride]);
+            }
+        }
+        return max == 0.0 ? 1.0f : (float) max;
+    }
+
+    /** Rät die Klassifikation eines binären, dünn besetzten Inputs.
+     *
+     * Die erste Schicht besteht nur aus int-Additionen.
+     *
+     * @param input Input der Länge INPUT_SIZE
+     * @param hidden Puffer für die quantisierte Hidden-Layer (Länge HIDDEN_SIZE)
+     * @param output Puffer für die Outputs (Länge OUTPUT_SIZE)
+     * @return output
+     */
+    public float[] predict(SparseInput input, int[] hidden, float[] output){
+        int[] idx = input.indices;
+        for(int i = 0; i < HIDDEN_SIZE; i++){
+            int row = i * INPUT_SIZE;
+            int acc = 0;
+            for(int k = 0; k < idx.length; k++){
+                acc += weightsIH[row + idx[k]];
+            }
+            hidden[i] = activate(scaleIH[i] * acc + biasH[i]);
+        }
+        return forwardHidden(hidden, output);
+    }
+
+    /** Rät die Klassifikation eines beliebigen Inputs mit Werten zwischen 0 und 1.
+     *
+     * @param input Inputs, mit quantizeInput() auf 0..255 quantisiert (Länge INPUT_SIZE)
+     * @param hidden Puffer für die quantisierte Hidden-Layer (Länge HIDDEN_SIZE)
+     * @param output Puffer für die Outputs (Länge OUTPUT_SIZE)
+     * @return output
+     */
+    public float[] predict(int[] input, int[] hidden, float[] output){
+        for(int i = 0; i < HIDDEN_SIZE; i++){
+            int row = i * INPUT_SIZE;
+            int acc = 0;
+            for(int j = 0; j < INPUT_SIZE; j++){
+                acc += weightsIH[row + j] * input[j];
+            }
+            hidden[i] = activate(scaleIH[i] * acc / AMAX + biasH[i]);
+        }
+        return forwardHidden(hidden, output);
+    }
+
+    /** Rät die Klassifikation eines Inputs.
+     *
+     * @param input Inputs in (INPUT_SIZE x 1)-Matrix
+     * @return Klassifikation ("guess") als (OUTPUT_SIZE x 1)-Matrix
+     */
+    public Matrix predict(Matrix input){
+        int[] hidden = new int[HIDDEN_SIZE];
+        float[] out = new float[OUTPUT_SIZE];
+        SparseInput sparse = SparseInput.fromMatrix(input);
+        if(sparse != null){
+            predict(sparse, hidden, out);
+        } else {
+            predict(quantizeInput(input, new int[INPUT_SIZE]), hidden, out);
+        }
+
+        Matrix guess = new Matrix(OUTPUT_SIZE, 1);
+        for(int i = 0; i < OUTPUT_SIZE; i++){
+            guess.data[i] = out[i];
+        }
+        return guess;
+    }
+
+    /** Quantisiert einen Spaltenvektor mit Werten zwischen 0 und 1 auf 0..255.
+     *
+     * @param input Spaltenvektor (INPUT_SIZE x 1)
+     * @param dest Ausgabe (Länge INPUT_SIZE)
+     * @return dest
+     */
+    public static int[] quantizeInput(Matrix input, int[] dest){
+        for(int i = 0; i < dest.length; i++){
+            double v = input.data[input.offset + i * input.stride];
+            dest[i] = (int) Math.max(0, Math.min(AMAX, Math.round(v * AMAX)));
+        }
+        return dest;
+    }
+
+    /** sigmoid und Quantisierung einer Hidden-Aktivierung auf 0..hiddenMax -> 0..255 */
+    int activate(float x){
+        double a = 1.0 / (1.0 + Math.exp(-x));
+        return (int) Math.min(AMAX, Math.round(a / hiddenMax * AMAX));
+    }
+
+    /** zweite Schicht mit int-Akkumulation */
+    float[] forwardHidden(int[] hidden, float[] output){
+        float hs = hiddenMax / AMAX;
+        for(int i = 0; i < OUTPUT_SIZE; i++){
+            int row = i * HIDDEN_SIZE;
+            int acc = 0;
+            for(int j = 0; j < HIDDEN_SIZE; j++){
+                acc += weightsHO[row + j] * hidden[j];
+            }
+            output[i] = (float) (1.0 / (1.0 + Math.exp(-(scaleHO[i] * hs * acc + biasO[i]))));
+        }
+        return output;
+    }
+
+    /** Gibt die Größe der Parameter in Byte zurück. */
+    public int getSizeInBytes(){
+        return weightsIH.length + weightsHO.length + 4 * (scaleIH.length + scaleHO.length + biasH.length + biasO.length + 1);
+    }
+
+    /** Gibt die Größe der Parameter mit double in Byte zurück (zum Vergleich mit getSizeInBytes()). */
+    public int getDoubleSizeInBytes(){
+        return 8 * (HIDDEN_SIZE * (INPUT_SIZE + 1) + OUTPUT_SIZE * (HIDDEN_SIZE + 1));
+    }
+
+    /** Wandelt die int8-Gewichte zeilenweise zurück in eine Matrix: w = scale * q. */
+    static Matrix dequantize(byte[] q, float[] scale, int rows, int cols){
+        double[] data = new double[rows * cols];
+        for(int i = 0; i < rows; i++){
+            for(int j = 0; j < cols; j++){
+                data[i * cols + j] = (double) scale[i] * q[i * cols + j];
+            }
+        }
+        return new Matrix(rows, cols, data);
+    }
+
+    /** Kopiert einen float-bias in eine Spaltenmatrix. */
+    static Matrix toMatrix(float[] bias){
+        double[] data = new double[bias.length];
+        for(int i = 0; i < bias.length; i++){
+            data[i] = bias[i];
+        }
+        return new Matrix(bias.length, 1, data);
+    }
+
+    /** Ergebnis von compare() */
+    public static final class Comparison {
+
+        final Evaluation doubleEvaluation;
+        final Evaluation quantizedEvaluation;
+
+        Comparison(Evaluation doubleEvaluation, Evaluation quantizedEvaluation){
+            this.doubleEvaluation = doubleEvaluation;
+            this.quantizedEvaluation = quantizedEvaluation;
+        }
+
+        public Evaluation getDoubleEvaluation(){
+            return doubleEvaluation;
+        }
+
+        public Evaluation getQuantizedEvaluation(){
+            return quantizedEvaluation;
+        }
+
+        /** Gibt den Verlust an richtig geratenen Inputs gegenüber double in Prozentpunkten zurück. */
+        public double getTop1Drop(){
+            return NetworkStats.cut(doubleEvaluation.getTop1Accuracy() - quantizedEvaluation.getTop1Accuracy(), 1);
+        }
+    }
+
+    /** Vergleicht das quantisierte Modell mit dem double-Modell auf einem Validierungsset.
+     *
+     * @param m Model (double)
+     * @param q dasselbe Modell quantisiert (siehe quantize())
+     * @param validation Validierungsset mit bekannten Outputs
+     * @return Auswertungen beider Modelle
+     */
+    public static Comparison compare(Model m, QuantizedModel q, Data[] validation){
+        return new Comparison(Evaluator.evaluate(m, validation), Evaluator.evaluate(q, validation));
+    }
+
+    public int getInputSize(){
+        return INPUT_SIZE;
+    }
+
+    public int getHiddenSize(){
+        return HIDDEN_SIZE;
+    }
+
+    public int getOutputSize(){
+        return OUTPUT_SIZE;
+    }
+}
@@ -0,0 +1,84 @@
+package components.neuralnetwork;
+
+/** Dünn besetzter, binärer Input eines Netzwerks.
+ *
+ * Die Inputs aus Translator und Training.getMatrix() sind immer genau 0.0 oder 1.0 und nur
+ * ein kleiner Teil der Pixel ist gesetzt. Statt aller INPUT_SIZE Werte werden hier nur die
+ * Indizes der gesetzten Pixel (= 1.0) gespeichert. Die erste Schicht des Netzwerks summiert
+ * dann nur die passenden Spalten von weightsIH auf, ganz ohne Multiplikationen.
+ *
+ * @version 17. Oktober 2026
+ */
+public class SparseInput {
+
+    /** Länge des (dichten) Inputvektors */
+    final int size;
+
+    /** aufsteigende Indizes (beginnend bei 0) der Einträge, die 1.0 sind */
+    final int[] indices;
+
+    /** Konstruktor
+     *
+     * @param size Länge des Inputvektors
+     * @param indices aufsteigende Indizes (beginnend bei 0) der gesetzten Einträge; wird nicht kopiert
+     */
+    public SparseInput(int size, int[] indices){
+        this.size = size;
+        this.indices = indices;
+    }
+
+    /** Wandelt einen binären Spaltenvektor in einen SparseInput um.
+     *
+     * @param m Spaltenvektor (n x 1), dessen Einträge nur 0.0 oder 1.0 sind
+     * @return SparseInput, oder null wenn m nicht binär oder keine Spalte ist
+     */
+    public static SparseInput fromMatrix(Matrix m){
+        if(m.getCols() != 1){
+            return null;
+        }
+
+        int count = 0;
+        for(int i = 0; i < m.getRows(); i++){
+            double v = m.data[m.offset + i * m.stride];
+            if(v == 1.0){
+                count++;
+            } else if(v != 0.0){
+                return null;
+            }
+        }
+
+        int[] indices = new int[count];
+        int k = 0;
+        for(int i = 0; i < m.getRows(); i++){
+            if(m.data[m.offset + i * m.stride] == 1.0){
+                indices[k++] = i;
+            }
+        }
+        return new SparseInput(m.getRows(), indices);
+    }
+
+    /** Wandelt den Input zurück in einen (dichten) Spaltenvektor.
+     *
+     * @return Spaltenvektor (getSize() x 1)
+     */
+    public Matrix toMatrix(){
+        Matrix m = new Matrix(size, 1);
+        for(int i : indices){
+            m.data[i] = 1.0;
+        }
+        return m;
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    /** Gibt die Anzahl der gesetzten Einträge zurück. */
+    public int getCount(){
+        return indices.length;
+    }
+
+    public int[] getIndices(){
+        return indices;
+    }
+}
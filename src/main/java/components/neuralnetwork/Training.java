@@ -2,9 +2,8 @@ package components.neuralnetwork;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import javax.imageio.ImageIO;
 
@@ -24,20 +23,44 @@ public class Training {
     /** Bild vereinfacht (int) statt exakt (double) ausgeben */
     static boolean simple = true;
 
+    /** Grauwert (siehe getGrayscale()) für jede Summe r+g+b von 0 bis 3 * 255 */
+    private static final double[] GRAYSCALE = new double[3 * 255 + 1];
+
+    static {
+        for(int sum = 0; sum < GRAYSCALE.length; sum++){
+            GRAYSCALE[sum] = grayscaleOfSum(sum);
+        }
+    }
+
     /** Gibt den Grauwert eines RGB-Pixels an.
      * 
      * Der Parameter rgb enthält RGB-Werte an jeweils verschiedenen Bitstellen,
-     * die durch Bit-Manipulation extrahiert werden.
+     * die durch Bit-Manipulation extrahiert werden. Der Grauwert hängt nur von der Summe r+g+b ab
+     * und wird deshalb aus einer beim Laden der Klasse berechneten Tabelle gelesen.
      * 
      * @param rgb RGB-Wert
      * @return Grauwert
      */
     public static double getGrayscale(int rgb){
-        int r = (rgb >> 16) & 0xFF;
-        int g = (rgb >> 8) & 0xFF;
-        int b = (rgb & 0xFF);
-        
-        double grayTotal = (r+g+b)/3.0;
+        return GRAYSCALE[((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)];
+    }
+
+    /** Gibt an, ob ein RGB-Pixel als schwarz gilt, also getGrayscale(rgb) == 1.0 ist.
+     * 
+     * @param rgb RGB-Wert
+     * @return true für schwarz
+     */
+    public static boolean isInk(int rgb){
+        return GRAYSCALE[((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)] == 1.0;
+    }
+
+    /** Berechnet den Grauwert für eine Summe r+g+b (Einträge der Tabelle GRAYSCALE).
+     * 
+     * @param sum r+g+b
+     * @return Grauwert
+     */
+    private static double grayscaleOfSum(int sum){
+        double grayTotal = sum/3.0;
         double gray = grayTotal / 255.0;
         gray = NetworkStats.cut(gray, 3);
         
@@ -131,8 +154,7 @@ public class Training {
         int zeroRows = 0;
         
         for(int i = 1; i < m.getRows(); i++){
-            double[] currentRow = m.getData()[m.getRows()-i];
-            if(isZero(currentRow)){
+            if(isZero(m, m.getRows()-i)){
                 zeroRows++;
             } else {
                 break;
@@ -143,13 +165,53 @@ public class Training {
         
         for(int x = offset; x < m.getRows() - offset; x++){
             for(int y = 0; y < m.getCols(); y++){
-                out.setValue(x+1, y+1, m.getData()[x-offset][y]);
+                out.setValue(x+1, y+1, m.getValue(x-offset, y));
             }
         }
         
         return out;        
     }
 
+    /** Wie center(Matrix), arbeitet aber direkt auf einer zeilenweise belegten n x n Matrix.
+     * 
+     * Die Zeilen werden im Array selbst nach unten versetzt, es wird keine neue Matrix angelegt.
+     * 
+     * @param m Einträge zeilenweise, m[i * n + j]
+     * @param n Seitenlänge
+     */
+    public static void center(double[] m, int n){
+        if(m.length != n * n){
+            System.err.println("Matrix muss quadratisch sein.");
+            return;
+        }
+
+        // Reihen analysieren
+        int zeroRows = 0;
+
+        for(int i = 1; i < n; i++){
+            if(isZero(m, (n-i) * n, n)){
+                zeroRows++;
+            } else {
+                break;
+            }
+        }
+
+        int offset = zeroRows / 2;
+        if(offset == 0) return;
+
+        // die letzten offset Zeilen sind leer und bleiben es
+        System.arraycopy(m, 0, m, offset * n, (n - 2 * offset) * n);
+        Arrays.fill(m, 0, offset * n, 0.0);
+    }
+
+    /** Gibt an, ob count Einträge ab from nur Nullen sind. */
+    private static boolean isZero(double[] array, int from, int count){
+        for(int i = from; i < from + count; i++){
+            if(array[i] != 0.0) return false;
+        }
+        return true;
+    }
+
     /** Gibt an, ob eine Matrix quadratisch ist.
      * 
      * @param m Matrix
@@ -171,6 +233,19 @@ public class Training {
         return true;
     }
 
+    /** Gibt an, ob jeder Eintrag einer Matrixreihe Nullen sind.
+     * 
+     * @param m Matrix
+     * @param row Reihe (beginnend bei 0)
+     * @return true wenn nur Nullen
+     */
+    public static boolean isZero(Matrix m, int row){
+        for(int j = 0; j < m.getCols(); j++){
+            if(m.getValue(row, j) != 0.0) return false;
+        }
+        return true;
+    }
+
     /** Trainiert das Netzwerk auf hardgecodete Kategorien und gibt
      * dessen Parameter (Matrizen) auf der Konsole aus. Diese Parameter sind schlussendlich die,
      * die zum Erkennen der Zeichnungen verwendet werden.
@@ -285,55 +360,47 @@ public class Training {
             fullDataSet[i] = dataHourglass[i - SIZE * 3];
         }
 
-        NetworkStats.getTrainingStats(n, fullDataSet, 90.0);
+        // Lernkurve mitschreiben, die GUI zeigt sie mit -Dchart=PARAMS.csv an (siehe ChartData.read())
+        TrainingRun run = new TrainingRun();
+        MetricsExporter csv = MetricsExporter.open(new File("PARAMS.csv"), MetricsExporter.Format.CSV);
+        if(csv != null) run.getMetrics().addListener(csv);
+        NetworkStats.getTrainingStats(n, fullDataSet, 90.0, run);
+        if(csv != null) csv.close();
 
-        // Parameter auf Konsole ausgeben
-        paramsList.clear();
-        paramsToList(n);
-        saveParams();
+        // Parameter als Modelldatei speichern (siehe ModelFile)
+        saveParams(n, new String[] {"Eiffel Tower", "Eye", "Giraffe", "Hourglass"});
+        saveQuantized(n, new String[] {"Eiffel Tower", "Eye", "Giraffe", "Hourglass"}, fullDataSet);
 
     }
 
-    static ArrayList<String> paramsList = new ArrayList<>();
-
-    /** Gibt alle bias- und Gewichtsmatrizen als generierten Code auf der Konsole aus.
+    /** Speichert die Parameter des Netzwerks in der Modelldatei PARAMS.bin.
      * 
-     *  Wird benötigt, um das trainierte Netzwerk hardgecodet zu implementieren.
+     * Die Datei kann mit ModelFile.load() ohne Neukompilieren geladen werden.
      * 
      * @param n Netzwerk
+     * @param categories Namen der Kategorien in der Reihenfolge der Outputs
      */
-    public static void paramsToList(Network n){
-        matrixToList(n.getBiasH(), "biasH");
-        matrixToList(n.getBiasO(), "biasO");
-        matrixToList(n.getWeightsIH(), "weightsIH");
-        matrixToList(n.getWeightsHO(), "weightsHO");
-    }
-
-    /** Gibt eine Matrix als generierten Code auf der Konsole aus.
-     * 
-     * @param m Matrix
-     * @param name Name der Matrix
-     */
-    public static void matrixToList(Matrix m, String name){
-        for(int i = 1; i <= m.getCols(); i++){
-            for(int j = 1; j <= m.getRows(); j++){
-                String line = name + ".setValue(" + j + ", " + i + ", " + m.getValue(j-1, i-1) + ");";
-                paramsList.add(line);
-            }
+    public static void saveParams(Network n, String[] categories){
+        if(ModelFile.save(n, categories, new File("PARAMS.bin"), false)){
+            System.out.println("Parameter in PARAMS.bin gespeichert.");
         }
     }
 
-    /** Speichert den generierten Code mit den Parametern des Netzwerks in einer txt-Datei.*/
-    public static void saveParams(){
-        try {
-            FileWriter writer = new FileWriter(new File("PARAMS.txt"));
-            for(String line : paramsList){
-                writer.write(line + System.lineSeparator());
-            }
-            writer.close();
-        } catch (IOException e) {
-            System.err.println("Datei konnte nicht beschrieben werden.");
-            return;
+    /** Quantisiert das Netzwerk (siehe QuantizedModel) und speichert es in PARAMS.int8.bin.
+     *
+     * @param n Netzwerk
+     * @param categories Namen der Kategorien in der Reihenfolge der Outputs
+     * @param data Daten zum Kalibrieren und Vergleichen
+     */
+    public static void saveQuantized(Network n, String[] categories, Data[] data){
+        Model m = n.snapshot();
+        QuantizedModel q = QuantizedModel.quantize(m, data);
+        QuantizedModel.Comparison c = QuantizedModel.compare(m, q, data);
+        System.out.println("-> int8: " + c.getQuantizedEvaluation().getTop1Accuracy() + "% richtig geraten ("
+            + c.getTop1Drop() + " Prozentpunkte weniger als double), " + q.getSizeInBytes() + " statt "
+            + q.getDoubleSizeInBytes() + " Byte");
+        if(ModelFile.save(q, categories, new File("PARAMS.int8.bin"))){
+            System.out.println("Quantisierte Parameter in PARAMS.int8.bin gespeichert.");
         }
     }
 
@@ -0,0 +1,25 @@
+package components.neuralnetwork;
+
+/** Empfänger für den Fortschritt eines Trainingslaufs (siehe TrainingMetrics).
+ *
+ * Wird aus dem Thread aufgerufen, der trainiert. Wer daraus z.B. die GUI aktualisiert,
+ * muss selbst auf den richtigen Thread wechseln (Platform.runLater()).
+ *
+ * @version 17. Oktober 2026
+ */
+public interface TrainingListener {
+
+    /** Wird nach jedem Genauigkeitstest während des Trainings aufgerufen.
+     *
+     * @param m Metriken des Laufs (Stand jetzt)
+     */
+    void onProgress(TrainingMetrics m);
+
+    /** Wird einmal am Ende des Laufs aufgerufen.
+     *
+     * @param m Metriken des Laufs
+     */
+    default void onFinish(TrainingMetrics m){
+        onProgress(m);
+    }
+}
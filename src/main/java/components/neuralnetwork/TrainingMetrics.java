@@ -0,0 +1,255 @@
+package components.neuralnetwork;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Metriken eines Trainingslaufs.
+ *
+ * Ein Objekt gehört zu genau einem Lauf (siehe TrainingRun), mehrere Läufe
+ * kommen sich also nicht in die Quere. Gemessen werden Inputs pro Sekunde, die Laufzeiten von
+ * Vorwärts- und Rückwärtsdurchlauf pro Trainingsschritt (siehe TrainingWorkspace.setMetrics()),
+ * die Zeit für Genauigkeitstests, die Allokationsrate und die Zeit der Garbage Collection.
+ * Nach jedem Genauigkeitstest werden die angemeldeten TrainingListener benachrichtigt.
+ *
+ * @version 17. Oktober 2026
+ */
+public class TrainingMetrics {
+
+    /** Laufzeiten pro Trainingsschritt in ns (ein Wert pro Schritt, auch bei Batches) */
+    final LatencyHistogram forward = new LatencyHistogram();
+    final LatencyHistogram backward = new LatencyHistogram();
+
+    final List<TrainingListener> listeners = new ArrayList<>();
+
+    /** Start- und Endzeit (System.nanoTime()), finishNanos = 0 solange der Lauf läuft */
+    long startNanos = 0;
+    long finishNanos = 0;
+
+    /** trainierte Inputs und Trainingsschritte */
+    long samples = 0;
+    long steps = 0;
+
+    /** Anzahl und Gesamtzeit (ns) der Genauigkeitstests */
+    int evaluations = 0;
+    long evalNanos = 0;
+
+    /** Ergebnis des letzten Genauigkeitstests */
+    double accuracy = 0.0;
+    double errorAbs = 0.0;
+    double top1Accuracy = 0.0;
+
+    /** geschätzte Genauigkeit aus den Vorwärtsdurchläufen beim Trainieren, -1 = keine Schätzung */
+    double estimatedAccuracy = -1.0;
+
+    /** Stand von Allokationen (Bytes) und GC-Zeit (ms) beim Start, -1 = nicht messbar */
+    long allocStart = -1;
+    long gcStart = -1;
+
+    /** Stand beim Ende des Laufs */
+    long allocFinish = -1;
+    long gcFinish = -1;
+
+    /** Meldet einen Empfänger für den Fortschritt an.
+     *
+     * @param l Empfänger
+     * @return dieses Objekt
+     */
+    public TrainingMetrics addListener(TrainingListener l){
+        listeners.add(l);
+        return this;
+    }
+
+    /** Meldet einen Empfänger wieder ab.
+     *
+     * @param l Empfänger
+     */
+    public void removeListener(TrainingListener l){
+        listeners.remove(l);
+    }
+
+    /** Startet die Messung. */
+    public void start(){
+        startNanos = System.nanoTime();
+        finishNanos = 0;
+        allocStart = allocatedBytes();
+        gcStart = gcMillis();
+    }
+
+    /** Beendet die Messung und benachrichtigt die Empfänger. */
+    public void finish(){
+        finishNanos = System.nanoTime();
+        allocFinish = allocatedBytes();
+        gcFinish = gcMillis();
+        for(TrainingListener l : listeners){
+            l.onFinish(this);
+        }
+    }
+
+    /** Zählt einen Trainingsschritt.
+     *
+     * @param count Anzahl Inputs des Schritts
+     */
+    public void step(int count){
+        samples += count;
+        steps++;
+    }
+
+    /** Zählt mehrere gleich große Trainingsschritte auf einmal (z.B. ein Abschnitt von HogwildTrainer).
+     *
+     * @param count Anzahl Inputs pro Schritt
+     * @param steps Anzahl Schritte
+     */
+    public void step(int count, int steps){
+        samples += (long) count * steps;
+        this.steps += steps;
+    }
+
+    /** Trägt einen Genauigkeitstest ein und benachrichtigt die Empfänger.
+     *
+     * @param e Ergebnis des Tests
+     * @param nanos Dauer des Tests in ns
+     */
+    public void evaluated(Evaluation e, long nanos){
+        evaluations++;
+        evalNanos += nanos;
+        accuracy = e.getAccuracy();
+        errorAbs = e.getErrorAbs();
+        top1Accuracy = e.getTop1Accuracy();
+        for(TrainingListener l : listeners){
+            l.onProgress(this);
+        }
+    }
+
+    /** Geschätzte Genauigkeit eintragen (siehe TrainingRun.updateEstimate()), -1 = keine Schätzung. */
+    void estimate(double accuracy){
+        estimatedAccuracy = accuracy;
+    }
+
+    /** Vorwärtsdurchlauf eines Schritts eintragen (siehe Network). */
+    void recordForward(long nanos){
+        forward.record(nanos);
+    }
+
+    /** Rückwärtsdurchlauf inkl. Anpassen der Gewichte eines Schritts eintragen (siehe Network). */
+    void recordBackward(long nanos){
+        backward.record(nanos);
+    }
+
+    /** Summe der allokierten Bytes aller lebenden Threads, -1 wenn die JVM das nicht misst. */
+    static long allocatedBytes(){
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+        if(!sun.isThreadAllocatedMemorySupported() || !sun.isThreadAllocatedMemoryEnabled()) return -1;
+
+        long sum = 0;
+        for(long b : sun.getThreadAllocatedBytes(sun.getAllThreadIds())){
+            if(b > 0) sum += b;
+        }
+        return sum;
+    }
+
+    /** Summe der GC-Zeiten aller Collector in ms, -1 wenn nicht messbar. */
+    static long gcMillis(){
+        long sum = 0;
+        boolean any = false;
+        for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()){
+            long t = gc.getCollectionTime();
+            if(t >= 0){
+                sum += t;
+                any = true;
+            }
+        }
+        return any ? sum : -1;
+    }
+
+    /** Gibt die vergangene Zeit in Sekunden zurück (bis jetzt oder bis zum Ende des Laufs). */
+    public double getElapsedSeconds(){
+        if(startNanos == 0) return 0.0;
+        long end = finishNanos != 0 ? finishNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    /** Gibt die trainierten Inputs pro Sekunde zurück, inklusive der Zeit für Genauigkeitstests. */
+    public double getSamplesPerSecond(){
+        double s = getElapsedSeconds();
+        return s <= 0 ? 0.0 : samples / s;
+    }
+
+    /** Gibt die trainierten Inputs pro Sekunde zurück, ohne die Zeit für Genauigkeitstests. */
+    public double getTrainingSamplesPerSecond(){
+        double s = getElapsedSeconds() - getEvalSeconds();
+        return s <= 0 ? 0.0 : samples / s;
+    }
+
+    /** Gibt die Gesamtzeit der Genauigkeitstests in Sekunden zurück. */
+    public double getEvalSeconds(){
+        return evalNanos / 1e9;
+    }
+
+    /** Gibt die seit dem Start allokierten Bytes zurück (-1 wenn nicht messbar). */
+    public long getAllocatedBytes(){
+        if(allocStart < 0) return -1;
+        long now = finishNanos != 0 ? allocFinish : allocatedBytes();
+        return now < 0 ? -1 : now - allocStart;
+    }
+
+    /** Gibt die Allokationsrate in Bytes pro Sekunde zurück (-1 wenn nicht messbar). */
+    public double getAllocationRate(){
+        long bytes = getAllocatedBytes();
+        double s = getElapsedSeconds();
+        return bytes < 0 ? -1 : (s <= 0 ? 0.0 : bytes / s);
+    }
+
+    /** Gibt die Zeit der Garbage Collection seit dem Start in ms zurück (-1 wenn nicht messbar). */
+    public long getGcMillis(){
+        if(gcStart < 0) return -1;
+        long now = finishNanos != 0 ? gcFinish : gcMillis();
+        return now < 0 ? -1 : now - gcStart;
+    }
+
+    public LatencyHistogram getForwardLatency(){
+        return forward;
+    }
+
+    public LatencyHistogram getBackwardLatency(){
+        return backward;
+    }
+
+    public long getSamples(){
+        return samples;
+    }
+
+    public long getSteps(){
+        return steps;
+    }
+
+    public int getEvaluations(){
+        return evaluations;
+    }
+
+    public double getAccuracy(){
+        return accuracy;
+    }
+
+    public double getErrorAbs(){
+        return errorAbs;
+    }
+
+    public double getTop1Accuracy(){
+        return top1Accuracy;
+    }
+
+    /** Gibt die geschätzte Genauigkeit aus dem Training zurück (-1 wenn es keine Schätzung gibt, z.B. mit hogwild). */
+    public double getEstimatedAccuracy(){
+        return estimatedAccuracy;
+    }
+
+    /** true wenn finish() aufgerufen wurde */
+    public boolean isFinished(){
+        return finishNanos != 0;
+    }
+}
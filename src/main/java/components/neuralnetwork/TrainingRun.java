@@ -0,0 +1,323 @@
+package components.neuralnetwork;
+
+import java.util.Random;
+
+import components.handler.Data;
+
+/** Ein Trainingslauf: Einstellungen, Zustand der Trainingsschleife und Ergebnis.
+ *
+ * Jeder Lauf hat sein eigenes Objekt, mehrere Läufe (auch gleichzeitig in verschiedenen Threads)
+ * kommen sich also nicht in die Quere. Eingestellt wird vor train(), z.B.
+ * new TrainingRun().batchSize(32).threads(4).seed(1). Den Fortschritt bekommen die
+ * TrainingListener, die bei getMetrics() angemeldet sind (siehe MetricsExporter, ChartData).
+ * NetworkStats.getTrainingStats() gibt den Fortschritt zusätzlich auf der Konsole aus.
+ *
+ * @version 17. Oktober 2026
+ */
+public class TrainingRun {
+
+    /** Standard für stallSteps(): Trainingsschritte ohne Änderung der Genauigkeit, nach denen abgebrochen wird */
+    public static final int NO_RESULT = 500000;
+
+    /** Gewicht des bisherigen Werts beim gleitenden Mittel für getEstimatedAccuracy() */
+    static final double ESTIMATE_DECAY = 0.99;
+
+    // Einstellungen
+
+    /** Anzahl zufälliger Inputs pro Trainingsschritt (1 = ein Input pro Schritt) */
+    int batchSize = 1;
+
+    /** Anzahl Threads, auf die ein Batch verteilt wird (siehe ParallelTrainer) */
+    int threads = 1;
+
+    /** mit threads > 1: asynchrones Training ohne Locks (siehe HogwildTrainer) statt ParallelTrainer */
+    boolean hogwild = false;
+
+    /** Startwert für die Auswahl der Trainingsdaten (0 = zufällig) */
+    long seed = 0;
+
+    /** Trainingsschritte zwischen zwei Genauigkeitstests, 0 = einmal pro Epoche
+     * (mit hogwild trainiert ein Schritt batchSize * threads Inputs) */
+    int evalEvery = 0;
+
+    /** wenn > 0: so viele Inputs werden zurückgehalten und nur zum Testen benutzt */
+    int evalSample = 0;
+
+    /** Trainingsschritte ohne Änderung der Genauigkeit, nach denen abgebrochen wird.
+     * Gezählt wird in Schritten zu batchSize Inputs, ein hogwild-Schritt aller Threads zählt also threads-fach. */
+    int stallSteps = NO_RESULT;
+
+    /** Metriken dieses Laufs */
+    final TrainingMetrics metrics;
+
+    // Zustand und Ergebnis
+
+    /** Trainingsschritte (zu batchSize Inputs) seit der letzten Änderung der Genauigkeit */
+    long stepsWithoutProgress = 0;
+
+    /** größter Anteil von stepsWithoutProgress an stallSteps (Abbruch-Wahrscheinlichkeit) */
+    double maxQuotient = 0.0;
+
+    /** true wenn das Netzwerk stecken geblieben ist */
+    boolean noResult = false;
+
+    /** gleitendes Mittel des relativen Fehlers beim Trainieren, -1 = noch kein Wert */
+    double estimatedErrorRel = -1.0;
+
+    /** Ergebnis des letzten Genauigkeitstests */
+    Evaluation lastEvaluation = null;
+
+    /** Inputs pro Sekunde der Threads mit hogwild, sonst null */
+    double[] hogwildSamplesPerSecond = null;
+
+    /** Konstruktor */
+    public TrainingRun(){
+        this(new TrainingMetrics());
+    }
+
+    /** Konstruktor
+     *
+     * @param metrics Metriken des Laufs (z.B. mit schon angemeldeten Listenern)
+     */
+    public TrainingRun(TrainingMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    /** Erzeugt einen neuen Lauf mit denselben Einstellungen (ohne Listener und Ergebnis).
+     *
+     * @return neuer Lauf
+     */
+    public TrainingRun copySettings(){
+        TrainingRun r = new TrainingRun();
+        r.batchSize = batchSize;
+        r.threads = threads;
+        r.hogwild = hogwild;
+        r.seed = seed;
+        r.evalEvery = evalEvery;
+        r.evalSample = evalSample;
+        r.stallSteps = stallSteps;
+        return r;
+    }
+
+    public TrainingRun batchSize(int batchSize){
+        this.batchSize = Math.max(batchSize, 1);
+        return this;
+    }
+
+    public TrainingRun threads(int threads){
+        this.threads = Math.max(threads, 1);
+        return this;
+    }
+
+    public TrainingRun hogwild(boolean hogwild){
+        this.hogwild = hogwild;
+        return this;
+    }
+
+    public TrainingRun seed(long seed){
+        this.seed = seed;
+        return this;
+    }
+
+    /** @param steps Trainingsschritte zwischen zwei Genauigkeitstests, 0 = einmal pro Epoche */
+    public TrainingRun evalEvery(int steps){
+        this.evalEvery = Math.max(steps, 0);
+        return this;
+    }
+
+    /** @param count Anzahl zurückgehaltener Testdaten, 0 = mit dem ganzen Datenset testen */
+    public TrainingRun evalSample(int count){
+        this.evalSample = Math.max(count, 0);
+        return this;
+    }
+
+    /** @param steps Trainingsschritte ohne Änderung der Genauigkeit, nach denen abgebrochen wird */
+    public TrainingRun stallSteps(int steps){
+        this.stallSteps = Math.max(steps, 1);
+        return this;
+    }
+
+    /** Trainiert das Netzwerk, bis die gewünschte Genauigkeit erreicht ist oder es stecken bleibt.
+     *
+     * @param n Netzwerk
+     * @param dataSet Datenset mit bekannten Outputs
+     * @param accuracy gewünschte Genauigkeit in %
+     * @return true wenn die Genauigkeit erreicht wurde
+     */
+    public boolean train(Network n, Data[] dataSet, double accuracy){
+        stepsWithoutProgress = 0;
+        maxQuotient = 0.0;
+        noResult = false;
+        estimatedErrorRel = -1.0;
+        hogwildSamplesPerSecond = null;
+
+        Random r = seed == 0 ? new Random() : new Random(seed);
+        Data[] batch = new Data[batchSize];
+
+        // Testdaten: komplettes Datenset oder zurückgehaltene Stichprobe
+        Data[] trainSet = dataSet;
+        Data[] testSet = dataSet;
+        if(evalSample > 0 && evalSample < dataSet.length){
+            Data[][] parts = split(dataSet, evalSample, r);
+            trainSet = parts[0];
+            testSet = parts[1];
+        }
+
+        // mit hogwild trainiert jeder Thread pro Schritt batchSize Inputs
+        boolean async = threads > 1 && hogwild;
+        int samplesPerStep = async ? batch.length * threads : batch.length;
+        int every = evalEvery > 0 ? evalEvery : Math.max(1, trainSet.length / samplesPerStep);
+
+        TrainingWorkspace ws = n.newWorkspace(batch.length);
+        HogwildTrainer hog = async ? new HogwildTrainer(n, threads, seed) : null;
+        ParallelTrainer parallel = threads > 1 && !hogwild && batch.length > 1 ? new ParallelTrainer(n, batch.length, threads) : null;
+        ws.setMetrics(metrics);
+        if(hog != null) hog.setMetrics(metrics);
+        if(parallel != null) parallel.setMetrics(metrics);
+
+        lastEvaluation = Evaluator.evaluate(n, testSet);
+        metrics.estimate(-1.0);
+        metrics.start();
+
+        long steps = 0;
+        while(lastEvaluation.getAccuracy() < accuracy){
+            if(hog != null){
+                // alle Threads trainieren ohne Pause bis zum nächsten Genauigkeitstest (every Schritte)
+                hog.train(trainSet, (long) every * batch.length);
+                metrics.step(samplesPerStep, every);
+                steps += every;
+            } else {
+                if(batch.length == 1){
+                    n.train(trainSet[r.nextInt(trainSet.length)], ws);
+                    updateEstimate(ws.getErrorAbs(), 1);
+                } else {
+                    for(int i = 0; i < batch.length; i++){
+                        batch[i] = trainSet[r.nextInt(trainSet.length)];
+                    }
+                    if(parallel != null){
+                        parallel.trainBatch(batch);
+                        updateEstimate(parallel.getErrorAbs(), batch.length);
+                    } else {
+                        n.trainBatch(batch, ws);
+                        updateEstimate(ws.getErrorAbs(), batch.length);
+                    }
+                }
+                metrics.step(batch.length);
+                steps++;
+            }
+
+            // Genauigkeit nur nach jedem every-ten Schritt neu testen
+            if(steps % every != 0){
+                continue;
+            }
+            double oldAcc = lastEvaluation.getAccuracy();
+            long evalStart = System.nanoTime();
+            lastEvaluation = Evaluator.evaluate(n, testSet);
+            metrics.evaluated(lastEvaluation, System.nanoTime() - evalStart);
+
+            if(lastEvaluation.getAccuracy() != oldAcc){
+                stepsWithoutProgress = 0;
+            } else {
+                // in Schritten zu batchSize Inputs, damit stallSteps mit hogwild gleich viel Training bedeutet
+                stepsWithoutProgress += (long) every * samplesPerStep / batch.length;
+                maxQuotient = Math.max(maxQuotient, NetworkStats.cut((double) stepsWithoutProgress / stallSteps, 3));
+                if(stepsWithoutProgress >= stallSteps){
+                    noResult = true;
+                    break;
+                }
+            }
+        }
+
+        if(parallel != null) parallel.shutdown();
+        if(hog != null){
+            hogwildSamplesPerSecond = hog.getSamplesPerSecond();
+            hog.shutdown();
+        }
+        metrics.finish();
+        return !noResult;
+    }
+
+    /** Aktualisiert die geschätzte Genauigkeit mit dem Fehler eines Trainingsschritts.
+     *
+     * @param errorAbs absoluter Fehler des Schritts
+     * @param count Anzahl Inputs des Schritts
+     */
+    void updateEstimate(double errorAbs, int count){
+        if(count <= 0) return;
+        double rel = errorAbs / count;
+        if(estimatedErrorRel < 0){
+            estimatedErrorRel = rel;
+        } else {
+            double decay = Math.pow(ESTIMATE_DECAY, count);
+            estimatedErrorRel = decay * estimatedErrorRel + (1.0 - decay) * rel;
+        }
+        metrics.estimate(NetworkStats.cut((1.0 - estimatedErrorRel) * 100.0, 1));
+    }
+
+    /** Teilt ein Datenset zufällig in Trainings- und Testdaten.
+     *
+     * @param dataSet Datenset
+     * @param testSize Anzahl Testdaten
+     * @param r Zufallszahlen
+     * @return {Trainingsdaten, Testdaten}
+     */
+    static Data[][] split(Data[] dataSet, int testSize, Random r){
+        Data[] shuffled = dataSet.clone();
+        for(int i = 0; i < testSize; i++){
+            int j = i + r.nextInt(shuffled.length - i);
+            Data tmp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = tmp;
+        }
+        Data[] test = new Data[testSize];
+        Data[] train = new Data[shuffled.length - testSize];
+        System.arraycopy(shuffled, 0, test, 0, testSize);
+        System.arraycopy(shuffled, testSize, train, 0, train.length);
+        return new Data[][] {train, test};
+    }
+
+    public TrainingMetrics getMetrics(){
+        return metrics;
+    }
+
+    /** Ergebnis des letzten Genauigkeitstests (null vor train()) */
+    public Evaluation getLastEvaluation(){
+        return lastEvaluation;
+    }
+
+    /** Genauigkeit beim letzten Genauigkeitstest in % */
+    public double getAccuracy(){
+        return lastEvaluation == null ? 0.0 : lastEvaluation.getAccuracy();
+    }
+
+    /** true wenn das Netzwerk stecken geblieben ist (stallSteps ohne Änderung der Genauigkeit) */
+    public boolean isNoResult(){
+        return noResult;
+    }
+
+    /** größter Anteil der Schritte ohne Änderung an stallSteps (0..1) */
+    public double getMaxQuotient(){
+        return maxQuotient;
+    }
+
+    /** Inputs pro Sekunde der Threads mit hogwild, sonst null */
+    public double[] getHogwildSamplesPerSecond(){
+        return hogwildSamplesPerSecond;
+    }
+
+    public int getBatchSize(){
+        return batchSize;
+    }
+
+    public int getThreads(){
+        return threads;
+    }
+
+    public boolean isHogwild(){
+        return hogwild;
+    }
+
+    public int getStallSteps(){
+        return stallSteps;
+    }
+}
@@ -0,0 +1,156 @@
+package components.neuralnetwork;
+
+import components.handler.Data;
+
+/** Zwischenspeicher für einen Trainingsschritt eines Netzwerks.
+ *
+ * Enthält alle Matrizen, die train() pro Schritt braucht (Aktivierungen, Fehler, Gradienten).
+ * Dadurch erzeugt ein Trainingsschritt keine neuen Matrizen und speichert keine
+ * Zwischenergebnisse im Netzwerk selbst.
+ * ACHTUNG: Ein Objekt darf immer nur von einem Thread gleichzeitig benutzt werden.
+ *
+ * @version 17. Oktober 2026
+ */
+public class TrainingWorkspace {
+
+    /** maximale Anzahl Inputs pro Trainingsschritt */
+    final int batchSize;
+
+    /** Aktivierungen des letzten feedForward() */
+    final Activations act;
+
+    /** Inputs des Batches, eine Spalte pro Input (nur bei batchSize > 1 benutzt) */
+    final Matrix inputs;
+
+    /** erwartete Outputs des Batches, eine Spalte pro Input (nur bei batchSize > 1 benutzt) */
+    final Matrix outputs;
+
+    /** Fehler der Outputs */
+    final Matrix errorO;
+
+    /** Fehler der Hidden-Layer-Neuronen */
+    final Matrix errorH;
+
+    /** Gradient zwischen Hidden-Layer und Output (= bias_delta) */
+    final Matrix gradientHO;
+
+    /** Gradient zwischen Input und Hidden-Layer (= bias_delta) */
+    final Matrix gradientIH;
+
+    /** über den Batch summierte bias_delta */
+    final Matrix biasDeltaH, biasDeltaO;
+
+    /** Anzahl Inputs im letzten Trainingsschritt */
+    int lastBatch = 0;
+
+    /** Ziel für die Laufzeiten der Durchläufe, null = nicht messen (siehe setMetrics()) */
+    TrainingMetrics metrics = null;
+
+    /** Ende des letzten Vorwärtsdurchlaufs (System.nanoTime()), nur mit metrics != null */
+    long forwardDone = 0;
+
+    /** true = Teil eines parallelen Schritts, nur forwardDone wird gemerkt (ParallelTrainer misst den ganzen Schritt) */
+    boolean shard = false;
+
+    /** Konstruktor für Trainingsschritte mit einem Input
+     *
+     * @param in Anzahl Inputs
+     * @param hidden Anzahl Hidden-Layer-Neuronen
+     * @param out Anzahl Outputs
+     */
+    public TrainingWorkspace(int in, int hidden, int out){
+        this(in, hidden, out, 1);
+    }
+
+    /** Konstruktor für Trainingsschritte mit bis zu batch Inputs
+     *
+     * @param in Anzahl Inputs
+     * @param hidden Anzahl Hidden-Layer-Neuronen
+     * @param out Anzahl Outputs
+     * @param batch maximale Batchgröße
+     */
+    public TrainingWorkspace(int in, int hidden, int out, int batch){
+        batchSize = batch;
+        act = new Activations(hidden, out, batch);
+        inputs = batch > 1 ? new Matrix(in, batch) : null;
+        outputs = batch > 1 ? new Matrix(out, batch) : null;
+        errorO = new Matrix(out, batch);
+        errorH = new Matrix(hidden, batch);
+        gradientHO = new Matrix(out, batch);
+        gradientIH = new Matrix(hidden, batch);
+        biasDeltaH = new Matrix(hidden, 1);
+        biasDeltaO = new Matrix(out, 1);
+    }
+
+    /** Gibt die maximale Batchgröße zurück. */
+    public int getBatchSize(){
+        return batchSize;
+    }
+
+    /** Gibt die Aktivierungen des letzten Trainingsschritts zurück.
+     *
+     * @return Aktivierungen
+     */
+    public Activations getActivations(){
+        return act;
+    }
+
+    /** Gibt den absoluten Fehler (Summe aller |erwartet - geraten|) des letzten Trainingsschritts zurück.
+     *
+     * Der Fehler stammt aus dem Vorwärtsdurchlauf, der beim Trainieren ohnehin berechnet wird,
+     * also vor dem Anpassen der Gewichte.
+     *
+     * @return absoluter Fehler über alle Inputs des letzten Schritts
+     */
+    public double getErrorAbs(){
+        double sum = 0.0;
+        for(int i = 0; i < errorO.getRows(); i++){
+            for(int j = 0; j < lastBatch; j++){
+                sum += Math.abs(errorO.data[errorO.offset + i * errorO.stride + j]);
+            }
+        }
+        return sum;
+    }
+
+    /** Misst ab jetzt die Laufzeiten von Vorwärts- und Rückwärtsdurchlauf jedes Trainingsschritts.
+     *
+     * @param m Ziel der Messungen, null = nicht mehr messen
+     */
+    public void setMetrics(TrainingMetrics m){
+        metrics = m;
+    }
+
+    /** Misst den Vorwärtsdurchlauf, der bei start (System.nanoTime()) begonnen hat. */
+    void forwardDone(long start){
+        forwardDone = System.nanoTime();
+        if(!shard) metrics.recordForward(forwardDone - start);
+    }
+
+    /** Misst den Rückwärtsdurchlauf seit dem Ende des Vorwärtsdurchlaufs. */
+    void backwardDone(){
+        if(!shard) metrics.recordBackward(System.nanoTime() - forwardDone);
+    }
+
+    /** Gibt die Anzahl Inputs des letzten Trainingsschritts zurück. */
+    public int getLastBatch(){
+        return lastBatch;
+    }
+
+    /** Kopiert die Inputs und Outputs von batch[from] bis batch[to - 1] spaltenweise in inputs und outputs.
+     *
+     * @param batch Daten mit bekannten Outputs
+     * @param from erster Index
+     * @param to Index nach dem letzten
+     */
+    void pack(Data[] batch, int from, int to){
+        for(int i = from; i < to; i++){
+            inputs.setColumn(i - from, batch[i].getInputs());
+            outputs.setColumn(i - from, batch[i].getOutputs());
+        }
+    }
+
+    /** Gibt die ersten n Spalten einer Matrix zurück (View, keine Kopie). */
+    static Matrix cols(Matrix m, int n){
+        return n == m.getCols() ? m : m.view(0, 0, m.getRows(), n);
+    }
+}
@@ -0,0 +1,223 @@
+package components.gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+import components.handler.StrokeTranslator;
+import components.handler.Translator;
+import components.neuralnetwork.ModelRegistry;
+import components.neuralnetwork.Network;
+
+/** Jeder übergebene Ausschnitt muss irgendwann mitgeraten werden, auch wenn er während eines drain() ankommt. */
+class GuessPipelineTest {
+
+    static final int SIZE = 56;
+
+    /** führt die Aufgaben erst auf Anfrage aus, damit submit() und drain() gezielt verschachtelt werden können */
+    static class ManualExecutor extends AbstractExecutorService {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        /** führt alle Aufgaben aus, auch die währenddessen neu eingeplanten */
+        int runAll() {
+            int count = 0;
+            Runnable r;
+            while ((r = tasks.poll()) != null) {
+                r.run();
+                count++;
+            }
+            return count;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<>(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    /** zählt übernommene Ausschnitte und merkt sich, wie viele beim letzten Übersetzen übernommen waren */
+    static class CountingStrokes extends StrokeTranslator {
+        final AtomicInteger applied = new AtomicInteger();
+        volatile int appliedAtLastTranslate = -1;
+        volatile Runnable onTranslate;
+
+        CountingStrokes() {
+            super(new Translator(28), SIZE, SIZE);
+        }
+
+        @Override
+        public void update(int[] argb, int x, int y, int w, int h) {
+            super.update(argb, x, y, w, h);
+            applied.incrementAndGet();
+        }
+
+        @Override
+        public Data translate() {
+            appliedAtLastTranslate = applied.get();
+            Runnable r = onTranslate;
+            onTranslate = null;
+            if (r != null) {
+                r.run();
+            }
+            return super.translate();
+        }
+    }
+
+    static ModelRegistry models() {
+        return new ModelRegistry(new Network(28 * 28, 8, 5).snapshot());
+    }
+
+    static int[] stroke(Random r) {
+        int[] pixels = new int[4 * 4];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = r.nextBoolean() ? 0xFF000000 : 0xFFFFFFFF;
+        }
+        return pixels;
+    }
+
+    /** Warteschlange, die einmal beim Leerlaufen eine Aktion ausführt (zwischen zwei Schritten von drain()) */
+    static class HookedQueue extends ConcurrentLinkedQueue<GuessPipeline.Region> {
+        volatile Runnable onEmpty;
+
+        @Override
+        public GuessPipeline.Region poll() {
+            GuessPipeline.Region r = super.poll();
+            Runnable hook = onEmpty;
+            if (r == null && hook != null) {
+                onEmpty = null;
+                hook.run();
+            }
+            return r;
+        }
+    }
+
+    @Test
+    void strokeAfterQueueRanEmptyIsGuessed() {
+        CountingStrokes strokes = new CountingStrokes();
+        ManualExecutor worker = new ManualExecutor();
+        HookedQueue regions = new HookedQueue();
+        List<String> guesses = new ArrayList<>();
+        GuessPipeline pipeline = new GuessPipeline(strokes, models(), guesses::add, worker, Runnable::run, regions);
+        Random r = new Random(1);
+
+        pipeline.submit(stroke(r), 0, 0, 4, 4);
+        // der zweite Strich kommt genau dann, wenn das erste drain() die Warteschlange leer vorgefunden hat
+        regions.onEmpty = () -> pipeline.submit(stroke(r), 10, 10, 4, 4);
+        worker.runAll();
+
+        assertEquals(2, strokes.applied.get());
+        assertEquals(2, strokes.appliedAtLastTranslate);
+    }
+
+    @Test
+    void strokeDuringGuessIsGuessedAfterwards() {
+        CountingStrokes strokes = new CountingStrokes();
+        ManualExecutor worker = new ManualExecutor();
+        List<String> guesses = new ArrayList<>();
+        GuessPipeline pipeline = new GuessPipeline(strokes, models(), guesses::add, worker, Runnable::run, new ConcurrentLinkedQueue<>());
+        Random r = new Random(1);
+
+        pipeline.submit(stroke(r), 0, 0, 4, 4);
+        // der zweite Strich kommt, während das erste drain() übersetzt
+        strokes.onTranslate = () -> pipeline.submit(stroke(r), 10, 10, 4, 4);
+        assertEquals(2, worker.runAll());
+
+        assertEquals(2, strokes.applied.get());
+        assertEquals(2, strokes.appliedAtLastTranslate);
+        assertEquals(2, guesses.size());
+    }
+
+    @Test
+    void strokesBeforeDrainAreGuessedOnce() {
+        CountingStrokes strokes = new CountingStrokes();
+        ManualExecutor worker = new ManualExecutor();
+        List<String> guesses = new ArrayList<>();
+        GuessPipeline pipeline = new GuessPipeline(strokes, models(), guesses::add, worker, Runnable::run, new ConcurrentLinkedQueue<>());
+        Random r = new Random(2);
+
+        for (int k = 0; k < 5; k++) {
+            pipeline.submit(stroke(r), 4 * k, 0, 4, 4);
+        }
+        assertEquals(1, worker.runAll());
+        assertEquals(5, strokes.appliedAtLastTranslate);
+        assertEquals(1, guesses.size());
+    }
+
+    @Test
+    void cancelDropsPendingGuess() {
+        CountingStrokes strokes = new CountingStrokes();
+        ManualExecutor worker = new ManualExecutor();
+        List<String> guesses = new ArrayList<>();
+        GuessPipeline pipeline = new GuessPipeline(strokes, models(), guesses::add, worker, Runnable::run, new ConcurrentLinkedQueue<>());
+
+        pipeline.submit(stroke(new Random(3)), 0, 0, 4, 4);
+        pipeline.cancel();
+        worker.runAll();
+        assertEquals(1, strokes.applied.get());
+        assertTrue(guesses.isEmpty());
+    }
+
+    @Test
+    void lastStrokeIsAlwaysGuessed() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            CountingStrokes strokes = new CountingStrokes();
+            List<String> guesses = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService worker = Executors.newSingleThreadExecutor();
+            GuessPipeline pipeline = new GuessPipeline(strokes, models(), guesses::add, worker, Runnable::run, new ConcurrentLinkedQueue<>());
+            Random r = new Random(round);
+
+            int submitted = 200 + r.nextInt(200);
+            for (int k = 0; k < submitted; k++) {
+                pipeline.submit(stroke(r), r.nextInt(SIZE - 4), r.nextInt(SIZE - 4), 4, 4);
+                if (r.nextInt(8) == 0) {
+                    Thread.sleep(0, r.nextInt(100000));
+                }
+            }
+            worker.shutdown();
+            assertTrue(worker.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(submitted, strokes.applied.get());
+            assertEquals(submitted, strokes.appliedAtLastTranslate, "Runde " + round);
+            assertTrue(!guesses.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package components.handler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import components.neuralnetwork.Training;
+
+/** Translator.findBorders() muss dieselben Grenzen liefern wie die früheren vier Scans (scanYofX/scanXofY). */
+class FindBordersTest {
+
+	static final int INK = 0xFF000000;
+	static final int PAPER = 0xFFFFFFFF;
+
+	/** der frühere Scan nach der oberen bzw. unteren Grenze (Kopie aus Translator) */
+	static int scanYofX(BufferedImage image, Boolean first) {
+		int y = 0;
+		for (int i = 1; i < image.getHeight() - 1; i++) {
+			for (int j = 1; j < image.getWidth() - 1; j++) {
+				if (Training.getGrayscale(image.getRGB(j, i)) == 1.0) {
+					y = i;
+					if(first) {
+						return y;
+					}
+				}
+			}
+		}
+		return y;
+	}
+
+	/** der frühere Scan nach der linken bzw. rechten Grenze (Kopie aus Translator) */
+	static int scanXofY(BufferedImage image, Boolean first) {
+		int x = 0;
+		for (int i = 1; i < image.getWidth() - 1; i++) {
+			for (int j = 1; j < image.getHeight() - 1; j++) {
+				if (Training.getGrayscale(image.getRGB(i, j)) == 1.0) {
+					x = i;
+					if(first) {
+						return x;
+					}
+				}
+			}
+		}
+		return x;
+	}
+
+	/** {oben, rechts, unten, links} wie früher in subtractEmpty() */
+	static int[] oldBorders(BufferedImage image) {
+		return new int[] {scanYofX(image, true), scanXofY(image, false), scanYofX(image, false), scanXofY(image, true)};
+	}
+
+	static BufferedImage blank(int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		fill(image, 0, 0, width, height, PAPER);
+		return image;
+	}
+
+	static void fill(BufferedImage image, int x, int y, int w, int h, int argb) {
+		for (int j = y; j < y + h; j++) {
+			for (int i = x; i < x + w; i++) {
+				image.setRGB(i, j, argb);
+			}
+		}
+	}
+
+	static void assertSameBorders(BufferedImage image, String what) {
+		int[] expected = oldBorders(image);
+		assertArrayEquals(expected, Translator.findBorders(image), what);
+		int w = image.getWidth(), h = image.getHeight();
+		assertArrayEquals(expected, Translator.findBorders(image.getRGB(0, 0, w, h, null, 0, w), w, h), what);
+	}
+
+	@Test
+	void empty() {
+		for (int size : new int[] {1, 2, 3, 4, 28, 100}) {
+			assertSameBorders(blank(size, size), "leer " + size);
+			assertSameBorders(blank(size, size + 3), "leer " + size + "x" + (size + 3));
+		}
+		// nur der Rahmen der Leinwand ist schwarz: wird ignoriert
+		BufferedImage frame = blank(50, 40);
+		fill(frame, 0, 0, 50, 1, INK);
+		fill(frame, 0, 39, 50, 1, INK);
+		fill(frame, 0, 0, 1, 40, INK);
+		fill(frame, 49, 0, 1, 40, INK);
+		assertSameBorders(frame, "nur Rahmen");
+	}
+
+	@Test
+	void singlePixel() {
+		int w = 9, h = 7;
+		for (int y = 0; y < h; y++) {
+			for (int x = 0; x < w; x++) {
+				BufferedImage image = blank(w, h);
+				image.setRGB(x, y, INK);
+				assertSameBorders(image, "Pixel " + x + "," + y);
+			}
+		}
+	}
+
+	@Test
+	void touchingTheEdges() {
+		int w = 30, h = 20;
+		// Striche entlang jeder Innenkante und über den Rand hinaus
+		BufferedImage image = blank(w, h);
+		fill(image, 1, 5, 1, 3, INK);
+		assertSameBorders(image, "links");
+		fill(image, w - 2, 12, 1, 4, INK);
+		assertSameBorders(image, "links + rechts");
+		fill(image, 10, 1, 5, 1, INK);
+		assertSameBorders(image, "links + rechts + oben");
+		fill(image, 3, h - 2, 2, 1, INK);
+		assertSameBorders(image, "alle Kanten");
+
+		BufferedImage across = blank(w, h);
+		fill(across, 0, 8, w, 2, INK);
+		fill(across, 14, 0, 1, h, INK);
+		assertSameBorders(across, "Kreuz über den Rand");
+	}
+
+	@Test
+	void full() {
+		for (int size : new int[] {1, 2, 3, 10, 28}) {
+			BufferedImage image = blank(size, size + 1);
+			fill(image, 0, 0, size, size + 1, INK);
+			assertSameBorders(image, "voll " + size);
+		}
+	}
+
+	@Test
+	void randomSketchesAndImageTypes() {
+		Random r = new Random(5);
+		for (int k = 0; k < 200; k++) {
+			int w = 3 + r.nextInt(60), h = 3 + r.nextInt(60);
+			BufferedImage image = blank(w, h);
+			for (int s = r.nextInt(4); s > 0; s--) {
+				int x = r.nextInt(w), y = r.nextInt(h);
+				fill(image, x, y, 1 + r.nextInt(w - x), 1 + r.nextInt(Math.min(3, h - y)), INK);
+			}
+			// Grautöne an der Schwelle
+			image.setRGB(r.nextInt(w), r.nextInt(h), new Color(127, 127, 128).getRGB());
+			image.setRGB(r.nextInt(w), r.nextInt(h), new Color(127, 127, 127).getRGB());
+			assertSameBorders(image, "Skizze " + k);
+
+			BufferedImage bgr = new BufferedImage(w, h, BufferedImage.TYPE_3BYTE_BGR);
+			Graphics2D g = bgr.createGraphics();
+			g.drawImage(image, 0, 0, null);
+			g.dispose();
+			assertSameBorders(bgr, "BGR " + k);
+
+			if (w > 4 && h > 4) {
+				assertSameBorders(image.getSubimage(1, 2, w - 3, h - 4), "Ausschnitt " + k);
+			}
+		}
+	}
+
+	@Test
+	void sampleImages() throws IOException {
+		for (String name : new String[] {"canvas.png", "eiffel0.png", "eye1.png"}) {
+			try (InputStream in = getClass().getClassLoader().getResourceAsStream("samples/" + name)) {
+				assertNotNull(in, "samples/" + name + " fehlt");
+				assertSameBorders(ImageIO.read(in), name);
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package components.handler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+/** StrokeTranslator muss aus den Ausschnitten dasselbe übersetzen wie Translator.translatePixels() aus der ganzen Leinwand. */
+class StrokeTranslatorTest {
+
+	static final int SIZE = 784;
+
+	/** Rand um einen Strich, den die GUI mit ausliest (Strichbreite 2, eckige Enden, Kantenglättung) */
+	static final int MARGIN = 4;
+
+	final Translator translator = new Translator(28);
+
+	static BufferedImage canvasSnapshot() throws IOException {
+		try (InputStream in = StrokeTranslatorTest.class.getClassLoader().getResourceAsStream("samples/canvas.png")) {
+			assertNotNull(in, "samples/canvas.png fehlt");
+			BufferedImage png = ImageIO.read(in);
+			BufferedImage argb = new BufferedImage(png.getWidth(), png.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = argb.createGraphics();
+			g.drawImage(png, 0, 0, null);
+			g.dispose();
+			return argb;
+		}
+	}
+
+	/** leere Leinwand wie in der GUI: weiß mit grauem Rahmen */
+	static BufferedImage emptyCanvas() {
+		BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setColor(Color.WHITE);
+		g.fillRect(0, 0, SIZE, SIZE);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setColor(Color.GRAY);
+		g.setStroke(new BasicStroke(2));
+		g.draw(new Rectangle2D.Double(0, 0, SIZE, SIZE));
+		g.dispose();
+		return image;
+	}
+
+	/** Übergibt einen Ausschnitt des Bildes wie die GUI nach einem Strich. */
+	static void update(StrokeTranslator strokes, BufferedImage image, int x, int y, int w, int h) {
+		strokes.update(image.getRGB(x, y, w, h, null, 0, w), x, y, w, h);
+	}
+
+	void assertSameInput(BufferedImage image, StrokeTranslator strokes) {
+		Data expected = translator.translatePixels(image.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE), SIZE, SIZE);
+		assertArrayEquals(expected.getInputs().getData(), strokes.translate().getInputs().getData());
+	}
+
+	@Test
+	void snapshotInTiles() throws IOException {
+		BufferedImage image = canvasSnapshot();
+		BufferedImage partial = emptyCanvas();
+		StrokeTranslator strokes = new StrokeTranslator(translator, SIZE, SIZE);
+		Random r = new Random(1);
+		update(strokes, partial, 0, 0, SIZE, SIZE);
+
+		// zufällige Kacheln nacheinander übernehmen, nach jeder Kachel mit der teilweise kopierten Leinwand vergleichen
+		for (int k = 0; k < 60; k++) {
+			int w = 1 + r.nextInt(200);
+			int h = 1 + r.nextInt(200);
+			int x = r.nextInt(SIZE - w + 1);
+			int y = r.nextInt(SIZE - h + 1);
+			partial.setRGB(x, y, w, h, image.getRGB(x, y, w, h, null, 0, w), 0, w);
+			update(strokes, partial, x, y, w, h);
+			assertSameInput(partial, strokes);
+		}
+
+		update(strokes, image, 0, 0, SIZE, SIZE);
+		assertSameInput(image, strokes);
+	}
+
+	@Test
+	void strokesAndEraserLikeTheGui() {
+		BufferedImage image = emptyCanvas();
+		StrokeTranslator strokes = new StrokeTranslator(translator, SIZE, SIZE);
+		update(strokes, image, 0, 0, SIZE, SIZE);
+		assertSameInput(image, strokes);
+
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setStroke(new BasicStroke(2, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER));
+		Random r = new Random(2);
+		for (int stroke = 0; stroke < 60; stroke++) {
+			boolean erase = r.nextInt(4) == 0;
+			double x = r.nextDouble() * SIZE, y = r.nextDouble() * SIZE;
+			double minX = x, minY = y, maxX = x, maxY = y;
+			for (int k = 0; k < 25; k++) {
+				double nx = Math.max(0, Math.min(SIZE - 1, x + r.nextGaussian() * 15));
+				double ny = Math.max(0, Math.min(SIZE - 1, y + r.nextGaussian() * 15));
+				if (erase) {
+					g.setColor(Color.WHITE);
+					g.fill(new Rectangle2D.Double(nx, ny, 10, 10));
+					maxX = Math.max(maxX, nx + 10);
+					maxY = Math.max(maxY, ny + 10);
+				} else {
+					g.setColor(Color.BLACK);
+					g.draw(new Line2D.Double(x, y, nx, ny));
+				}
+				x = nx;
+				y = ny;
+				minX = Math.min(minX, x);
+				minY = Math.min(minY, y);
+				maxX = Math.max(maxX, x);
+				maxY = Math.max(maxY, y);
+			}
+
+			// nur das Rechteck um den Strich auslesen
+			int x0 = Math.max((int) Math.floor(minX) - MARGIN, 0);
+			int y0 = Math.max((int) Math.floor(minY) - MARGIN, 0);
+			int x1 = Math.min((int) Math.ceil(maxX) + MARGIN, SIZE);
+			int y1 = Math.min((int) Math.ceil(maxY) + MARGIN, SIZE);
+			update(strokes, image, x0, y0, x1 - x0, y1 - y0);
+			assertSameInput(image, strokes);
+		}
+		g.dispose();
+	}
+
+	@Test
+	void reusesInputWhenNothingChanged() throws IOException {
+		BufferedImage image = canvasSnapshot();
+		StrokeTranslator strokes = new StrokeTranslator(translator, SIZE, SIZE);
+		update(strokes, image, 0, 0, SIZE, SIZE);
+		Data first = strokes.translate();
+		double[][] values = first.getInputs().getData();
+
+		update(strokes, image, 100, 100, 50, 50);
+		assertSame(first, strokes.translate());
+		assertArrayEquals(values, strokes.translate().getInputs().getData());
+	}
+}
@@ -0,0 +1,53 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+
+/** Diagrammdaten aus einem Trainingslauf, direkt als Listener und über die CSV-Datei. */
+class ChartDataTest {
+
+    @Test
+    void csvGivesSameCurveAsListener() throws IOException {
+        File csv = File.createTempFile("chart", ".csv");
+        csv.deleteOnExit();
+        Data[] data = TestData.dataSet(new Random(8), 120, 64, 5);
+
+        ChartData live = new ChartData();
+        MetricsExporter exporter = MetricsExporter.open(csv, MetricsExporter.Format.CSV);
+        TrainingRun run = new TrainingRun().batchSize(4).seed(9);
+        run.getMetrics().addListener(live).addListener(exporter);
+        run.train(TestData.network(5, 64, 16, 5), data, 85.0);
+        exporter.close();
+
+        ChartData read = ChartData.read(csv);
+        assertEquals(run.getMetrics().getEvaluations(), live.getSamples().size());
+        assertEquals(live.getSamples(), read.getSamples());
+        assertEquals(live.getAccuracies(), read.getAccuracies());
+        assertEquals(run.getMetrics().getSamples(), (long) live.getSamples().get(live.getSamples().size() - 1));
+    }
+
+    @Test
+    void defaultsMatchHardcodedLists(){
+        ChartData c = ChartData.defaults();
+        assertEquals(ChartData.getPercentData(), c.getAccuracies());
+        assertEquals(ChartData.getEpochData().size(), c.getSamples().size());
+        assertEquals((long) ChartData.getEpochData().get(3), (long) c.getSamples().get(3));
+    }
+
+    @Test
+    void rejectsFileWithoutColumns() throws IOException {
+        File csv = File.createTempFile("chart", ".csv");
+        csv.deleteOnExit();
+        Files.write(csv.toPath(), "a,b\n1,2\n".getBytes());
+        assertNull(ChartData.read(csv));
+    }
+}
@@ -0,0 +1,70 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+
+/** FloatModel muss (fast) genauso gut raten wie Model mit double. */
+class FloatModelTest {
+
+    static final int IN = 64, HIDDEN = 16, OUT = 5;
+
+    /** auf den Trainingsdaten trainiertes Netzwerk */
+    static Network trained(Data[] data){
+        Network n = TestData.network(1, IN, HIDDEN, OUT);
+        assertTrue(new TrainingRun().seed(2).train(n, data, 85.0));
+        return n;
+    }
+
+    @Test
+    void accuracyMatchesDouble(){
+        Random r = new Random(3);
+        Network n = trained(TestData.dataSet(r, 240, IN, OUT));
+        Data[] validation = TestData.dataSet(r, 500, IN, OUT);
+
+        FloatModel.Comparison c = FloatModel.compare(n.snapshot(), FloatModel.fromNetwork(n), validation);
+        assertEquals(validation.length, c.getFloatEvaluation().getCount());
+        assertTrue(c.getMaxDiff() < 1e-5, "größte Abweichung " + c.getMaxDiff());
+        assertEquals(0.0, c.getAccuracyLoss(), 0.1);
+        assertTrue(Math.abs(c.getDoubleEvaluation().getCorrect() - c.getFloatEvaluation().getCorrect()) <= 1);
+    }
+
+    @Test
+    void sparseInputGivesSameGuess(){
+        Random r = new Random(4);
+        FloatModel f = FloatModel.fromNetwork(TestData.network(5, IN, HIDDEN, OUT));
+        for(Data d : TestData.dataSet(r, 50, IN, OUT)){
+            float[] dense = f.predict(FloatModel.toFloatInput(d.getInputs(), new float[IN]), new float[HIDDEN], new float[OUT]);
+            float[] sparse = f.predict(SparseInput.fromMatrix(d.getInputs()), new float[HIDDEN], new float[OUT]);
+            for(int k = 0; k < OUT; k++){
+                assertEquals(dense[k], sparse[k], 1e-5);
+            }
+        }
+    }
+
+    @Test
+    void loadsFromFloatModelFile() throws IOException {
+        Network n = TestData.network(6, IN, HIDDEN, OUT);
+        File file = Files.createTempDirectory("model").resolve("f.bin").toFile();
+        assertTrue(ModelFile.save(n, new String[] {"a", "b", "c", "d", "e"}, file, true));
+
+        FloatModel expected = FloatModel.fromNetwork(n);
+        FloatModel loaded = ModelFile.load(file).toFloatModel();
+        assertArrayEquals(expected.weightsIH, loaded.weightsIH);
+        assertArrayEquals(expected.weightsHO, loaded.weightsHO);
+        assertArrayEquals(expected.biasH, loaded.biasH);
+        assertArrayEquals(expected.biasO, loaded.biasO);
+
+        Data d = TestData.dataSet(new Random(7), 1, IN, OUT)[0];
+        assertArrayEquals(expected.predict(d.getInputs()).getData(), loaded.predict(d.getInputs()).getData());
+    }
+}
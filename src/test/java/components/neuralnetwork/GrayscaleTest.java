@@ -0,0 +1,99 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+/** Die Tabelle in Training.getGrayscale()/isInk() muss genau die frühere Formel liefern. */
+class GrayscaleTest {
+
+    static final String[] SAMPLES = {"canvas.png", "car0.png", "car1.png", "eiffel0.png", "eiffel1.png",
+        "eye0.png", "eye1.png", "giraffe0.png", "giraffe1.png", "hourglass0.png"};
+
+    /** die frühere Berechnung pro Pixel (Kopie aus Training) */
+    static double oldGrayscale(int rgb){
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = (rgb & 0xFF);
+
+        double grayTotal = (r+g+b)/3.0;
+        double gray = grayTotal / 255.0;
+        gray = NetworkStats.cut(gray, 3);
+
+        gray = gray < 0.97 ? 1 : 0;
+
+        return gray;
+    }
+
+    static void assertSame(int rgb){
+        double expected = oldGrayscale(rgb);
+        assertEquals(expected, Training.getGrayscale(rgb), "getGrayscale " + Integer.toHexString(rgb));
+        assertEquals(expected == 1.0, Training.isInk(rgb), "isInk " + Integer.toHexString(rgb));
+    }
+
+    @Test
+    void allChannelSums(){
+        int ink = 0;
+        for(int sum = 0; sum <= 3 * 255; sum++){
+            // verschiedene Aufteilungen derselben Summe auf r, g, b
+            int r = Math.min(sum, 255);
+            int g = Math.min(sum - r, 255);
+            int b = sum - r - g;
+            assertSame(0xFF000000 | r << 16 | g << 8 | b);
+            assertSame(0xFF000000 | b << 16 | r << 8 | g);
+            int third = sum / 3;
+            assertSame(third << 16 | third << 8 | (sum - 2 * third));
+            if(Training.isInk(0xFF000000 | r << 16 | g << 8 | b)) ink++;
+        }
+        // Schwelle: cut(sum / 765, 3) < 0.97
+        assertTrue(ink > 700 && ink < 766, ink + " Summen schwarz");
+    }
+
+    @Test
+    void allColors(){
+        for(int rgb = 0; rgb <= 0xFFFFFF; rgb++){
+            int argb = 0xFF000000 | rgb;
+            if(oldGrayscale(argb) != Training.getGrayscale(argb)){
+                assertSame(argb);
+            }
+        }
+        // Alpha wird wie früher ignoriert
+        for(int alpha : new int[] {0x00, 0x7F, 0x80}){
+            for(int rgb = 0; rgb <= 0xFFFFFF; rgb += 0x010101){
+                assertSame(alpha << 24 | rgb);
+            }
+        }
+    }
+
+    @Test
+    void sampleImages() throws IOException {
+        for(String name : SAMPLES){
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream("samples/" + name)) {
+                assertNotNull(in, "samples/" + name + " fehlt");
+                BufferedImage image = ImageIO.read(in);
+                int w = image.getWidth(), h = image.getHeight();
+                int[] argb = image.getRGB(0, 0, w, h, null, 0, w);
+                for(int p : argb){
+                    assertSame(p);
+                }
+
+                if(w == 28 && h == 28){
+                    Matrix m = Training.getMatrix(image);
+                    for(int y = 0; y < h; y++){
+                        for(int x = 0; x < w; x++){
+                            assertEquals(oldGrayscale(image.getRGB(x, y)), m.getValue(y * w + x, 0), name);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
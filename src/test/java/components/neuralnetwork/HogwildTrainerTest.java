@@ -0,0 +1,56 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+
+/** Asynchrones Training ohne Locks (HogwildTrainer), allein und in TrainingRun. */
+class HogwildTrainerTest {
+
+    static final int IN = 64, HIDDEN = 16, OUT = 5, THREADS = 3;
+
+    @Test
+    void trainsToTargetAccuracy(){
+        Data[] data = TestData.dataSet(new Random(3), 240, IN, OUT);
+        TrainingRun run = new TrainingRun().threads(THREADS).hogwild(true).seed(4);
+        assertTrue(run.train(TestData.network(1, IN, HIDDEN, OUT), data, 85.0));
+        assertTrue(run.getAccuracy() >= 85.0);
+
+        double[] rates = run.getHogwildSamplesPerSecond();
+        assertNotNull(rates);
+        assertEquals(THREADS, rates.length);
+        for(double rate : rates){
+            assertTrue(rate > 0.0);
+        }
+    }
+
+    @Test
+    void ratesUseWallTime(){
+        Data[] data = TestData.dataSet(new Random(5), 100, IN, OUT);
+        Network n = TestData.network(2, IN, HIDDEN, OUT);
+        Network before = TestData.copy(n);
+        HogwildTrainer hog = new HogwildTrainer(n, THREADS, 6);
+
+        long start = System.nanoTime();
+        hog.train(data, 2000);
+        hog.train(data, 1000);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        hog.shutdown();
+
+        assertTrue(TestData.maxDiff(before, n) > 0.0);
+        double[] rates = hog.getSamplesPerSecond();
+        assertEquals(THREADS, rates.length);
+        for(int t = 0; t < THREADS; t++){
+            assertEquals(3000, hog.samples[t]);
+            // gleiche Anzahl Inputs über dieselbe Wanduhrzeit: gleiche Rate, höchstens so schnell wie von außen gemessen
+            assertEquals(rates[0], rates[t]);
+            assertTrue(rates[t] >= 3000 / seconds);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** VectorKernels muss innerhalb von Kernels.TOLERANCE dasselbe rechnen wie ScalarKernels.
+ *
+ * Die Vergleiche mit VectorKernels laufen nur mit gradle test -Pvector, sonst werden sie übersprungen.
+ */
+class KernelsTest {
+
+    /** Längen mit und ohne Rest nach den SIMD-Bahnen */
+    static final int[] LENGTHS = {0, 1, 2, 3, 4, 7, 8, 9, 15, 16, 17, 31, 64, 100, 785};
+
+    final Kernels scalar = new Kernels.ScalarKernels();
+    Kernels vector;
+    Random r;
+
+    @BeforeEach
+    void setup(){
+        vector = Kernels.loadVector();
+        r = new Random(3);
+    }
+
+    void requireVector(){
+        assumeTrue(vector != null, "VectorKernels nicht gebaut (-Pvector) oder Modul jdk.incubator.vector fehlt");
+    }
+
+    static void assertClose(double[] expected, double[] actual, int terms, String what){
+        assertEquals(expected.length, actual.length);
+        for(int i = 0; i < expected.length; i++){
+            assertTrue(Kernels.close(expected[i], actual[i], terms), what + "[" + i + "]: " + expected[i] + " != " + actual[i]);
+        }
+    }
+
+    @Test
+    void axpy(){
+        requireVector();
+        for(int n : LENGTHS){
+            double[] x = Kernels.random(r, n + 3);
+            double[] y1 = Kernels.random(r, n + 2), y2 = y1.clone();
+            double a = r.nextGaussian();
+            scalar.axpy(a, x, 3, y1, 2, n);
+            vector.axpy(a, x, 3, y2, 2, n);
+            assertClose(y1, y2, 1, "axpy n=" + n);
+        }
+    }
+
+    @Test
+    void dot(){
+        requireVector();
+        for(int n : LENGTHS){
+            double[] x = Kernels.random(r, n + 1), y = Kernels.random(r, n + 5);
+            double s = r.nextGaussian();
+            double expected = scalar.dot(s, x, 1, y, 5, n);
+            double actual = vector.dot(s, x, 1, y, 5, n);
+            assertTrue(Kernels.close(expected, actual, Math.max(n, 1)), "dot n=" + n + ": " + expected + " != " + actual);
+        }
+    }
+
+    @Test
+    void gemm4(){
+        requireVector();
+        for(int nc : LENGTHS){
+            for(int kc : new int[] {1, 4, 13}){
+                int as = kc + 2, ds = nc + 1;
+                double[] a = Kernels.random(r, 1 + 4 * as);
+                double[] panel = Kernels.random(r, kc * nc);
+                double[] d1 = Kernels.random(r, 3 + 4 * ds), d2 = d1.clone();
+                scalar.gemm4(a, 1, as, panel, nc, kc, d1, 3, ds);
+                vector.gemm4(a, 1, as, panel, nc, kc, d2, 3, ds);
+                assertClose(d1, d2, kc, "gemm4 nc=" + nc + " kc=" + kc);
+            }
+        }
+    }
+
+    @Test
+    void mul(){
+        requireVector();
+        for(int n : LENGTHS){
+            double[] a = Kernels.random(r, n + 1), b = Kernels.random(r, n + 2);
+            double[] d1 = Kernels.random(r, n + 4), d2 = d1.clone();
+            scalar.mul(a, 1, b, 2, d1, 4, n);
+            vector.mul(a, 1, b, 2, d2, 4, n);
+            assertClose(d1, d2, 1, "mul n=" + n);
+        }
+    }
+
+    @Test
+    void add(){
+        requireVector();
+        for(int n : LENGTHS){
+            double[] a = Kernels.random(r, n + 2), b = Kernels.random(r, n);
+            double[] d1 = Kernels.random(r, n + 1), d2 = d1.clone();
+            scalar.add(a, 2, b, 0, d1, 1, n);
+            vector.add(a, 2, b, 0, d2, 1, n);
+            assertClose(d1, d2, 1, "add n=" + n);
+        }
+    }
+
+    @Test
+    void sigmoid(){
+        requireVector();
+        for(int n : LENGTHS){
+            double[] x = Kernels.random(r, n + 1);
+            if(n > 1){
+                x[1] = 800.0;    // Sättigung in beide Richtungen
+                x[n] = -800.0;
+            }
+            double[] d1 = new double[n + 2], d2 = d1.clone();
+            double bias = r.nextGaussian();
+            scalar.sigmoid(x, 1, bias, d1, 2, n);
+            vector.sigmoid(x, 1, bias, d2, 2, n);
+            assertClose(d1, d2, 1, "sigmoid n=" + n);
+        }
+    }
+
+    static float[] randomFloats(Random r, int n){
+        return Kernels.toFloat(Kernels.random(r, n));
+    }
+
+    @Test
+    void floatDot(){
+        requireVector();
+        for(int n : LENGTHS){
+            float[] x = randomFloats(r, n + 1), y = randomFloats(r, n + 5);
+            float s = (float) r.nextGaussian();
+            float expected = scalar.dot(s, x, 1, y, 5, n);
+            float actual = vector.dot(s, x, 1, y, 5, n);
+            assertTrue(Kernels.closeFloat(expected, actual, Math.max(n, 1)), "dot n=" + n + ": " + expected + " != " + actual);
+        }
+    }
+
+    @Test
+    void floatSigmoid(){
+        requireVector();
+        for(int n : LENGTHS){
+            float[] x = randomFloats(r, n + 1);
+            if(n > 1){
+                x[1] = 800.0f;
+                x[n] = -800.0f;
+            }
+            float[] d1 = new float[n + 2], d2 = d1.clone();
+            float bias = (float) r.nextGaussian();
+            scalar.sigmoid(x, 1, bias, d1, 2, n);
+            vector.sigmoid(x, 1, bias, d2, 2, n);
+            for(int i = 0; i < d1.length; i++){
+                assertTrue(Kernels.closeFloat(d1[i], d2[i], 1), "sigmoid n=" + n + "[" + i + "]: " + d1[i] + " != " + d2[i]);
+            }
+        }
+    }
+
+    @Test
+    void floatSigmoidMatchesDouble(){
+        float[] x = randomFloats(r, 1000);
+        float[] d = new float[x.length];
+        scalar.sigmoid(x, 0, 0.25f, d, 0, x.length);
+        for(int i = 0; i < x.length; i++){
+            assertEquals(Network.sigmoid(x[i] + 0.25), d[i], 1e-7);
+        }
+    }
+
+    @Test
+    void selectedKernelsPassVerify(){
+        requireVector();
+        assertTrue(Kernels.verify(vector, scalar));
+    }
+
+    @Test
+    void verifyRejectsWrongKernels(){
+        Kernels wrong = new Kernels.ScalarKernels(){
+            @Override
+            void axpy(double a, double[] x, int xo, double[] y, int yo, int n){
+                super.axpy(a * (1 + 1e-9), x, xo, y, yo, n);
+            }
+        };
+        assertTrue(Kernels.verify(scalar, scalar));
+        assertFalse(Kernels.verify(wrong, scalar));
+    }
+}
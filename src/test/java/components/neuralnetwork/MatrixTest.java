@@ -0,0 +1,224 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests für das zeilenweise Array von Matrix und für Views (offset/stride). */
+class MatrixTest {
+
+    /** 3x4 Matrix mit Eintrag [i, j] = 10 * i + j */
+    static Matrix sample(){
+        Matrix m = new Matrix(3, 4);
+        for(int i = 0; i < 3; i++){
+            for(int j = 0; j < 4; j++){
+                m.setValue(i+1, j+1, 10 * i + j);
+            }
+        }
+        return m;
+    }
+
+    static Matrix random(Random r, int rows, int cols){
+        Matrix m = new Matrix(rows, cols);
+        for(int i = 0; i < rows; i++){
+            for(int j = 0; j < cols; j++){
+                m.setValue(i+1, j+1, r.nextDouble() * 2 - 1);
+            }
+        }
+        return m;
+    }
+
+    /** Kopie ohne View (offset 0, stride = cols) */
+    static Matrix copy(Matrix m){
+        return new Matrix(m.getData());
+    }
+
+    @Test
+    void entriesAreRowMajor(){
+        Matrix m = sample();
+        assertEquals(0, m.getOffset());
+        assertEquals(4, m.getStride());
+        assertTrue(m.isContiguous());
+        assertArrayEquals(new double[] {0, 1, 2, 3, 10, 11, 12, 13, 20, 21, 22, 23}, m.getArray());
+        assertEquals(12.0, m.getValue(1, 2));
+        assertEquals(12.0, m.getData()[1][2]);
+    }
+
+    @Test
+    void arrayConstructorSharesArray(){
+        double[] data = {1, 2, 3, 4, 5, 6};
+        Matrix m = new Matrix(2, 3, data);
+        assertSame(data, m.getArray());
+        assertEquals(6.0, m.getValue(1, 2));
+
+        m.setValue(1, 1, 9);
+        assertEquals(9.0, data[0]);
+    }
+
+    @Test
+    void arrayConstructorRejectsWrongLength(){
+        assertThrows(IllegalArgumentException.class, () -> new Matrix(2, 3, new double[5]));
+        assertThrows(IllegalArgumentException.class, () -> new Matrix(2, 3, new double[7]));
+    }
+
+    @Test
+    void positionZeroIsOutOfBounds(){
+        Matrix m = sample();
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> m.setValue(0, 1, 5));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> m.setValue(1, 0, 5));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> m.getValue(3, 0));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> m.getValue(0, 4));
+
+        // weiter außerhalb: Fehlermeldung, Matrix bleibt unverändert
+        m.setValue(5, 1, 99);
+        assertEquals(0.0, m.getValue(5, 0));
+        assertArrayEquals(sample().getArray(), m.getArray());
+    }
+
+    @Test
+    void viewSharesStorage(){
+        Matrix m = sample();
+        Matrix v = m.view(1, 1, 2, 2);
+        assertSame(m.getArray(), v.getArray());
+        assertEquals(5, v.getOffset());
+        assertEquals(4, v.getStride());
+        assertFalse(v.isContiguous());
+        assertArrayEquals(new double[][] {{11, 12}, {21, 22}}, v.getData());
+
+        v.setValue(2, 2, -1);
+        assertEquals(-1.0, m.getValue(2, 2));
+        m.setValue(2, 2, 7);
+        assertEquals(7.0, v.getValue(0, 0));
+    }
+
+    @Test
+    void viewOfView(){
+        Matrix m = sample();
+        Matrix v = m.view(1, 0, 2, 4).view(1, 2, 1, 2);
+        assertEquals(10, v.getOffset());
+        assertArrayEquals(new double[][] {{22, 23}}, v.getData());
+        assertTrue(v.isContiguous());
+    }
+
+    @Test
+    void invalidViewIsEmpty(){
+        Matrix v = sample().view(2, 2, 2, 2);
+        assertEquals(0, v.getRows());
+        assertEquals(0, v.getCols());
+    }
+
+    @Test
+    void operationsOnViewsMatchCopies(){
+        Random r = new Random(1);
+        Matrix big = random(r, 9, 11);
+        Matrix a = big.view(1, 2, 5, 6);
+        Matrix b = big.view(2, 3, 6, 4);
+        Matrix ac = copy(a);
+        Matrix bc = copy(b);
+
+        assertArrayEquals(Matrix.multiply(ac, bc).getArray(), Matrix.multiply(a, b).getArray(), 1e-12);
+        assertArrayEquals(Matrix.transpose(ac).getArray(), Matrix.transpose(a).getArray());
+        assertArrayEquals(Matrix.toSingleColumn(ac).getArray(), Matrix.toSingleColumn(a).getArray());
+        assertArrayEquals(Matrix.scale(ac, 3).getArray(), Matrix.scale(a, 3).getArray());
+
+        Matrix c = big.view(0, 0, 5, 6);
+        assertArrayEquals(Matrix.add(ac, copy(c)).getArray(), Matrix.add(a, c).getArray());
+        assertArrayEquals(Matrix.subtract(ac, copy(c)).getArray(), Matrix.subtract(a, c).getArray());
+        assertArrayEquals(Matrix.multiplyElement(ac, copy(c)).getArray(), Matrix.multiplyElement(a, c).getArray());
+    }
+
+    @Test
+    void writesIntoViewStayInside(){
+        Random r = new Random(2);
+        Matrix big = random(r, 6, 7);
+        double[] before = big.getArray().clone();
+        Matrix dest = big.view(1, 2, 3, 4);
+        Matrix x = random(r, 3, 4);
+        Matrix y = random(r, 3, 4);
+
+        Matrix.addInto(x, y, dest);
+        for(int i = 0; i < 6; i++){
+            for(int j = 0; j < 7; j++){
+                boolean inside = i >= 1 && i < 4 && j >= 2 && j < 6;
+                double expected = inside ? x.getValue(i-1, j-2) + y.getValue(i-1, j-2) : before[i * 7 + j];
+                assertEquals(expected, big.getValue(i, j), "[" + i + ", " + j + "]");
+            }
+        }
+
+        Matrix src = random(r, 3, 4);
+        dest.copyFrom(src);
+        assertArrayEquals(src.getData(), dest.getData());
+        assertEquals(before[0], big.getValue(0, 0));
+    }
+
+    @Test
+    void multiplyIntoViewDestination(){
+        Random r = new Random(3);
+        Matrix a = random(r, 4, 5);
+        Matrix b = random(r, 5, 3);
+        Matrix big = new Matrix(6, 6);
+        big.fill(42);
+        Matrix dest = big.view(2, 1, 4, 3);
+
+        Matrix.multiplyInto(a, b, dest);
+        assertArrayEquals(Matrix.multiply(a, b).getData()[3], dest.getData()[3], 1e-12);
+        assertEquals(42.0, big.getValue(1, 1));
+        assertEquals(42.0, big.getValue(2, 0));
+        assertEquals(42.0, big.getValue(2, 4));
+    }
+
+    /** dest += a * b in der einfachen i-k-j-Schleife, als Vergleich für das gekachelte Produkt */
+    static void multiplyAddNaive(Matrix a, Matrix b, Matrix dest){
+        for(int i = 0; i < dest.getRows(); i++){
+            for(int k = 0; k < a.getCols(); k++){
+                double aik = a.getValue(i, k);
+                for(int j = 0; j < dest.getCols(); j++){
+                    dest.setValue(i+1, j+1, dest.getValue(i, j) + aik * b.getValue(k, j));
+                }
+            }
+        }
+    }
+
+    /** Vergleicht multiplyAddInto() oberhalb von TILE_MIN mit der einfachen Schleife, mit Views als a, b und dest.
+     * Die Formen decken den Rest der Reihen (m nicht durch TILE_ROWS teilbar) und angebrochene KC/NC-Blöcke ab.
+     */
+    @Test
+    void tiledMatchesNaiveLoop(){
+        Random r = new Random(4);
+        int[][] shapes = {{7, 300, 270}, {4, 128, 128}, {9, 129, 257}, {13, 64, 512}};
+        for(int[] s : shapes){
+            int m = s[0], inner = s[1], n = s[2];
+            assertTrue((long) inner * n >= Matrix.TILE_MIN);
+
+            Matrix a = random(r, m + 2, inner + 3).view(1, 2, m, inner);
+            Matrix b = random(r, inner + 1, n + 5).view(1, 3, inner, n);
+            Matrix big = random(r, m + 3, n + 4);
+            double[] before = big.getArray().clone();
+            Matrix dest = big.view(2, 1, m, n);
+            Matrix expected = copy(dest);
+
+            multiplyAddNaive(a, b, expected);
+            Matrix.multiplyAddInto(a, b, dest);
+
+            String shape = m + "x" + inner + " * " + inner + "x" + n;
+            for(int i = 0; i < m; i++){
+                assertArrayEquals(expected.getData()[i], dest.getData()[i], 1e-9, shape + ", Reihe " + i);
+            }
+            for(int i = 0; i < m + 3; i++){
+                for(int j = 0; j < n + 4; j++){
+                    boolean inside = i >= 2 && i < m + 2 && j >= 1 && j < n + 1;
+                    if(!inside){
+                        assertEquals(before[i * (n + 4) + j], big.getValue(i, j), shape + ", [" + i + ", " + j + "]");
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/** Modelldateien: Speichern, Laden und Ablehnen kaputter oder unvollständiger Dateien. */
+class ModelFileTest {
+
+    static final String[] CATEGORIES = {"Eiffel Tower", "Eye", "Giraffe"};
+
+    static Network network(){
+        return TestData.network(9, 6, 4, CATEGORIES.length);
+    }
+
+    static byte[] bytes(Network n, boolean useFloat){
+        ByteBuffer buf = ModelFile.encode(new ModelFile(CATEGORIES, n.getBiasH(), n.getBiasO(), n.getWeightsIH(), n.getWeightsHO()), useFloat);
+        byte[] out = new byte[buf.remaining()];
+        buf.get(out);
+        return out;
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("model");
+        File file = dir.resolve("m.bin").toFile();
+        Network n = network();
+
+        assertTrue(ModelFile.save(n, CATEGORIES, file, false));
+        for(ModelFile m : new ModelFile[] {ModelFile.load(file), ModelFile.loadCopy(file)}){
+            assertNotNull(m);
+            assertArrayEquals(CATEGORIES, m.getCategories());
+            assertEquals(0.0, TestData.maxDiff(n, m.toNetwork()));
+        }
+
+        assertTrue(ModelFile.save(n, CATEGORIES, file, true));
+        assertTrue(TestData.maxDiff(n, ModelFile.load(file).toNetwork()) < 1e-6);
+    }
+
+    @Test
+    void everyTruncationIsRejected(){
+        for(boolean useFloat : new boolean[] {false, true}){
+            byte[] full = bytes(network(), useFloat);
+            assertNotNull(ModelFile.decode(ByteBuffer.wrap(full)));
+            for(int length = 0; length < full.length; length++){
+                assertNull(ModelFile.decode(ByteBuffer.wrap(full, 0, length).slice()), "Länge " + length);
+            }
+        }
+
+        ByteBuffer buf = ModelFile.encode(CATEGORIES, QuantizedModel.quantize(network(), null));
+        byte[] full = new byte[buf.remaining()];
+        buf.get(full);
+        assertNotNull(ModelFile.decode(ByteBuffer.wrap(full)));
+        for(int length = 0; length < full.length; length++){
+            assertNull(ModelFile.decode(ByteBuffer.wrap(full, 0, length).slice()), "int8, Länge " + length);
+        }
+    }
+
+    @Test
+    void rejectsOversizedCategoryCount(){
+        byte[] full = bytes(network(), false);
+        ByteBuffer buf = ByteBuffer.wrap(full).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(16, Integer.MAX_VALUE);    // OUTPUT_SIZE
+        buf.putInt(20, Integer.MAX_VALUE);    // Anzahl Kategorien
+        assertNull(ModelFile.decode(ByteBuffer.wrap(full)));
+    }
+
+    @Test
+    void truncatedFileOnDisk() throws IOException {
+        Path dir = Files.createTempDirectory("model");
+        File file = dir.resolve("m.bin").toFile();
+        assertTrue(ModelFile.save(network(), CATEGORIES, file, false));
+        long size = file.length();
+        for(long length : new long[] {size - 1, size / 2, 30, 3, 0}){
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(length);
+            }
+            assertNull(ModelFile.load(file));
+            assertNull(ModelFile.loadCopy(file));
+        }
+    }
+
+    @Test
+    void saveReplacesFileWithoutLeftovers() throws IOException {
+        Path dir = Files.createTempDirectory("model");
+        File file = dir.resolve("m.bin").toFile();
+        assertTrue(ModelFile.save(TestData.network(1, 6, 4, 3), CATEGORIES, file, false));
+        Network second = TestData.network(2, 6, 4, 3);
+        assertTrue(ModelFile.save(second, CATEGORIES, file, false));
+
+        assertEquals(0.0, TestData.maxDiff(second, ModelFile.load(file).toNetwork()));
+        assertArrayEquals(new String[] {"m.bin"}, dir.toFile().list());
+    }
+}
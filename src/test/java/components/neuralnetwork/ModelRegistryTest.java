@@ -0,0 +1,63 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/** Die Überwachung des Modellverzeichnisses muss kaputte Dateien überstehen. */
+class ModelRegistryTest {
+
+    static final String[] CATEGORIES = {"a", "b", "c"};
+
+    /** wartet höchstens 10 Sekunden, bis swaps Modelle eingesetzt wurden */
+    static void awaitSwaps(ModelRegistry r, int swaps) throws InterruptedException {
+        for(int i = 0; i < 200 && r.getSwaps() < swaps; i++){
+            Thread.sleep(50);
+        }
+        assertEquals(swaps, r.getSwaps());
+    }
+
+    static double[][] predict(Model m){
+        Matrix input = new Matrix(6, 1);
+        Arrays.fill(input.getArray(), 0.5);
+        return m.predict(input).getData();
+    }
+
+    @Test
+    void watcherSurvivesBrokenFiles() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("models");
+        ModelRegistry registry = new ModelRegistry(TestData.network(1, 6, 4, 3).snapshot()){
+            @Override
+            public boolean reload(File file){
+                if(file.getName().startsWith("throws")){
+                    throw new IllegalStateException("Test");
+                }
+                return super.reload(file);
+            }
+        };
+        assertTrue(registry.watch(dir));
+        try {
+            Files.write(dir.resolve("throws.bin"), new byte[] {1});
+            Files.write(dir.resolve("garbage.bin"), new byte[] {'M', 'M', 'N', 'N', 1, 0, 0, 0, 8});
+            byte[] model = ModelFileTest.bytes(TestData.network(2, 6, 4, 3), false);
+            Files.write(dir.resolve("truncated.bin"), Arrays.copyOf(model, model.length - 8));
+            Files.write(dir.resolve("wrong.bin"), ModelFileTest.bytes(TestData.network(3, 7, 4, 3), false));
+            Thread.sleep(500);
+            assertEquals(0, registry.getSwaps());
+
+            Network next = TestData.network(4, 6, 4, 3);
+            assertTrue(ModelFile.save(next, CATEGORIES, dir.resolve("next.bin").toFile(), false));
+            awaitSwaps(registry, 1);
+            assertEquals(Arrays.deepToString(predict(next.snapshot())), Arrays.deepToString(predict(registry.get())));
+        } finally {
+            registry.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+
+/** ParallelTrainer muss dasselbe Ergebnis liefern wie Network.trainBatch(). */
+class ParallelTrainerTest {
+
+    static final int IN = 64, HIDDEN = 16, OUT = 5;
+    static final int BATCH = 24, STEPS = 40;
+
+    /** erlaubte Abweichung (nur die Reihenfolge der Summen unterscheidet sich) */
+    static final double TOLERANCE = 1e-9;
+
+    static Network trainParallel(Network n, Data[] data, int threads, TrainingMetrics m){
+        ParallelTrainer trainer = new ParallelTrainer(n, BATCH, threads);
+        trainer.setMetrics(m);
+        try {
+            for(int s = 0; s < STEPS; s++){
+                trainer.trainBatch(Arrays.copyOfRange(data, s * BATCH, (s + 1) * BATCH));
+            }
+        } finally {
+            trainer.shutdown();
+        }
+        return n;
+    }
+
+    @Test
+    void matchesSingleThreadedTrainBatch(){
+        Data[] data = TestData.dataSet(new Random(5), STEPS * BATCH, IN, OUT);
+        Network single = TestData.network(42, IN, HIDDEN, OUT);
+        Network start = TestData.copy(single);
+        for(int s = 0; s < STEPS; s++){
+            single.trainBatch(Arrays.copyOfRange(data, s * BATCH, (s + 1) * BATCH));
+        }
+
+        for(int threads : new int[] {1, 2, 3, 4, 8}){
+            Network parallel = trainParallel(TestData.copy(start), data, threads, null);
+            double diff = TestData.maxDiff(single, parallel);
+            assertTrue(diff <= TOLERANCE, threads + " Threads: Abweichung " + diff);
+        }
+        assertTrue(TestData.maxDiff(start, single) > 0.01, "Training hat die Gewichte nicht verändert");
+    }
+
+    @Test
+    void reproducibleForSameThreadCount(){
+        Data[] data = TestData.dataSet(new Random(6), STEPS * BATCH, IN, OUT);
+        Network a = trainParallel(TestData.network(7, IN, HIDDEN, OUT), data, 4, null);
+        Network b = trainParallel(TestData.network(7, IN, HIDDEN, OUT), data, 4, null);
+        assertEquals(0.0, TestData.maxDiff(a, b));
+    }
+
+    @Test
+    void recordsOneLatencyPerStep(){
+        Data[] data = TestData.dataSet(new Random(8), STEPS * BATCH, IN, OUT);
+        TrainingMetrics m = new TrainingMetrics();
+        trainParallel(TestData.network(9, IN, HIDDEN, OUT), data, 4, m);
+        assertEquals(STEPS, m.getForwardLatency().getCount());
+        assertEquals(STEPS, m.getBackwardLatency().getCount());
+    }
+}
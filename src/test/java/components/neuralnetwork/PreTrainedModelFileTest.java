@@ -0,0 +1,38 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+
+/** Die mitgelieferte Modelldatei muss genau die Parameter aus PreTrained5C enthalten. */
+class PreTrainedModelFileTest {
+
+    static void assertSameWeights(ModelFile m){
+        assertNotNull(m);
+        assertEquals(0.0, TestData.maxDiff(PreTrained5C.getTrainedBiasH(), m.biasH));
+        assertEquals(0.0, TestData.maxDiff(PreTrained5C.getTrainedBiasO(), m.biasO));
+        assertEquals(0.0, TestData.maxDiff(PreTrained5C.getTrainedWeightsIH(), m.weightsIH));
+        assertEquals(0.0, TestData.maxDiff(PreTrained5C.getTrainedWeightsHO(), m.weightsHO));
+    }
+
+    @Test
+    void resourceMatchesPreTrained5C(){
+        ModelFile m = ModelFile.loadResource("model5c.bin");
+        assertSameWeights(m);
+        assertEquals(28 * 28, m.getInputSize());
+        assertEquals(8, m.getHiddenSize());
+        assertEquals(5, m.getOutputSize());
+    }
+
+    @Test
+    void streamMatchesPreTrained5C() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("model5c.bin")) {
+            assertNotNull(in, "model5c.bin fehlt");
+            assertSameWeights(ModelFile.load(in));
+        }
+    }
+}
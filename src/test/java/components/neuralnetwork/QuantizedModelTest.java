@@ -0,0 +1,90 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+
+/** Genauigkeit und Größe des int8-Modells und seine Modelldatei. */
+class QuantizedModelTest {
+
+    static final int IN = 64, HIDDEN = 16, OUT = 5;
+    static final String[] CATEGORIES = {"a", "b", "c", "d", "e"};
+
+    /** höchstens so viele Prozentpunkte dürfen durch int8 verloren gehen */
+    static final double MAX_DROP = 2.0;
+
+    @Test
+    void accuracyDropWithinBound(){
+        Random r = new Random(3);
+        Data[] training = TestData.dataSet(r, 240, IN, OUT);
+        Data[] validation = TestData.dataSet(r, 500, IN, OUT);
+        Network n = FloatModelTest.trained(training);
+
+        QuantizedModel q = QuantizedModel.quantize(n, training);
+        QuantizedModel.Comparison c = QuantizedModel.compare(n.snapshot(), q, validation);
+        assertEquals(validation.length, c.getQuantizedEvaluation().getCount());
+        assertTrue(c.getDoubleEvaluation().getTop1Accuracy() > 80.0);
+        assertTrue(c.getTop1Drop() <= MAX_DROP, "Verlust " + c.getTop1Drop());
+        assertTrue(Math.abs(c.getDoubleEvaluation().getAccuracy() - c.getQuantizedEvaluation().getAccuracy()) <= MAX_DROP);
+    }
+
+    @Test
+    void smallerThanDouble() throws IOException {
+        Network n = TestData.network(1, IN, HIDDEN, OUT);
+        QuantizedModel q = QuantizedModel.quantize(n, null);
+        assertTrue(q.getSizeInBytes() * 7 < q.getDoubleSizeInBytes(), q.getSizeInBytes() + " Byte");
+
+        Path dir = Files.createTempDirectory("model");
+        File doubles = dir.resolve("d.bin").toFile(), int8 = dir.resolve("q.bin").toFile();
+        assertTrue(ModelFile.save(n, CATEGORIES, doubles, false));
+        assertTrue(ModelFile.save(q, CATEGORIES, int8));
+        assertTrue(int8.length() * 6 < doubles.length(), int8.length() + " / " + doubles.length());
+    }
+
+    @Test
+    void modelFileRoundTrip() throws IOException {
+        Random r = new Random(4);
+        Data[] data = TestData.dataSet(r, 100, IN, OUT);
+        QuantizedModel q = QuantizedModel.quantize(TestData.network(2, IN, HIDDEN, OUT), data);
+        File file = Files.createTempDirectory("model").resolve("q.bin").toFile();
+        assertTrue(ModelFile.save(q, CATEGORIES, file));
+
+        ModelFile loaded = ModelFile.load(file);
+        assertNotNull(loaded);
+        assertArrayEquals(CATEGORIES, loaded.getCategories());
+        QuantizedModel l = loaded.toQuantizedModel();
+        assertArrayEquals(q.weightsIH, l.weightsIH);
+        assertArrayEquals(q.weightsHO, l.weightsHO);
+        assertArrayEquals(q.scaleIH, l.scaleIH);
+        assertArrayEquals(q.scaleHO, l.scaleHO);
+        assertArrayEquals(q.biasH, l.biasH);
+        assertArrayEquals(q.biasO, l.biasO);
+        assertEquals(q.hiddenMax, l.hiddenMax);
+
+        // das dequantisierte Model rät fast dasselbe wie das int8-Modell
+        Model m = loaded.toModel();
+        for(Data d : data){
+            assertArrayEquals(q.predict(d.getInputs()).getData(), l.predict(d.getInputs()).getData());
+            assertEquals(q.predict(d.getInputs()).getHighestValueRow(), m.predict(d.getInputs()).getHighestValueRow());
+        }
+    }
+
+    @Test
+    void otherFilesHaveNoQuantizedModel() throws IOException {
+        File file = Files.createTempDirectory("model").resolve("d.bin").toFile();
+        assertTrue(ModelFile.save(TestData.network(3, IN, HIDDEN, OUT), CATEGORIES, file, true));
+        assertNull(ModelFile.load(file).toQuantizedModel());
+    }
+}
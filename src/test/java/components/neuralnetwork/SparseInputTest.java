@@ -0,0 +1,108 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+
+/** Training mit SparseInput muss dieselben Gewichte liefern wie mit den dichten Inputs. */
+class SparseInputTest {
+
+    static final int IN = 64, HIDDEN = 16, OUT = 5;
+
+    /** erlaubte Abweichung (nur die Reihenfolge der Summen unterscheidet sich) */
+    static final double TOLERANCE = 1e-12;
+
+    @Test
+    void fromMatrixKeepsSetIndices(){
+        Matrix m = new Matrix(6, 1);
+        m.setValue(2, 1, 1.0);
+        m.setValue(5, 1, 1.0);
+        SparseInput x = SparseInput.fromMatrix(m);
+        assertArrayEquals(new int[] {1, 4}, x.getIndices());
+        assertArrayEquals(m.getArray(), x.toMatrix().getArray());
+
+        m.setValue(3, 1, 0.5);
+        assertNull(SparseInput.fromMatrix(m));
+    }
+
+    @Test
+    void addOuterProductMatchesDense(){
+        Random r = new Random(7);
+        Data d = TestData.dataSet(r, 1, IN, OUT)[0];
+        Matrix a = TestData.random(r, HIDDEN, 1);
+        Matrix dense = TestData.random(r, HIDDEN, IN);
+        Matrix sparse = new Matrix(dense.getData());
+
+        Matrix.addOuterProduct(a, d.getInputs(), dense);
+        Matrix.addOuterProduct(a, d.getSparseInputs(), sparse);
+        assertArrayEquals(dense.getArray(), sparse.getArray());
+    }
+
+    @Test
+    void trainMatchesDense(){
+        Data[] data = TestData.dataSet(new Random(8), 200, IN, OUT);
+        Network dense = TestData.network(42, IN, HIDDEN, OUT);
+        Network sparse = TestData.copy(dense);
+        TrainingWorkspace denseWs = dense.newWorkspace();
+        TrainingWorkspace sparseWs = sparse.newWorkspace();
+
+        for(Data d : data){
+            SparseInput x = d.getSparseInputs();
+            assertNotNull(x);
+            dense.train(d.getInputs(), d.getOutputs(), denseWs);
+            sparse.train(x, d.getOutputs(), sparseWs);
+        }
+        assertEquals(0.0, TestData.maxDiff(dense, sparse), TOLERANCE);
+    }
+
+    @Test
+    void sparseInputsAreSharedBetweenThreads() throws Exception {
+        int threads = 4;
+        Data[] data = TestData.dataSet(new Random(9), 500, IN, OUT);
+        Data gray = new Data(new Matrix(new double[][] {{0.0}, {0.5}, {1.0}}));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SparseInput[]>> results = new ArrayList<>();
+            for(int t = 0; t < threads; t++){
+                results.add(pool.submit(() -> {
+                    start.await();
+                    SparseInput[] seen = new SparseInput[data.length];
+                    for(int k = 0; k < data.length; k++){
+                        seen[k] = data[k].getSparseInputs();
+                        assertNull(gray.getSparseInputs());
+                    }
+                    return seen;
+                }));
+            }
+            start.countDown();
+
+            for(Future<SparseInput[]> f : results){
+                SparseInput[] seen = f.get();
+                for(int k = 0; k < data.length; k++){
+                    assertNotNull(seen[k]);
+                    assertArrayEquals(SparseInput.fromMatrix(data[k].getInputs()).getIndices(), seen[k].getIndices());
+                }
+            }
+            for(Data d : data){
+                assertSame(d.getSparseInputs(), d.getSparseInputs());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package components.neuralnetwork;
+
+import java.util.Random;
+
+import components.handler.Data;
+
+/** Reproduzierbare Netzwerke und Trainingsdaten für die Tests. */
+final class TestData {
+
+    private TestData(){}
+
+    /** Matrix mit Einträgen in [-1, 1) */
+    static Matrix random(Random r, int rows, int cols){
+        Matrix m = new Matrix(rows, cols);
+        for(int i = 0; i < rows; i++){
+            for(int j = 0; j < cols; j++){
+                m.setValue(i+1, j+1, r.nextDouble() * 2 - 1);
+            }
+        }
+        return m;
+    }
+
+    /** Netzwerk mit Gewichten aus einem festen Startwert */
+    static Network network(long seed, int in, int hidden, int out){
+        Random r = new Random(seed);
+        Network n = new Network(in, hidden, out);
+        n.setParams(random(r, hidden, 1), random(r, out, 1), random(r, hidden, in), random(r, out, hidden));
+        return n;
+    }
+
+    /** Netzwerk mit denselben Gewichten (Kopie) */
+    static Network copy(Network n){
+        Network c = new Network(n.INPUT_SIZE, n.HIDDEN_SIZE, n.OUTPUT_SIZE);
+        c.setParams(new Matrix(n.getBiasH().getData()), new Matrix(n.getBiasO().getData()),
+                new Matrix(n.getWeightsIH().getData()), new Matrix(n.getWeightsHO().getData()));
+        return c;
+    }
+
+    /** Schwarz-weiß Inputs (ca. 15 % gesetzt) mit einer Kategorie pro Input, die vom Inhalt abhängt */
+    static Data[] dataSet(Random r, int count, int in, int out){
+        Data[] data = new Data[count];
+        for(int k = 0; k < count; k++){
+            int category = r.nextInt(out);
+            Matrix inputs = new Matrix(in, 1);
+            for(int i = 0; i < in; i++){
+                boolean typical = i % out == category;
+                if(r.nextDouble() < (typical ? 0.5 : 0.05)){
+                    inputs.setValue(i+1, 1, 1.0);
+                }
+            }
+            Matrix outputs = new Matrix(out, 1);
+            outputs.setValue(category+1, 1, 1.0);
+            data[k] = new Data(inputs, outputs);
+        }
+        return data;
+    }
+
+    /** größte absolute Abweichung zweier gleich großer Matrizen */
+    static double maxDiff(Matrix a, Matrix b){
+        double max = 0.0;
+        for(int i = 0; i < a.getRows(); i++){
+            for(int j = 0; j < a.getCols(); j++){
+                max = Math.max(max, Math.abs(a.getValue(i, j) - b.getValue(i, j)));
+            }
+        }
+        return max;
+    }
+
+    /** größte absolute Abweichung der Gewichte und bias zweier Netzwerke */
+    static double maxDiff(Network a, Network b){
+        return Math.max(Math.max(maxDiff(a.getWeightsIH(), b.getWeightsIH()), maxDiff(a.getWeightsHO(), b.getWeightsHO())),
+                Math.max(maxDiff(a.getBiasH(), b.getBiasH()), maxDiff(a.getBiasO(), b.getBiasO())));
+    }
+}
@@ -0,0 +1,149 @@
+package components.neuralnetwork;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.handler.Data;
+
+/** Trainingsläufe mit eigenen Einstellungen und eigenem Zustand (TrainingRun). */
+class TrainingRunTest {
+
+    static final int IN = 64, HIDDEN = 16, OUT = 5;
+    static final double TARGET = 85.0;
+
+    /** Genauigkeiten aller Tests eines Laufs */
+    static class Recorder implements TrainingListener {
+        final List<Double> accuracies = new ArrayList<>();
+
+        @Override
+        public void onProgress(TrainingMetrics m){
+            accuracies.add(m.getAccuracy());
+        }
+
+        @Override
+        public void onFinish(TrainingMetrics m){
+        }
+    }
+
+    static TrainingRun single(){
+        return new TrainingRun().seed(11);
+    }
+
+    static TrainingRun parallel(){
+        return new TrainingRun().batchSize(8).threads(2).seed(12).evalEvery(5);
+    }
+
+    @Test
+    void concurrentRunsDoNotShareState() throws InterruptedException {
+        Data[] data = TestData.dataSet(new Random(3), 240, IN, OUT);
+
+        // allein nacheinander ...
+        Network aloneA = TestData.network(1, IN, HIDDEN, OUT);
+        Network aloneB = TestData.network(2, IN, HIDDEN, OUT);
+        TrainingRun runA = single();
+        TrainingRun runB = parallel();
+        assertTrue(runA.train(aloneA, data, TARGET));
+        assertTrue(runB.train(aloneB, data, TARGET));
+
+        // ... und gleichzeitig mit denselben Einstellungen
+        Network a = TestData.network(1, IN, HIDDEN, OUT);
+        Network b = TestData.network(2, IN, HIDDEN, OUT);
+        TrainingRun concurrentA = single();
+        TrainingRun concurrentB = parallel();
+        boolean[] reached = new boolean[2];
+        Thread t = new Thread(() -> reached[1] = concurrentB.train(b, data, TARGET));
+        t.start();
+        reached[0] = concurrentA.train(a, data, TARGET);
+        t.join();
+
+        assertTrue(reached[0] && reached[1]);
+        assertEquals(0.0, TestData.maxDiff(aloneA, a));
+        assertEquals(0.0, TestData.maxDiff(aloneB, b));
+        assertEquals(runA.getMetrics().getSamples(), concurrentA.getMetrics().getSamples());
+        assertEquals(runB.getMetrics().getSamples(), concurrentB.getMetrics().getSamples());
+        assertEquals(runA.getAccuracy(), concurrentA.getAccuracy());
+        assertEquals(runB.getAccuracy(), concurrentB.getAccuracy());
+        assertTrue(concurrentA.getAccuracy() >= TARGET && concurrentB.getAccuracy() >= TARGET);
+        assertEquals(0, concurrentB.getMetrics().getSamples() % 8);
+    }
+
+    @Test
+    void evaluatesOncePerEpochByDefault(){
+        Data[] data = TestData.dataSet(new Random(4), 240, IN, OUT);
+        TrainingRun run = new TrainingRun().batchSize(8).seed(5);
+        run.train(TestData.network(3, IN, HIDDEN, OUT), data, TARGET);
+
+        TrainingMetrics m = run.getMetrics();
+        assertTrue(m.getEvaluations() > 0);
+        assertEquals(240 / 8 * m.getEvaluations(), m.getSteps());
+        assertTrue(m.getEstimatedAccuracy() > 0);
+    }
+
+    @Test
+    void hogwildEvaluatesOncePerEpochByDefault(){
+        Data[] data = TestData.dataSet(new Random(4), 240, IN, OUT);
+        TrainingRun run = new TrainingRun().batchSize(2).threads(3).hogwild(true).seed(5);
+        run.train(TestData.network(3, IN, HIDDEN, OUT), data, TARGET);
+
+        // ein Schritt = 2 Inputs in jedem der 3 Threads, eine Epoche = 240 / 6 Schritte
+        TrainingMetrics m = run.getMetrics();
+        assertTrue(m.getEvaluations() > 0);
+        assertEquals(240L * m.getEvaluations(), m.getSamples());
+        assertEquals(240 / 6 * m.getEvaluations(), m.getSteps());
+    }
+
+    /** Trainingsdaten, bei denen die Genauigkeit irgendwann stehen bleibt: gleiche Inputs mit verschiedenen Kategorien */
+    static Data[] conflicting(){
+        Data[] data = TestData.dataSet(new Random(6), 40, IN, OUT);
+        Data[] conflicting = new Data[data.length * 2];
+        for(int i = 0; i < data.length; i++){
+            conflicting[2*i] = data[i];
+            conflicting[2*i+1] = new Data(data[i].getInputs(), data[(i+1) % data.length].getOutputs());
+        }
+        return conflicting;
+    }
+
+    @Test
+    void hogwildStallIsCountedInBatchSteps(){
+        Recorder rec = new Recorder();
+        TrainingRun run = new TrainingRun(new TrainingMetrics().addListener(rec)).threads(2).hogwild(true).seed(7)
+                .evalEvery(10).stallSteps(200);
+        assertFalse(run.train(TestData.network(4, IN, HIDDEN, OUT), conflicting(), 100.0));
+        assertTrue(run.isNoResult());
+
+        // jeder Test nach 10 Schritten zu 2 Threads zählt 20 Schritte: Abbruch nach 10 Tests ohne Änderung
+        List<Double> acc = rec.accuracies;
+        double last = acc.get(acc.size() - 1);
+        for(int i = acc.size() - 11; i < acc.size(); i++){
+            assertEquals(last, (double) acc.get(i));
+        }
+        assertNotEquals(last, (double) acc.get(acc.size() - 12));
+    }
+
+    @Test
+    void stallIsCountedInSteps(){
+        Recorder rec = new Recorder();
+        TrainingRun run = new TrainingRun(new TrainingMetrics().addListener(rec)).seed(7).evalEvery(10).stallSteps(200);
+        assertFalse(run.train(TestData.network(4, IN, HIDDEN, OUT), conflicting(), 100.0));
+
+        assertTrue(run.isNoResult());
+        assertEquals(1.0, run.getMaxQuotient());
+        assertEquals(10L * rec.accuracies.size(), run.getMetrics().getSteps());
+
+        // 200 Schritte = 20 Tests ohne Änderung nach der letzten Änderung
+        List<Double> acc = rec.accuracies;
+        double last = acc.get(acc.size() - 1);
+        for(int i = acc.size() - 21; i < acc.size(); i++){
+            assertEquals(last, (double) acc.get(i));
+        }
+        assertNotEquals(last, (double) acc.get(acc.size() - 22));
+    }
+}
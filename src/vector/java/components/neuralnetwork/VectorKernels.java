@@ -0,0 +1,167 @@
+package components.neuralnetwork;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/** SIMD-Kerne mit der Vector API (jdk.incubator.vector).
+ *
+ * Wird nur über Kernels.select() geladen, wenn das Modul vorhanden ist.
+ * axpy, mul und add rechnen elementweise genau wie die skalaren Kerne; dot summiert in mehreren
+ * Bahnen und sigmoid verwendet die vektorisierte Exponentialfunktion, beide weichen deshalb
+ * in den letzten Bits ab. Die float-Kerne (FloatModel) rechnen mit FLOATS auch die Exponentialfunktion
+ * in float.
+ *
+ * @version 17. Oktober 2026
+ */
+class VectorKernels extends Kernels {
+
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /** doppelt so viele Bahnen wie SPECIES */
+    static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    void axpy(double a, double[] x, int xo, double[] y, int yo, int n){
+        int j = 0;
+        int bound = SPECIES.loopBound(n);
+        DoubleVector va = DoubleVector.broadcast(SPECIES, a);
+        for(; j < bound; j += SPECIES.length()){
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yo + j);
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xo + j);
+            vy.add(va.mul(vx)).intoArray(y, yo + j);
+        }
+        for(; j < n; j++){
+            y[yo + j] += a * x[xo + j];
+        }
+    }
+
+    double dot(double s, double[] x, int xo, double[] y, int yo, int n){
+        int j = 0;
+        int bound = SPECIES.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        for(; j < bound; j += SPECIES.length()){
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xo + j);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yo + j);
+            acc = acc.add(vx.mul(vy));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for(; j < n; j++){
+            sum += x[xo + j] * y[yo + j];
+        }
+        return s + sum;
+    }
+
+    void gemm4(double[] a, int ao, int as, double[] panel, int nc, int kc, double[] d, int dOff, int ds){
+        int a0 = ao, a1 = ao + as, a2 = ao + 2 * as, a3 = ao + 3 * as;
+        int d0 = dOff, d1 = dOff + ds, d2 = dOff + 2 * ds, d3 = dOff + 3 * ds;
+        int j = 0;
+        int bound = SPECIES.loopBound(nc);
+        // 4 x SPECIES.length() Einträge von d bleiben über alle p in Registern
+        for(; j < bound; j += SPECIES.length()){
+            DoubleVector s0 = DoubleVector.fromArray(SPECIES, d, d0 + j);
+            DoubleVector s1 = DoubleVector.fromArray(SPECIES, d, d1 + j);
+            DoubleVector s2 = DoubleVector.fromArray(SPECIES, d, d2 + j);
+            DoubleVector s3 = DoubleVector.fromArray(SPECIES, d, d3 + j);
+            for(int p = 0; p < kc; p++){
+                DoubleVector b = DoubleVector.fromArray(SPECIES, panel, p * nc + j);
+                s0 = s0.add(b.mul(a[a0 + p]));
+                s1 = s1.add(b.mul(a[a1 + p]));
+                s2 = s2.add(b.mul(a[a2 + p]));
+                s3 = s3.add(b.mul(a[a3 + p]));
+            }
+            s0.intoArray(d, d0 + j);
+            s1.intoArray(d, d1 + j);
+            s2.intoArray(d, d2 + j);
+            s3.intoArray(d, d3 + j);
+        }
+        for(; j < nc; j++){
+            double s0 = d[d0 + j], s1 = d[d1 + j], s2 = d[d2 + j], s3 = d[d3 + j];
+            for(int p = 0; p < kc; p++){
+                double b = panel[p * nc + j];
+                s0 += a[a0 + p] * b;
+                s1 += a[a1 + p] * b;
+                s2 += a[a2 + p] * b;
+                s3 += a[a3 + p] * b;
+            }
+            d[d0 + j] = s0;
+            d[d1 + j] = s1;
+            d[d2 + j] = s2;
+            d[d3 + j] = s3;
+        }
+    }
+
+    void mul(double[] a, int ao, double[] b, int bo, double[] d, int dOff, int n){
+        int j = 0;
+        int bound = SPECIES.loopBound(n);
+        for(; j < bound; j += SPECIES.length()){
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, ao + j);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bo + j);
+            va.mul(vb).intoArray(d, dOff + j);
+        }
+        for(; j < n; j++){
+            d[dOff + j] = a[ao + j] * b[bo + j];
+        }
+    }
+
+    void add(double[] a, int ao, double[] b, int bo, double[] d, int dOff, int n){
+        int j = 0;
+        int bound = SPECIES.loopBound(n);
+        for(; j < bound; j += SPECIES.length()){
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, ao + j);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bo + j);
+            va.add(vb).intoArray(d, dOff + j);
+        }
+        for(; j < n; j++){
+            d[dOff + j] = a[ao + j] + b[bo + j];
+        }
+    }
+
+    void sigmoid(double[] x, int xo, double bias, double[] d, int dOff, int n){
+        int j = 0;
+        int bound = SPECIES.loopBound(n);
+        DoubleVector vb = DoubleVector.broadcast(SPECIES, bias);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        for(; j < bound; j += SPECIES.length()){
+            DoubleVector v = DoubleVector.fromArray(SPECIES, x, xo + j).add(vb).neg();
+            one.div(v.lanewise(VectorOperators.EXP).add(one)).intoArray(d, dOff + j);
+        }
+        for(; j < n; j++){
+            d[dOff + j] = Network.sigmoid(x[xo + j] + bias);
+        }
+    }
+
+    float dot(float s, float[] x, int xo, float[] y, int yo, int n){
+        int j = 0;
+        int bound = FLOATS.loopBound(n);
+        FloatVector acc = FloatVector.zero(FLOATS);
+        for(; j < bound; j += FLOATS.length()){
+            FloatVector vx = FloatVector.fromArray(FLOATS, x, xo + j);
+            FloatVector vy = FloatVector.fromArray(FLOATS, y, yo + j);
+            acc = vx.fma(vy, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for(; j < n; j++){
+            sum += x[xo + j] * y[yo + j];
+        }
+        return s + sum;
+    }
+
+    void sigmoid(float[] x, int xo, float bias, float[] d, int dOff, int n){
+        int j = 0;
+        int bound = FLOATS.loopBound(n);
+        FloatVector vb = FloatVector.broadcast(FLOATS, bias);
+        FloatVector one = FloatVector.broadcast(FLOATS, 1.0f);
+        for(; j < bound; j += FLOATS.length()){
+            FloatVector v = FloatVector.fromArray(FLOATS, x, xo + j).add(vb).neg();
+            one.div(v.lanewise(VectorOperators.EXP).add(one)).intoArray(d, dOff + j);
+        }
+        for(; j < n; j++){
+            d[dOff + j] = ScalarKernels.sigmoid(x[xo + j] + bias);
+        }
+    }
+
+    String getName(){
+        return "SIMD (" + SPECIES.length() + " x double, " + FLOATS.length() + " x float)";
+    }
+}